@@ -0,0 +1,72 @@
+package com.kintai.benchmark;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.service.AttendanceReportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 勤怠レポートPDF生成ベンチマーク（1か月分の平日勤怠）
+ * DBアクセスの影響を除くため、リポジトリは生成済みデータを返すスタブに差し替える。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AttendanceReportBenchmark {
+
+    private static final Long EMPLOYEE_ID = 1L;
+    private static final YearMonth YEAR_MONTH = YearMonth.of(2025, 10);
+
+    private AttendanceReportService attendanceReportService;
+
+    @Setup
+    public void setUp() {
+        Employee employee = BenchmarkData.employee(EMPLOYEE_ID);
+        List<AttendanceRecord> records = BenchmarkData.monthRecords(EMPLOYEE_ID, YEAR_MONTH);
+
+        attendanceReportService = new AttendanceReportService();
+        ReflectionTestUtils.setField(attendanceReportService, "employeeRepository",
+                stub(EmployeeRepository.class, "findById", Optional.of(employee)));
+        ReflectionTestUtils.setField(attendanceReportService, "attendanceRecordRepository",
+                stub(AttendanceRecordRepository.class, "findByEmployeeAndMonth", records));
+    }
+
+    @Benchmark
+    public byte[] generateAttendanceReportPdf() {
+        return attendanceReportService.generateAttendanceReportPdf(EMPLOYEE_ID, YEAR_MONTH.toString());
+    }
+
+    /**
+     * 指定メソッドのみ固定値を返すリポジトリのスタブ
+     */
+    private static <T> T stub(Class<T> type, String methodName, Object result) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (instance, method, args) -> {
+            if (method.getName().equals(methodName)) {
+                return result;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        return type.cast(proxy);
+    }
+}
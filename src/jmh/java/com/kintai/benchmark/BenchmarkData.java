@@ -0,0 +1,150 @@
+package com.kintai.benchmark;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.Employee;
+import com.kintai.util.TimeCalculator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ベンチマーク用の実データに近いテストデータ生成
+ * 乱数の種を固定しているため、実行ごとに同じデータで比較できる。
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20251001L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 打刻済みの勤怠記録を生成
+     * 出勤は8:50前後（標準偏差15分）、退勤は18:30前後（標準偏差60分）に分布させ、
+     * 約5%を日付をまたぐ深夜勤務、約3%を早退とする。
+     * @param count 件数
+     * @return 勤怠記録（遅刻・残業等は未計算）
+     */
+    static List<AttendanceRecord> punchedRecords(int count) {
+        Random random = new Random(SEED);
+        List<AttendanceRecord> records = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2025, 4, 1);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime clockIn;
+            LocalDateTime clockOut;
+            double kind = random.nextDouble();
+            if (kind < 0.05) {
+                clockIn = date.atTime(17, 0).plusMinutes(random.nextInt(120));
+                clockOut = date.plusDays(1).atTime(2, 0).plusMinutes(random.nextInt(180));
+            } else {
+                clockIn = date.atTime(8, 50).plusMinutes(Math.round(random.nextGaussian() * 15));
+                clockOut = kind < 0.08
+                        ? date.atTime(15, 0).plusMinutes(random.nextInt(120))
+                        : date.atTime(18, 30).plusMinutes(Math.round(random.nextGaussian() * 60));
+            }
+            AttendanceRecord record = new AttendanceRecord((long) (i % 50) + 1, date);
+            record.setClockInTime(clockIn);
+            record.setClockOutTime(clockOut);
+            records.add(record);
+            date = date.plusDays(1);
+        }
+        return records;
+    }
+
+    /**
+     * 有給申請相当の期間（開始日・終了日の組）を生成
+     * 期間は大半が1〜3日、一部が1〜2週間の長期休暇で、年末年始・GWなど祝日を含む期間も含まれる。
+     * @param count 件数
+     * @return [開始日, 終了日] の配列
+     */
+    static LocalDate[][] vacationRanges(int count) {
+        Random random = new Random(SEED);
+        LocalDate[][] ranges = new LocalDate[count][];
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = base.plusDays(random.nextInt(730));
+            int days = random.nextDouble() < 0.85 ? 1 + random.nextInt(3) : 7 + random.nextInt(8);
+            ranges[i] = new LocalDate[] {start, start.plusDays(days - 1)};
+        }
+        return ranges;
+    }
+
+    /**
+     * パスワード変更時の入力を想定したパスワードを生成
+     * 有効なもの・短すぎる・記号なし・同一文字の連続・社員コードを含むものを混在させる。
+     * @param count 件数
+     * @param employeeCode 社員コード
+     * @return パスワード
+     */
+    static String[] passwords(int count, String employeeCode) {
+        Random random = new Random(SEED);
+        String upper = "ABCDEFGHJKLMNPQRSTUVWXYZ";
+        String lower = "abcdefghijkmnopqrstuvwxyz";
+        String digits = "23456789";
+        String symbols = "!@#$%&*?-_";
+        String[] passwords = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = 10 + random.nextInt(8);
+            StringBuilder password = new StringBuilder(length);
+            password.append(upper.charAt(random.nextInt(upper.length())));
+            password.append(digits.charAt(random.nextInt(digits.length())));
+            password.append(symbols.charAt(random.nextInt(symbols.length())));
+            while (password.length() < length) {
+                password.append(lower.charAt(random.nextInt(lower.length())));
+            }
+            switch (i % 10) {
+                case 6 -> password.setLength(6);
+                case 7 -> password.setCharAt(2, 'x');
+                case 8 -> password.replace(3, 6, "aaa");
+                case 9 -> password.replace(3, 3 + employeeCode.length(), employeeCode);
+                default -> { }
+            }
+            passwords[i] = password.toString();
+        }
+        return passwords;
+    }
+
+    /**
+     * 勤怠レポート用の社員
+     */
+    static Employee employee(Long employeeId) {
+        Employee employee = new Employee("EMP" + String.format("%03d", employeeId), "田中", "太郎",
+                "tanaka" + employeeId + "@example.com", LocalDate.of(2020, 4, 1));
+        employee.setEmployeeId(employeeId);
+        return employee;
+    }
+
+    /**
+     * 1か月分（平日のみ）の勤怠記録を生成（遅刻・残業等は計算済み）
+     * @param employeeId 従業員ID
+     * @param yearMonth 年月
+     * @return 勤怠記録
+     */
+    static List<AttendanceRecord> monthRecords(Long employeeId, YearMonth yearMonth) {
+        List<AttendanceRecord> punched = punchedRecords(yearMonth.lengthOfMonth());
+        TimeCalculator timeCalculator = new TimeCalculator();
+        List<AttendanceRecord> records = new ArrayList<>();
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            LocalDate date = yearMonth.atDay(day);
+            if (date.getDayOfWeek().getValue() >= 6) {
+                continue;
+            }
+            AttendanceRecord source = punched.get(day - 1);
+            long shift = ChronoUnit.DAYS.between(source.getAttendanceDate(), date);
+            AttendanceRecord record = new AttendanceRecord(employeeId, date);
+            record.setAttendanceId((long) day);
+            record.setClockInTime(source.getClockInTime().plusDays(shift));
+            record.setClockOutTime(source.getClockOutTime().plusDays(shift));
+            timeCalculator.calculateAttendanceMetrics(record);
+            record.setAttendanceStatus(record.getLateMinutes() > 0 ? AttendanceStatus.LATE : AttendanceStatus.NORMAL);
+            records.add(record);
+        }
+        return records;
+    }
+}
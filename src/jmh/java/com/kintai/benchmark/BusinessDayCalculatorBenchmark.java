@@ -0,0 +1,55 @@
+package com.kintai.benchmark;
+
+import com.kintai.util.BusinessDayCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 営業日数計算ベンチマーク
+ * 有給申請の日数計算（申請期間）と、年間の所定労働日数計算（1年）の2種類の期間で計測する。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BusinessDayCalculatorBenchmark {
+
+    private static final int RANGE_COUNT = 1024;
+
+    private BusinessDayCalculator businessDayCalculator;
+    private LocalDate[][] vacationRanges;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        businessDayCalculator = new BusinessDayCalculator();
+        vacationRanges = BenchmarkData.vacationRanges(RANGE_COUNT);
+    }
+
+    @Benchmark
+    public int vacationRange() {
+        LocalDate[] range = vacationRanges[index];
+        index = (index + 1) % RANGE_COUNT;
+        return businessDayCalculator.countBusinessDaysInclusive(range[0], range[1]);
+    }
+
+    @Benchmark
+    public int fullYear() {
+        LocalDate start = vacationRanges[index][0];
+        index = (index + 1) % RANGE_COUNT;
+        return businessDayCalculator.countBusinessDaysInclusive(start, start.plusYears(1).minusDays(1));
+    }
+}
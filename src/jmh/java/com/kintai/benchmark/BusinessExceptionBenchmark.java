@@ -0,0 +1,75 @@
+package com.kintai.benchmark;
+
+import com.kintai.dto.ClockResponse;
+import com.kintai.exception.AttendanceException;
+import com.kintai.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 業務エラー（重複出勤）の応答までのベンチマーク
+ * 例外の生成・送出から GlobalExceptionHandler による応答への変換までを、
+ * スタックトレースを生成しない場合（通常の業務エラー）と生成する場合（原因例外付き）で比較する。
+ * depth はフィルター・AOP等を経由したリクエスト処理の呼び出しの深さの想定。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BusinessExceptionBenchmark {
+
+    @Param({"20", "120"})
+    private int depth;
+
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Setup
+    public void setUp() {
+        exceptionHandler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public ResponseEntity<ClockResponse> stacklessRejection() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (AttendanceException e) {
+            return exceptionHandler.handleAttendanceException(e);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ClockResponse> stackTraceRejection() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (AttendanceException e) {
+            return exceptionHandler.handleAttendanceException(e);
+        }
+    }
+
+    private static void throwAt(int remaining, boolean withStackTrace) {
+        if (remaining > 0) {
+            throwAt(remaining - 1, withStackTrace);
+            return;
+        }
+        if (withStackTrace) {
+            throw new AttendanceException(AttendanceException.ALREADY_CLOCKED_IN, "既に出勤打刻済みです", null);
+        }
+        throw new AttendanceException(AttendanceException.ALREADY_CLOCKED_IN, "既に出勤打刻済みです");
+    }
+}
@@ -0,0 +1,98 @@
+package com.kintai.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JMHの結果（-rf json）を2回分比較し、スコアの変化率を表示する
+ * 平均時間系（avgt/sample/ss）は小さいほど、スループット（thrpt）は大きいほど良いとみなし、
+ * しきい値（%）を超えて悪化したベンチマークがあれば終了コード1で終了する。
+ *
+ * 使い方: JmhResultComparator 基準結果.json 今回結果.json [しきい値%（省略時10）]
+ */
+public final class JmhResultComparator {
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("使い方: JmhResultComparator <基準結果.json> <今回結果.json> [しきい値%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s %9s%n", entry.getKey(), "-", now.format(), "new");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100.0;
+            // 悪化方向を正とした変化率
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14s %14s %+8.1f%%%s%n", entry.getKey(), before.format(), now.format(), change,
+                    regressed ? "  REGRESSION" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-70s %14s %14s %9s%n", key, baseline.get(key).format(), "-", "removed");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d件のベンチマークが%.1f%%を超えて悪化しました%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 結果ファイルを「ベンチマーク名 + パラメータ」をキーにして読み込む
+     */
+    static Map<String, Result> read(File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode node : root) {
+            String name = node.get("benchmark").asText().replace("com.kintai.benchmark.", "");
+            Map<String, String> params = new TreeMap<>();
+            JsonNode paramsNode = node.get("params");
+            if (paramsNode != null) {
+                Iterator<Map.Entry<String, JsonNode>> fields = paramsNode.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    params.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            String key = params.isEmpty() ? name : name + params;
+            JsonNode metric = node.get("primaryMetric");
+            results.put(key, new Result(
+                    metric.get("score").asDouble(),
+                    metric.get("scoreUnit").asText(),
+                    "thrpt".equals(node.get("mode").asText())));
+        }
+        return results;
+    }
+
+    record Result(double score, String unit, boolean higherIsBetter) {
+
+        String format() {
+            return String.format("%.3f %s", score, unit);
+        }
+    }
+}
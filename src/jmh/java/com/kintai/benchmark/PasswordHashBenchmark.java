@@ -0,0 +1,57 @@
+package com.kintai.benchmark;
+
+import com.kintai.config.SecurityConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ログイン時のパスワード照合ベンチマーク
+ * 1スレッドで計測するため、スコアはそのまま「1コアあたりの秒間ログイン数」となる。
+ * loginExecutor のスレッド数を掛けた値がサーバー全体のログイン処理能力の目安。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "Passw0rd!2025";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new SecurityConfig().passwordEncoder(strength);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean loginMatches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean loginMismatch() {
+        return passwordEncoder.matches("wrong-password", encodedPassword);
+    }
+}
@@ -0,0 +1,48 @@
+package com.kintai.benchmark;
+
+import com.kintai.util.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * パスワード強度チェックのベンチマーク
+ * 有効なパスワードと各ルール違反のパスワードを混在させて計測する。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PasswordValidatorBenchmark {
+
+    private static final int PASSWORD_COUNT = 1000;
+    private static final String EMPLOYEE_CODE = "EMP001";
+
+    private PasswordValidator passwordValidator;
+    private String[] passwords;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        passwordValidator = new PasswordValidator();
+        passwords = BenchmarkData.passwords(PASSWORD_COUNT, EMPLOYEE_CODE);
+    }
+
+    @Benchmark
+    public PasswordValidator.PasswordValidationResult validate() {
+        String password = passwords[index];
+        index = (index + 1) % PASSWORD_COUNT;
+        return passwordValidator.validate(password, EMPLOYEE_CODE);
+    }
+}
@@ -0,0 +1,101 @@
+package com.kintai.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.kintai.dto.AttendanceRecordResponse;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 勤怠履歴（1か月分）のJSON変換ベンチマーク
+ * エンティティをそのまま返す場合とレスポンスDTOに変換して返す場合、
+ * リフレクションによるgetter呼び出しとBlackbirdによる呼び出しを比較する。
+ * gzip付きの計測はサーバーの圧縮を含めた応答1件あたりのCPU時間の目安。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"entity", "dto"})
+    public String payload;
+
+    @Param({"reflection", "blackbird"})
+    public String access;
+
+    private ObjectMapper objectMapper;
+    private List<?> body;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(access)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        List<AttendanceRecord> records = monthOfRecords();
+        body = "dto".equals(payload)
+                ? records.stream().map(AttendanceRecordResponse::from).toList()
+                : records;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(gzip, body);
+        }
+        return out.toByteArray();
+    }
+
+    static List<AttendanceRecord> monthOfRecords() {
+        List<AttendanceRecord> records = new ArrayList<>();
+        LocalDate start = LocalDate.of(2025, 10, 1);
+        for (int day = 0; day < 31; day++) {
+            LocalDate date = start.plusDays(day);
+            AttendanceRecord record = new AttendanceRecord(1L, date);
+            record.setAttendanceId((long) day + 1);
+            record.setClockInTime(date.atTime(9, day % 15));
+            record.setClockOutTime(date.atTime(18, 30));
+            record.setLateMinutes(day % 15);
+            record.setOvertimeMinutes(30);
+            record.setAttendanceStatus(day % 15 > 0 ? AttendanceStatus.LATE : AttendanceStatus.NORMAL);
+            record.setCreatedAt(LocalDateTime.of(2025, 10, 1, 0, 0).plusDays(day));
+            record.setUpdatedAt(LocalDateTime.of(2025, 10, 1, 0, 0).plusDays(day));
+            records.add(record);
+        }
+        return records;
+    }
+}
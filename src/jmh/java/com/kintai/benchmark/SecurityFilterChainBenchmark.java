@@ -0,0 +1,108 @@
+package com.kintai.benchmark;
+
+import com.kintai.config.ApiKeyAuthenticationFilter;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.lang.NonNull;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 打刻APIリクエスト1件あたりのフィルターチェーンのオーバーヘッド
+ * before: 変更前のAPI Keyフィルター（全リクエストで実行し、内部でパスを判定する）が
+ *         サーブレットフィルターとしても登録され、単一のセキュリティチェーンにも含まれる構成
+ * after : /api/pdf/** 専用チェーンをsecurityMatcherで分離し、打刻APIではAPI Keyフィルターを実行しない構成
+ * 差分のみを測るため、その他のセキュリティフィルターはどちらにも含めていない。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SecurityFilterChainBenchmark {
+
+    private static final HttpServlet NO_OP_SERVLET = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp) {
+        }
+    };
+
+    private Filter[] beforeFilters;
+    private Filter[] afterFilters;
+
+    @Setup
+    public void setUp() throws ServletException {
+        LegacyApiKeyAuthenticationFilter legacyFilter = new LegacyApiKeyAuthenticationFilter();
+        FilterChainProxy singleChain = new FilterChainProxy(
+                new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, legacyFilter));
+        singleChain.afterPropertiesSet();
+        beforeFilters = new Filter[] {legacyFilter, singleChain};
+
+        ApiKeyAuthenticationFilter apiKeyFilter = new ApiKeyAuthenticationFilter();
+
+        FilterChainProxy routedChains = new FilterChainProxy(List.of(
+                new DefaultSecurityFilterChain(new AntPathRequestMatcher("/api/pdf/**"), apiKeyFilter),
+                new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE)));
+        routedChains.afterPropertiesSet();
+        afterFilters = new Filter[] {routedChains};
+    }
+
+    @Benchmark
+    public MockHttpServletResponse clockInBefore() throws ServletException, IOException {
+        return invoke(beforeFilters);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse clockInAfter() throws ServletException, IOException {
+        return invoke(afterFilters);
+    }
+
+    /**
+     * 変更前のAPI Keyフィルターの複製（shouldNotFilterを持たず、doFilterInternal内でパスを判定する）
+     * 打刻APIはPDF APIのパスに一致しないため、API Keyの検証部分は省略している
+     */
+    static class LegacyApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                        @NonNull FilterChain filterChain) throws ServletException, IOException {
+            if (request.getRequestURI().startsWith("/api/pdf/")) {
+                throw new IllegalStateException("PDF APIは計測対象外です");
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static MockHttpServletResponse invoke(Filter[] filters) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/attendance/clock-in");
+        request.setServletPath("/api/attendance/clock-in");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(NO_OP_SERVLET, filters).doFilter(request, response);
+        return response;
+    }
+}
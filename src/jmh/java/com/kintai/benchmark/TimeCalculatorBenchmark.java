@@ -0,0 +1,50 @@
+package com.kintai.benchmark;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.util.TimeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 勤怠記録の遅刻・早退・残業・深夜勤務計算ベンチマーク
+ * 退勤打刻・勤怠修正・CSV取込のたびに1件ずつ呼ばれる処理。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TimeCalculatorBenchmark {
+
+    private static final int RECORD_COUNT = 1024;
+
+    private TimeCalculator timeCalculator;
+    private List<AttendanceRecord> records;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        timeCalculator = new TimeCalculator();
+        records = BenchmarkData.punchedRecords(RECORD_COUNT);
+    }
+
+    @Benchmark
+    public AttendanceRecord calculateAttendanceMetrics() {
+        AttendanceRecord record = records.get(index);
+        index = (index + 1) % RECORD_COUNT;
+        timeCalculator.calculateAttendanceMetrics(record);
+        return record;
+    }
+}
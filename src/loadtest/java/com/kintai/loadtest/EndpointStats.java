@@ -0,0 +1,65 @@
+package com.kintai.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * エンドポイントごとの応答時間・エラー件数の集計
+ * 応答時間はマイクロ秒単位でHdrHistogramに記録する（最大60秒、有効桁3桁）。
+ */
+class EndpointStats {
+
+    private final String endpoint;
+    private final Histogram histogram = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+    private final AtomicLong errors = new AtomicLong();
+    private final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void record(long startNanos, long endNanos, boolean success) {
+        histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), histogram.getHighestTrackableValue()));
+        firstStart.accumulate(startNanos);
+        lastEnd.accumulate(endNanos);
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    long count() {
+        return histogram.getTotalCount();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    /**
+     * 最初の要求開始から最後の応答までの間の秒間処理件数
+     */
+    double throughput() {
+        long elapsed = lastEnd.get() - firstStart.get();
+        return elapsed <= 0 ? 0.0 : count() * 1_000_000_000.0 / elapsed;
+    }
+
+    /**
+     * 応答時間のパーセンタイル（ミリ秒）
+     */
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double maxMillis() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.kintai.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 負荷テスト用HTTPクライアント
+ * フェーズ単位で要求の一覧を同時接続数分のスレッドで実行し、エンドポイントごとに応答時間を記録する。
+ * 各スレッドは応答を受けてから次の要求を送る（クローズドモデル）ため、
+ * サーバーが詰まった場合の待ち時間は応答時間ではなくスループットの低下として現れる。
+ */
+class LoadTestClient implements AutoCloseable {
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ExecutorService workers;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    LoadTestClient(String baseUrl, int concurrency) {
+        this.baseUrl = baseUrl;
+        this.workers = Executors.newFixedThreadPool(concurrency);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * 負荷テストの1要求
+     * @param endpoint 集計用のエンドポイント名（例: GET /api/attendance/history/{employeeId}）
+     * @param method HTTPメソッド
+     * @param path パス
+     * @param jsonBody 要求本文（GETの場合はnull）
+     */
+    record Call(String endpoint, String method, String path, String jsonBody) {
+
+        static Call get(String endpoint, String path) {
+            return new Call(endpoint, "GET", path, null);
+        }
+
+        static Call post(String endpoint, String path, String jsonBody) {
+            return new Call(endpoint, "POST", path, jsonBody);
+        }
+    }
+
+    /**
+     * 要求をすべて実行して完了を待つ
+     * @param calls 要求
+     * @return 経過時間（ナノ秒）
+     */
+    long run(List<Call> calls) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(calls.size());
+        for (Call call : calls) {
+            futures.add(workers.submit(() -> execute(call)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    private void execute(Call call) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + call.path()))
+                .timeout(Duration.ofSeconds(60))
+                .header("Accept", "application/json");
+        if (call.jsonBody() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(call.method(), HttpRequest.BodyPublishers.ofString(call.jsonBody()));
+        } else {
+            builder.method(call.method(), HttpRequest.BodyPublishers.noBody());
+        }
+        EndpointStats endpointStats = stats.computeIfAbsent(call.endpoint(), EndpointStats::new);
+        long start = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<Void> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            success = response.statusCode() < 400;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            success = false;
+        } catch (IOException e) {
+            success = false;
+        }
+        endpointStats.record(start, System.nanoTime(), success);
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
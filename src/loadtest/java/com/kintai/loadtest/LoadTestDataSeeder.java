@@ -0,0 +1,82 @@
+package com.kintai.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 負荷テスト用データ投入
+ * 社員と前月分の勤怠記録（月末申請できる状態）をJDBCのバッチ更新でまとめて投入する。
+ */
+class LoadTestDataSeeder {
+
+    static final String EMPLOYEE_CODE_PREFIX = "LT";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Random random = new Random(20251001L);
+
+    LoadTestDataSeeder(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 社員と前月分の勤怠記録を投入
+     * @param employeeCount 社員数
+     * @param previousMonth 勤怠記録を投入する月
+     * @return 投入した社員のID
+     */
+    List<Long> seed(int employeeCount, YearMonth previousMonth) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> employees = new ArrayList<>(employeeCount);
+        for (int i = 1; i <= employeeCount; i++) {
+            String code = EMPLOYEE_CODE_PREFIX + String.format("%05d", i);
+            employees.add(new Object[] {code, "負荷", "太郎" + i, code.toLowerCase() + "@loadtest.example.com",
+                    Date.valueOf(LocalDate.of(2020, 4, 1)), true, Timestamp.valueOf(now), Timestamp.valueOf(now)});
+        }
+        batchInsert("INSERT INTO employees (employee_code, last_name, first_name, email, hire_date, is_active, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", employees);
+
+        List<Long> employeeIds = jdbcTemplate.queryForList(
+                "SELECT employee_id FROM employees WHERE employee_code LIKE ? ORDER BY employee_id",
+                Long.class, EMPLOYEE_CODE_PREFIX + "%");
+
+        List<Object[]> records = new ArrayList<>();
+        for (Long employeeId : employeeIds) {
+            for (int day = 1; day <= previousMonth.lengthOfMonth(); day++) {
+                LocalDate date = previousMonth.atDay(day);
+                if (date.getDayOfWeek().getValue() >= 6) {
+                    continue;
+                }
+                LocalDateTime clockIn = date.atTime(8, 45).plusMinutes(random.nextInt(20));
+                LocalDateTime clockOut = date.atTime(18, 0).plusMinutes(random.nextInt(120));
+                int lateMinutes = Math.max(0, (int) Duration.between(date.atTime(9, 0), clockIn).toMinutes());
+                int overtimeMinutes = (int) Duration.between(date.atTime(18, 0), clockOut).toMinutes();
+                records.add(new Object[] {employeeId, Date.valueOf(date), Timestamp.valueOf(clockIn),
+                        Timestamp.valueOf(clockOut), lateMinutes, 0, overtimeMinutes, 0,
+                        lateMinutes > 0 ? "LATE" : "NORMAL", false, "NOT_SUBMITTED",
+                        Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            }
+        }
+        batchInsert("INSERT INTO attendance_records (employee_id, attendance_date, clock_in_time, clock_out_time, "
+                + "late_minutes, early_leave_minutes, overtime_minutes, night_shift_minutes, attendance_status, "
+                + "attendance_fixed_flag, submission_status, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", records);
+        return employeeIds;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kintai.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 負荷テストの実行オプション（キー=値 形式の引数から生成）
+ * @param employees 投入する社員数
+ * @param batchSize 社員・勤怠データ投入時のバッチサイズ
+ * @param concurrency 同時接続数（クライアントのスレッド数）
+ * @param historyReads 社員1人あたりの日中の参照回数
+ * @param vacationRatio 日中に有給申請する社員の割合
+ * @param resultFile 結果JSONの出力先
+ */
+record LoadTestOptions(int employees, int batchSize, int concurrency, int historyReads,
+                       double vacationRatio, String resultFile) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("引数は キー=値 形式で指定してください: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("employees", "500")),
+                Integer.parseInt(values.getOrDefault("batch-size", "500")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Integer.parseInt(values.getOrDefault("history-reads", "3")),
+                Double.parseDouble(values.getOrDefault("vacation-ratio", "0.2")),
+                values.getOrDefault("result-file", "target/loadtest-result.json"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.kintai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kintai.KintaiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * エンドツーエンド負荷テストの起動クラス
+ * devプロファイル（組み込みH2）でアプリケーションを空きポートに起動し、社員を一括投入したうえで
+ * 1日分の操作（{@link SyntheticDay}）を実HTTPで再現して、エンドポイントごとのスループットと応答時間を出力する。
+ *
+ * 実行: mvn -Ploadtest -DskipTests verify -Dloadtest.args="employees=1000 concurrency=64"
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        YearMonth submitMonth = YearMonth.now().minusMonths(1);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(KintaiApplication.class)
+                .profiles("dev")
+                // プロファイル別設定より優先させるためコマンドライン引数として渡す
+                .run(
+                        "--server.port=0",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.kintai=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        // 全要求が同一IPから届くため、ログインのレート制限は無効にする
+                        "--auth.rate-limit.enabled=false");
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+            long seedStart = System.nanoTime();
+            List<Long> employeeIds = new LoadTestDataSeeder(jdbcTemplate, options.batchSize()).seed(options.employees(), submitMonth);
+            System.out.printf("%d employees and %s attendance seeded in %d ms%n", employeeIds.size(), submitMonth,
+                    (System.nanoTime() - seedStart) / 1_000_000);
+
+            try (LoadTestClient client = new LoadTestClient("http://localhost:" + port, options.concurrency())) {
+                SyntheticDay day = new SyntheticDay(client, jdbcTemplate, employeeIds, options, submitMonth);
+                day.run();
+                report(options, day.phaseDurations(), client.stats());
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void report(LoadTestOptions options, Map<String, Long> phaseDurations,
+                               Map<String, EndpointStats> stats) throws Exception {
+        System.out.println();
+        System.out.printf("%-24s %12s%n", "Phase", "Elapsed(ms)");
+        phaseDurations.forEach((phase, nanos) -> System.out.printf("%-24s %12d%n", phase, nanos / 1_000_000));
+
+        List<EndpointStats> endpoints = new ArrayList<>(stats.values());
+        endpoints.sort(Comparator.comparing(EndpointStats::endpoint));
+
+        System.out.println();
+        System.out.printf("%-52s %7s %6s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Count", "Errors", "Req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        List<Map<String, Object>> endpointResults = new ArrayList<>();
+        for (EndpointStats endpoint : endpoints) {
+            System.out.printf("%-52s %7d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint.endpoint(), endpoint.count(), endpoint.errors(), endpoint.throughput(),
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(95), endpoint.percentileMillis(99),
+                    endpoint.maxMillis());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("endpoint", endpoint.endpoint());
+            result.put("count", endpoint.count());
+            result.put("errors", endpoint.errors());
+            result.put("throughput", endpoint.throughput());
+            result.put("p50Millis", endpoint.percentileMillis(50));
+            result.put("p95Millis", endpoint.percentileMillis(95));
+            result.put("p99Millis", endpoint.percentileMillis(99));
+            result.put("maxMillis", endpoint.maxMillis());
+            endpointResults.add(result);
+        }
+
+        Map<String, Object> phases = new LinkedHashMap<>();
+        phaseDurations.forEach((phase, nanos) -> phases.put(phase, nanos / 1_000_000));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("options", options);
+        result.put("phaseMillis", phases);
+        result.put("endpoints", endpointResults);
+
+        File file = new File(options.resultFile());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, result);
+        System.out.println();
+        System.out.println("Result saved to " + file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,145 @@
+package com.kintai.loadtest;
+
+import com.kintai.loadtest.LoadTestClient.Call;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 1日分の操作を再現する負荷シナリオ
+ * 9:00の出勤集中 → 日中の参照・有給申請・管理者の一覧確認 → 18:00の退勤集中 → 月末申請と承認 の順に実行する。
+ * 各フェーズ内の要求順は社員をシャッフルして決める。
+ */
+class SyntheticDay {
+
+    private final LoadTestClient client;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Long> employeeIds;
+    private final LoadTestOptions options;
+    private final YearMonth submitMonth;
+    private final Random random = new Random(20251001L);
+
+    /** フェーズ名 → 経過時間（ナノ秒） */
+    private final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+
+    SyntheticDay(LoadTestClient client, JdbcTemplate jdbcTemplate, List<Long> employeeIds,
+                 LoadTestOptions options, YearMonth submitMonth) {
+        this.client = client;
+        this.jdbcTemplate = jdbcTemplate;
+        this.employeeIds = employeeIds;
+        this.options = options;
+        this.submitMonth = submitMonth;
+    }
+
+    void run() throws Exception {
+        phase("09:00 clock-in burst", clockIns());
+        phase("daytime reads", daytime());
+        phase("18:00 clock-out burst", clockOuts());
+        phase("month-end submit", monthlySubmits());
+        phase("month-end approve", approvals());
+    }
+
+    Map<String, Long> phaseDurations() {
+        return phaseDurations;
+    }
+
+    private void phase(String name, List<Call> calls) throws Exception {
+        System.out.printf("%-24s %6d requests ...%n", name, calls.size());
+        phaseDurations.put(name, client.run(calls));
+    }
+
+    private List<Call> clockIns() {
+        List<Call> calls = new ArrayList<>();
+        for (Long employeeId : shuffled()) {
+            calls.add(Call.post("POST /api/attendance/clock-in", "/api/attendance/clock-in",
+                    "{\"employeeId\":" + employeeId + "}"));
+        }
+        return calls;
+    }
+
+    private List<Call> daytime() {
+        String currentMonth = YearMonth.now().toString();
+        List<Call> calls = new ArrayList<>();
+        for (int round = 0; round < options.historyReads(); round++) {
+            for (Long employeeId : shuffled()) {
+                calls.add(Call.get("GET /api/attendance/history/{employeeId}", "/api/attendance/history/" + employeeId));
+                calls.add(Call.get("GET /api/attendance/today/{employeeId}", "/api/attendance/today/" + employeeId));
+                calls.add(Call.get("GET /api/attendance/monthly-status/{employeeId}",
+                        "/api/attendance/monthly-status/" + employeeId + "?yearMonth=" + currentMonth));
+                calls.add(Call.get("GET /api/vacation/{employeeId}", "/api/vacation/" + employeeId));
+                calls.add(Call.get("GET /api/vacation/remaining/{employeeId}", "/api/vacation/remaining/" + employeeId));
+            }
+        }
+
+        // 有給申請（翌月以降の平日1日、社員ごとに1件）
+        LocalDate firstMonday = LocalDate.now().plusMonths(1).withDayOfMonth(1).with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        for (Long employeeId : shuffled()) {
+            if (random.nextDouble() >= options.vacationRatio()) {
+                continue;
+            }
+            LocalDate date = firstMonday.plusWeeks(random.nextInt(8)).plusDays(random.nextInt(5));
+            calls.add(Call.post("POST /api/vacation/request", "/api/vacation/request",
+                    "{\"employeeId\":" + employeeId + ",\"startDate\":\"" + date + "\",\"endDate\":\"" + date
+                            + "\",\"reason\":\"私用\"}"));
+        }
+
+        // 管理者による一覧確認（社員50人あたり1回）
+        for (int i = 0; i <= employeeIds.size() / 50; i++) {
+            calls.add(Call.get("GET /api/admin/employees", "/api/admin/employees"));
+            calls.add(Call.get("GET /api/admin/vacation/pending", "/api/admin/vacation/pending"));
+        }
+        Collections.shuffle(calls, random);
+        return calls;
+    }
+
+    private List<Call> clockOuts() {
+        List<Call> calls = new ArrayList<>();
+        for (Long employeeId : shuffled()) {
+            calls.add(Call.post("POST /api/attendance/clock-out", "/api/attendance/clock-out",
+                    "{\"employeeId\":" + employeeId + "}"));
+        }
+        return calls;
+    }
+
+    private List<Call> monthlySubmits() {
+        List<Call> calls = new ArrayList<>();
+        for (Long employeeId : shuffled()) {
+            calls.add(Call.post("POST /api/attendance/monthly-submit", "/api/attendance/monthly-submit",
+                    "{\"employeeId\":" + employeeId + ",\"yearMonth\":\"" + submitMonth + "\"}"));
+        }
+        return calls;
+    }
+
+    private List<Call> approvals() {
+        List<Call> calls = new ArrayList<>();
+        for (int i = 0; i <= employeeIds.size() / 50; i++) {
+            calls.add(Call.get("GET /api/admin/monthly-submissions", "/api/admin/monthly-submissions?status=SUBMITTED"));
+        }
+        for (Long employeeId : shuffled()) {
+            calls.add(Call.post("POST /api/admin/monthly-submissions/approve", "/api/admin/monthly-submissions/approve",
+                    "{\"employeeId\":" + employeeId + ",\"yearMonth\":\"" + submitMonth + "\",\"approved\":true}"));
+        }
+        List<Long> pendingVacationIds = jdbcTemplate.queryForList(
+                "SELECT vacation_id FROM vacation_requests WHERE status = 'PENDING'", Long.class);
+        for (Long vacationId : pendingVacationIds) {
+            calls.add(Call.post("POST /api/admin/vacation/approve", "/api/admin/vacation/approve",
+                    "{\"vacationId\":" + vacationId + ",\"approved\":true}"));
+        }
+        return calls;
+    }
+
+    private List<Long> shuffled() {
+        List<Long> ids = new ArrayList<>(employeeIds);
+        Collections.shuffle(ids, random);
+        return ids;
+    }
+}
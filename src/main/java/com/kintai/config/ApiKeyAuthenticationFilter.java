@@ -5,6 +5,8 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -15,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * FastAPI連携用のAPI Key認証フィルター
@@ -22,43 +25,50 @@ import java.util.Collections;
 @Component
 public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
     
-    @Value("${pdf.service.api-key:test-key}")
-    private String expectedApiKey;
+    // フィルターはWebMvcTest等でも生成されるため、レジストリは必要時に取得する
+    @Autowired
+    private ObjectProvider<ApiKeyRegistry> apiKeyRegistry;
     
     @Value("${pdf.service.require-auth:false}")
     private boolean requireAuth;
     
+    /**
+     * PDF APIエンドポイント以外は対象外
+     * （通常はPDF連携用のフィルターチェーンでのみ実行されるため、ここで除外されることはない）
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/pdf/");
+    }
+    
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, 
                                   @NonNull FilterChain filterChain) throws ServletException, IOException {
         
-        // PDF APIエンドポイントのみを対象とする
-        if (request.getRequestURI().startsWith("/api/pdf/")) {
-            String apiKey = request.getHeader("X-API-Key");
-            
-            // 認証が必要でない場合はスキップ
-            if (!requireAuth) {
-                filterChain.doFilter(request, response);
-                return;
-            }
-            
-            // API Keyが一致しない場合は401を返す
-            if (apiKey == null || !expectedApiKey.equals(apiKey)) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\":\"Invalid API Key\"}");
-                return;
-            }
-            
-            // 認証成功時はシステムユーザーとして認証
-            Authentication auth = new UsernamePasswordAuthenticationToken(
-                "pdf-service", 
-                null, 
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_SYSTEM"))
-            );
-            SecurityContextHolder.getContext().setAuthentication(auth);
+        // 認証が必要でない場合はスキップ
+        if (!requireAuth) {
+            filterChain.doFilter(request, response);
+            return;
         }
         
+        // 登録済みの有効なAPI Keyでない場合は401を返す
+        String apiKey = request.getHeader("X-API-Key");
+        Optional<String> keyId = apiKeyRegistry.getObject().verify(apiKey);
+        if (keyId.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Invalid API Key\"}");
+            return;
+        }
+        
+        // 認証成功時はシステムユーザーとして認証
+        Authentication auth = new UsernamePasswordAuthenticationToken(
+            "pdf-service:" + keyId.get(), 
+            null, 
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_SYSTEM"))
+        );
+        SecurityContextHolder.getContext().setAuthentication(auth);
+        
         filterChain.doFilter(request, response);
     }
 }
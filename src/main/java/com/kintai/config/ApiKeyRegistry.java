@@ -0,0 +1,201 @@
+package com.kintai.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PDF連携用APIキーのレジストリ
+ * キーはSHA-256ハッシュのみを保持し、提示されたキーのハッシュで検索したうえで定数時間比較する。
+ * 複数キーを同時に有効にでき、有効期限付きで登録することでローテーションできる。
+ * キーファイルは更新日時を確認して再起動なしで再読み込みする。
+ *
+ * キーファイル形式（properties）：
+ * <pre>
+ * # キーID=SHA-256(16進) [,有効期限(ISO-8601)]
+ * fastapi-2025a=9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08,2025-12-31T23:59:59Z
+ * fastapi-2025b=60303ae22b998861bce3b28f33eec1be758a213c86c93c076dbe9f558c11c752
+ * </pre>
+ */
+@Component
+public class ApiKeyRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyRegistry.class);
+
+    /** pdf.service.api-key で設定した従来のキーのID */
+    static final String DEFAULT_KEY_ID = "default";
+
+    private static final String UNKNOWN_KEY_ID = "unknown";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${pdf.service.api-key:test-key}")
+    private String defaultApiKey;
+
+    @Value("${pdf.service.api-keys-file:}")
+    private String keysFile;
+
+    @Value("${pdf.service.api-keys-reload-interval-seconds:30}")
+    private long reloadIntervalSeconds = 30;
+
+    /** ハッシュ（16進）→ キー情報。再読み込み時に丸ごと差し替える */
+    private volatile Map<String, ApiKey> keysByHash = Map.of();
+
+    private volatile long loadedFileModified = -1;
+    private volatile long nextReloadCheck;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private Clock clock = Clock.systemUTC();
+
+    @PostConstruct
+    void init() {
+        reload();
+    }
+
+    /**
+     * APIキーを検証
+     * @param presentedKey リクエストで提示されたキー
+     * @return 有効なキーの場合はキーID、それ以外は空
+     */
+    public Optional<String> verify(String presentedKey) {
+        reloadIfModified();
+        if (presentedKey == null || presentedKey.isEmpty()) {
+            record(UNKNOWN_KEY_ID, "rejected");
+            return Optional.empty();
+        }
+
+        byte[] presentedHash = sha256(presentedKey);
+        ApiKey key = keysByHash.get(HexFormat.of().formatHex(presentedHash));
+        // ハッシュでの検索後も定数時間比較で確定する
+        if (key == null || !MessageDigest.isEqual(key.hash(), presentedHash)) {
+            record(UNKNOWN_KEY_ID, "rejected");
+            return Optional.empty();
+        }
+        if (key.expiresAt() != null && !clock.instant().isBefore(key.expiresAt())) {
+            record(key.id(), "expired");
+            return Optional.empty();
+        }
+        record(key.id(), "accepted");
+        return Optional.of(key.id());
+    }
+
+    /**
+     * 登録済みキー数
+     * @return キー数
+     */
+    public int size() {
+        return keysByHash.size();
+    }
+
+    /**
+     * キーを再読み込み（キーファイルの読み込みに失敗した場合は現在のキーを維持する）
+     */
+    public synchronized void reload() {
+        Map<String, ApiKey> loaded = new HashMap<>();
+        if (defaultApiKey != null && !defaultApiKey.isBlank()) {
+            byte[] hash = sha256(defaultApiKey);
+            loaded.put(HexFormat.of().formatHex(hash), new ApiKey(DEFAULT_KEY_ID, hash, null));
+        }
+
+        if (keysFile != null && !keysFile.isBlank()) {
+            Path path = Path.of(keysFile);
+            try {
+                long modified = Files.getLastModifiedTime(path).toMillis();
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                for (String id : properties.stringPropertyNames()) {
+                    ApiKey key = parse(id, properties.getProperty(id));
+                    loaded.put(HexFormat.of().formatHex(key.hash()), key);
+                }
+                loadedFileModified = modified;
+            } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+                logger.error("APIキーファイルの読み込みに失敗しました（現在のキーを継続使用します）: {}", keysFile, e);
+                return;
+            }
+        }
+
+        keysByHash = Map.copyOf(loaded);
+        nextReloadCheck = clock.millis() + reloadIntervalSeconds * 1000;
+        logger.info("APIキーを読み込みました: {}件", loaded.size());
+    }
+
+    /**
+     * テスト用に時計を差し替える
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private void reloadIfModified() {
+        if (keysFile == null || keysFile.isBlank() || clock.millis() < nextReloadCheck) {
+            return;
+        }
+        nextReloadCheck = clock.millis() + reloadIntervalSeconds * 1000;
+        try {
+            if (Files.getLastModifiedTime(Path.of(keysFile)).toMillis() != loadedFileModified) {
+                reload();
+            }
+        } catch (IOException e) {
+            logger.warn("APIキーファイルの更新確認に失敗しました: {}", keysFile, e);
+        }
+    }
+
+    private static ApiKey parse(String id, String value) {
+        String[] parts = value.split(",", 2);
+        String hex = parts[0].trim();
+        byte[] hash = HexFormat.of().parseHex(hex);
+        if (hash.length != 32) {
+            throw new IllegalArgumentException("SHA-256ハッシュの長さが不正です: " + id);
+        }
+        Instant expiresAt = parts.length > 1 && !parts[1].isBlank() ? Instant.parse(parts[1].trim()) : null;
+        return new ApiKey(id, hash, expiresAt);
+    }
+
+    private void record(String keyId, String result) {
+        if (meterRegistry == null) {
+            return;
+        }
+        counters.computeIfAbsent(keyId + ":" + result, k -> Counter.builder("kintai.api.key.requests")
+                .tag("key", keyId)
+                .tag("result", result)
+                .description("APIキー認証の要求数")
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record ApiKey(String id, byte[] hash, Instant expiresAt) {}
+}
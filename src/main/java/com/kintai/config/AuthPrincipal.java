@@ -0,0 +1,39 @@
+package com.kintai.config;
+
+import com.kintai.entity.UserAccount;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 認証済みユーザー情報
+ * 認証トークンやセキュリティコンテキストに保持する最小限の情報（パスワードハッシュ等は含まない）
+ *
+ * @param id ユーザーアカウントID
+ * @param username ユーザー名
+ * @param employeeId 社員ID
+ * @param role ロール
+ */
+public record AuthPrincipal(Long id, String username, Long employeeId, UserAccount.UserRole role)
+        implements Serializable {
+
+    /**
+     * ユーザーアカウントから作成
+     * @param user ユーザーアカウント
+     * @return 認証済みユーザー情報
+     */
+    public static AuthPrincipal of(UserAccount user) {
+        return new AuthPrincipal(user.getId(), user.getUsername(), user.getEmployeeId(), user.getRole());
+    }
+
+    /**
+     * 権限を取得
+     * @return ロールに対応する権限
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
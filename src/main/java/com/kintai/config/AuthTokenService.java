@@ -0,0 +1,150 @@
+package com.kintai.config;
+
+import com.kintai.entity.UserAccount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 署名付き認証トークンサービス（ステートレス認証用）
+ * ユーザー情報と有効期限をHMAC-SHA256で署名したトークンを発行・検証する。
+ * 検証は署名と有効期限の確認のみで、セッションやDBは参照しない。
+ * トークン形式：base64url(ペイロード).base64url(署名)
+ */
+@Component
+public class AuthTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String VERSION = "v1";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final SecretKeySpec key;
+    private Clock clock = Clock.systemUTC();
+
+    public AuthTokenService(@Value("${auth.stateless.enabled:false}") boolean enabled,
+                            @Value("${auth.token.secret:}") String secret,
+                            @Value("${auth.token.ttl-seconds:900}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttlSeconds = ttlSeconds;
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // 未設定の場合は起動ごとに生成（単一ノードのみ。複数ノードでは共通の秘密鍵を設定すること）
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            if (enabled) {
+                logger.warn("auth.token.secret が未設定のため一時的な署名鍵を使用します（再起動でトークンは無効になります）");
+            }
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    /**
+     * ステートレス認証が有効か
+     * @return 有効な場合true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * トークンの有効期間（秒）
+     * @return 有効期間
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * トークンを発行
+     * @param user ユーザーアカウント
+     * @return 署名付きトークン
+     */
+    public String issueToken(UserAccount user) {
+        long expiresAt = clock.instant().getEpochSecond() + ttlSeconds;
+        String payload = String.join(":",
+                VERSION,
+                String.valueOf(user.getId()),
+                // 従業員に紐づかないアカウントは空欄とする
+                user.getEmployeeId() != null ? String.valueOf(user.getEmployeeId()) : "",
+                user.getRole().name(),
+                String.valueOf(expiresAt),
+                ENCODER.encodeToString(user.getUsername().getBytes(StandardCharsets.UTF_8)));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * トークンを検証
+     * @param token トークン
+     * @return 署名・有効期限が正しい場合は認証済みユーザー情報、それ以外は空
+     */
+    public Optional<AuthPrincipal> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(":");
+            if (parts.length != 6 || !VERSION.equals(parts[0])) {
+                return Optional.empty();
+            }
+            long expiresAt = Long.parseLong(parts[4]);
+            if (clock.instant().getEpochSecond() >= expiresAt) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthPrincipal(
+                    Long.valueOf(parts[1]),
+                    new String(DECODER.decode(parts[5]), StandardCharsets.UTF_8),
+                    parts[2].isEmpty() ? null : Long.valueOf(parts[2]),
+                    UserAccount.UserRole.valueOf(parts[3])));
+        } catch (IllegalArgumentException e) {
+            // Base64・数値・ロールの形式不正
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * テスト用に時計を差し替える
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("トークンの署名に失敗しました", e);
+        }
+    }
+}
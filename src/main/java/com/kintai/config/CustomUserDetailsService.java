@@ -1,7 +1,7 @@
 package com.kintai.config;
 
 import com.kintai.entity.UserAccount;
-import com.kintai.repository.UserAccountRepository;
+import com.kintai.service.UserAccountCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,11 +17,11 @@ import java.util.Optional;
 public class CustomUserDetailsService implements UserDetailsService {
     
     @Autowired
-    private UserAccountRepository userAccountRepository;
+    private UserAccountCache userAccountCache;
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<UserAccount> userOpt = userAccountRepository.findByUsernameAndEnabled(username, true);
+        Optional<UserAccount> userOpt = userAccountCache.findEnabledByUsername(username);
         
         if (userOpt.isEmpty()) {
             throw new UsernameNotFoundException("ユーザーが見つかりません: " + username);
@@ -4,6 +4,8 @@ import com.kintai.entity.Employee;
 import com.kintai.entity.UserAccount;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.UserAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -15,6 +17,8 @@ import java.time.LocalDate;
 @Component
 @Profile("!test")
 public class DataInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
     
     @Autowired
     private UserAccountRepository userAccountRepository;
@@ -28,48 +32,48 @@ public class DataInitializer {
     @PostConstruct
     public void initData() {
         try {
-            System.out.println("DataInitializer: Starting data initialization...");
+            logger.info("初期データの投入を開始します");
             // 既存のデータをクリア
             userAccountRepository.deleteAll();
             employeeRepository.deleteAll();
-            System.out.println("DataInitializer: Cleared existing data");
+            logger.debug("既存のデータを削除しました");
         
         // サンプル従業員データを作成
         Employee emp1 = new Employee("EMP001", "田中", "太郎", "tanaka@example.com", LocalDate.of(2020, 4, 1));
         emp1.setIsActive(true);
         Employee savedEmp1 = employeeRepository.save(emp1);
         if (savedEmp1 == null) {
-            System.err.println("DataInitializer: Failed to save employee 1");
+            logger.error("従業員1の保存に失敗しました");
             return;
         }
-        System.out.println("Created employee 1 with ID: " + savedEmp1.getEmployeeId());
+        logger.debug("従業員1を作成しました: employeeId={}", savedEmp1.getEmployeeId());
         
         Employee emp2 = new Employee("EMP002", "山田", "太郎", "yamada@example.com", LocalDate.of(2020, 4, 1));
         emp2.setIsActive(true);
         Employee savedEmp2 = employeeRepository.save(emp2);
         if (savedEmp2 == null) {
-            System.err.println("DataInitializer: Failed to save employee 2");
+            logger.error("従業員2の保存に失敗しました");
             return;
         }
-        System.out.println("Created employee 2 with ID: " + savedEmp2.getEmployeeId());
+        logger.debug("従業員2を作成しました: employeeId={}", savedEmp2.getEmployeeId());
         
         Employee emp3 = new Employee("EMP003", "佐藤", "花子", "sato@example.com", LocalDate.of(2020, 4, 1));
         emp3.setIsActive(true);
         Employee savedEmp3 = employeeRepository.save(emp3);
         if (savedEmp3 == null) {
-            System.err.println("DataInitializer: Failed to save employee 3");
+            logger.error("従業員3の保存に失敗しました");
             return;
         }
-        System.out.println("Created employee 3 with ID: " + savedEmp3.getEmployeeId());
+        logger.debug("従業員3を作成しました: employeeId={}", savedEmp3.getEmployeeId());
         
         Employee emp4 = new Employee("EMP004", "田中", "次郎", "tanaka2@example.com", LocalDate.of(2020, 4, 1));
         emp4.setIsActive(true);
         Employee savedEmp4 = employeeRepository.save(emp4);
         if (savedEmp4 == null) {
-            System.err.println("DataInitializer: Failed to save employee 4");
+            logger.error("従業員4の保存に失敗しました");
             return;
         }
-        System.out.println("Created employee 4 with ID: " + savedEmp4.getEmployeeId());
+        logger.debug("従業員4を作成しました: employeeId={}", savedEmp4.getEmployeeId());
         
         // サンプルユーザーデータを作成
         UserAccount admin = new UserAccount();
@@ -87,7 +91,7 @@ public class DataInitializer {
         user1.setEmployeeId(savedEmp2.getEmployeeId());
         user1.setEnabled(true);
         userAccountRepository.save(user1);
-        System.out.println("Created user1 with employeeId: " + savedEmp2.getEmployeeId());
+        logger.debug("ユーザーuser1を作成しました: employeeId={}", savedEmp2.getEmployeeId());
         
         UserAccount user2 = new UserAccount();
         user2.setUsername("user2");
@@ -96,10 +100,9 @@ public class DataInitializer {
         user2.setEmployeeId(savedEmp3.getEmployeeId());
         user2.setEnabled(true);
         userAccountRepository.save(user2);
-        System.out.println("DataInitializer: Data initialization completed successfully");
+        logger.info("初期データの投入が完了しました");
         } catch (Exception e) {
-            System.err.println("DataInitializer: Error during data initialization: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("初期データの投入に失敗しました", e);
         }
     }
 }
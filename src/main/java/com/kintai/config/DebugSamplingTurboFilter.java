@@ -0,0 +1,37 @@
+package com.kintai.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DEBUG以下のログを一定の割合だけ出力するlogbackのフィルター
+ * 本番でDEBUGを有効にしたまま出力量を抑えるため、sampleRate（0.0〜1.0）の割合のログのみ通す。
+ * isDebugEnabled() 等の判定（メッセージなし）は間引かず、実際の出力のみ対象とする
+ * （判定と出力で二重に間引かれないようにするため）。INFO以上は常に通す。
+ */
+public class DebugSamplingTurboFilter extends TurboFilter {
+
+    private double sampleRate = 1.0;
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO) || format == null || sampleRate >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
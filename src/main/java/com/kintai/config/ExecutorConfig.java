@@ -0,0 +1,75 @@
+package com.kintai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 業務処理用スレッドプール設定
+ * Executor型のBeanを定義するとSpring Bootの applicationTaskExecutor が作られなくなるため、同じ名前で定義する
+ * （未定義の場合、Spring MVCの非同期処理はリクエストごとにスレッドを作る SimpleAsyncTaskExecutor になる）
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Spring MVCの非同期処理（Callable・StreamingResponseBody）用スレッドプール
+     * 給与エクスポート等のストリーミング応答の書き出しに使用する。待ち行列が満杯の場合は受け付けない
+     */
+    @Bean(name = "applicationTaskExecutor")
+    public ThreadPoolTaskExecutor applicationTaskExecutor(
+            @Value("${spring.task.execution.pool.core-size:8}") int coreSize,
+            @Value("${spring.task.execution.pool.max-size:16}") int maxSize,
+            @Value("${spring.task.execution.pool.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ログイン時のパスワード照合用スレッドプール
+     * bcryptのCPU負荷をこのプールのスレッド数に制限し、始業時のログイン集中で打刻処理が詰まらないようにする
+     */
+    @Bean(name = "loginExecutor")
+    public ThreadPoolTaskExecutor loginExecutor(
+            @Value("${auth.login.pool-size:0}") int poolSize,
+            @Value("${auth.login.queue-capacity:200}") int queueCapacity) {
+        // 0以下の場合はCPUコア数の半分（最低1）
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * レポート（PDF生成）用スレッドプール
+     * html2pdfのCPU負荷をこのプールのスレッド数に制限し、打刻等の通常のリクエストと処理スレッドを分ける。
+     * 同時実行数の制御と混雑時の応答は ReportBulkhead が行う
+     */
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${report.bulkhead.pool-size:0}") int poolSize,
+            @Value("${report.bulkhead.queue-capacity:20}") int queueCapacity) {
+        // 0以下の場合はCPUコア数の半分（最低1）
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,104 @@
+package com.kintai.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL実行状況のactuatorエンドポイント（/actuator/hibernate）
+ * Hibernateの統計情報（hibernate.generate_statistics=true の場合）、エンドポイント別のSQL実行数、
+ * スロークエリログを返す。DELETEで集計を消去する。
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    // 実行時間の合計が大きい順に返すJPQL/HQLの件数
+    private static final int TOP_QUERIES = 10;
+
+    @Autowired
+    private QueryStatisticsCollector collector;
+
+    @Autowired(required = false)
+    private EntityManagerFactory entityManagerFactory;
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("settings", collector.settings());
+        result.put("hibernate", hibernateStatistics());
+        result.put("requests", collector.endpointSummaries());
+        result.put("slowQueries", collector.slowQueries());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        collector.reset();
+        Statistics statistics = statisticsOrNull();
+        if (statistics != null) {
+            statistics.clear();
+        }
+    }
+
+    private Map<String, Object> hibernateStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Statistics statistics = statisticsOrNull();
+        result.put("statisticsEnabled", statistics != null && statistics.isStatisticsEnabled());
+        if (statistics == null || !statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        result.put("sessionsOpened", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("preparedStatements", statistics.getPrepareStatementCount());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount());
+        result.put("entityInserts", statistics.getEntityInsertCount());
+        result.put("entityUpdates", statistics.getEntityUpdateCount());
+        result.put("entityDeletes", statistics.getEntityDeleteCount());
+        result.put("collectionLoads", statistics.getCollectionLoadCount());
+        result.put("collectionFetches", statistics.getCollectionFetchCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("queryExecutionMaxTimeMillis", statistics.getQueryExecutionMaxTime());
+        result.put("optimisticFailures", statistics.getOptimisticFailureCount());
+        result.put("topQueries", topQueries(statistics));
+        return result;
+    }
+
+    private List<Map<String, Object>> topQueries(Statistics statistics) {
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            if (queryStatistics.getExecutionCount() == 0) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("query", QueryStatisticsCollector.fingerprint(query));
+            entry.put("executions", queryStatistics.getExecutionCount());
+            entry.put("totalTimeMillis", queryStatistics.getExecutionTotalTime());
+            entry.put("maxTimeMillis", queryStatistics.getExecutionMaxTime());
+            entry.put("rows", queryStatistics.getExecutionRowCount());
+            queries.add(entry);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> entry) -> (long) entry.get("totalTimeMillis"))
+                .reversed());
+        return queries.subList(0, Math.min(TOP_QUERIES, queries.size()));
+    }
+
+    private Statistics statisticsOrNull() {
+        return entityManagerFactory != null ? entityManagerFactory.unwrap(SessionFactory.class).getStatistics() : null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.kintai.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * ログを1行1件のJSONで出力するlogbackのエンコーダー
+ * 日時・レベル・スレッド・ロガー・メッセージ・MDC（traceId等）・例外のスタックトレースを出力する。
+ * ログ収集基盤で項目ごとに検索できるよう、prodプロファイルのコンソール出力で使用する（logback-spring.xml）。
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final byte[] EMPTY = new byte[0];
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", event.getInstant().toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("thread", event.getThreadName());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("message", event.getFormattedMessage());
+            for (Map.Entry<String, String> entry : event.getMDCPropertyMap().entrySet()) {
+                json.writeStringField(entry.getKey(), entry.getValue());
+            }
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                json.writeStringField("exception", throwable.getClassName());
+                json.writeStringField("stackTrace", ThrowableProxyUtil.asString(throwable));
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+}
@@ -0,0 +1,134 @@
+package com.kintai.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * SQLの実行を計測するDataSource
+ * 接続と文を動的プロキシで包み、execute系メソッドの実行時間とSQLを QueryStatisticsCollector に渡す。
+ * JPA・JdbcTemplateのどちらから発行したSQLも対象になる。
+ * DelegatingDataSourceを継承しているため、Spring BootのHikari向けメトリクス等は元のDataSourceを参照できる。
+ */
+class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final ClassLoader CLASS_LOADER = QueryCountingDataSource.class.getClassLoader();
+
+    private final Supplier<QueryStatisticsCollector> collector;
+
+    QueryCountingDataSource(DataSource targetDataSource, Supplier<QueryStatisticsCollector> collector) {
+        super(targetDataSource);
+        this.collector = collector;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    /**
+     * 接続のプロキシ（文の生成時にSQLを受け取り、文をプロキシで包む）
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityMethod(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            Object result = invokeTarget(target, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class
+                    : Statement.class;
+            return Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {type}, new StatementHandler(statement, sql));
+        }
+    }
+
+    /**
+     * 文のプロキシ（execute系メソッドの実行時間を記録する）
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object identity = identityMethod(proxy, method, args);
+            if (identity != null) {
+                return identity;
+            }
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            // Statementの場合は実行時にSQLが渡される
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                QueryStatisticsCollector statistics = collector.get();
+                if (statistics != null) {
+                    statistics.recordStatement(executedSql, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    /**
+     * equals/hashCodeはプロキシ自身で判定する（Hibernateは文をプロキシのままMapで管理する）
+     */
+    private static Object identityMethod(Object proxy, Method method, Object[] args) {
+        if (method.getName().equals("equals") && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && (args == null || args.length == 0)) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
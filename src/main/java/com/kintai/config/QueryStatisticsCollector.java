@@ -0,0 +1,305 @@
+package com.kintai.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SQL実行状況の集計
+ * リクエストごとのSQL実行数・エンティティ読み込み数・フラッシュ数をエンドポイント別に集計し、
+ * 閾値を超えたSQLを直近の一定件数だけ保持する（スロークエリログ）。
+ * SQLはリテラルを ? に置き換えたフィンガープリントで記録するため、バインド値は保持しない。
+ * リクエストあたりのSQL実行数の上限（query-stats.request-query-budget）を超えた場合は、
+ * 最も多く実行されたSQLとともに警告ログを出力する（N+1の検出用）。
+ */
+@Component
+public class QueryStatisticsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatisticsCollector.class);
+
+    /** エンドポイント数の上限を超えた分の集計先 */
+    static final String OTHER_ENDPOINT = "OTHER";
+
+    /** リクエスト外（起動時処理・バッチ等）の集計先 */
+    static final String NO_REQUEST = "NONE";
+
+    // エンドポイント別集計の上限件数
+    private static final int MAX_ENDPOINTS = 500;
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("\\(\\?\\.\\.\\.\\)(?:\\s*,\\s*\\(\\?\\.\\.\\.\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Value("${query-stats.slow-query-threshold-ms:200}")
+    private long slowQueryThresholdMillis = 200;
+
+    @Value("${query-stats.request-query-budget:0}")
+    private int requestQueryBudget;
+
+    private final ThreadLocal<RequestQueries> currentRequest = new ThreadLocal<>();
+    private final Map<String, EndpointQueries> endpoints = new ConcurrentHashMap<>();
+    private final EndpointQueries outsideRequests = new EndpointQueries();
+    private final AtomicReferenceArray<SlowQuery> slowQueries;
+    private final AtomicLong slowQuerySequence = new AtomicLong();
+
+    public QueryStatisticsCollector(@Value("${query-stats.slow-query-log-size:100}") int slowQueryLogSize) {
+        this.slowQueries = new AtomicReferenceArray<>(Math.max(1, slowQueryLogSize));
+    }
+
+    /**
+     * リクエストの集計を開始
+     * @return 集計対象（endRequestに渡す）
+     */
+    RequestQueries beginRequest() {
+        RequestQueries queries = new RequestQueries();
+        currentRequest.set(queries);
+        return queries;
+    }
+
+    /**
+     * リクエストの集計を終了し、エンドポイント別に加算する
+     * @param queries beginRequestの戻り値
+     * @param endpoint エンドポイント（メソッドとURIパターン）
+     */
+    void endRequest(RequestQueries queries, String endpoint) {
+        currentRequest.remove();
+        if (queries.statements == 0 && queries.entityLoads == 0 && queries.flushes == 0) {
+            return;
+        }
+
+        boolean overBudget = requestQueryBudget > 0 && queries.statements > requestQueryBudget;
+        endpointQueries(endpoint).add(queries, overBudget);
+        if (overBudget) {
+            Map.Entry<String, Integer> mostFrequent = queries.statementCounts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElse(null);
+            logger.warn("リクエストあたりのSQL実行数が上限を超えました: {} {}件（上限{}件）、最多: {}件 {}",
+                    endpoint, queries.statements, requestQueryBudget,
+                    mostFrequent != null ? mostFrequent.getValue() : 0,
+                    mostFrequent != null ? fingerprint(mostFrequent.getKey()) : "-");
+        }
+    }
+
+    /**
+     * SQLの実行を記録
+     * @param sql SQL（プリペアドステートメントの場合は ? を含むSQL）
+     * @param elapsedNanos 実行時間（ナノ秒）
+     */
+    void recordStatement(String sql, long elapsedNanos) {
+        RequestQueries queries = currentRequest.get();
+        if (queries != null) {
+            queries.statements++;
+            queries.elapsedNanos += elapsedNanos;
+            if (sql != null) {
+                queries.statementCounts.merge(sql, 1, Integer::sum);
+            }
+        } else {
+            outsideRequests.statements.increment();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (sql != null && elapsedMillis >= slowQueryThresholdMillis) {
+            long sequence = slowQuerySequence.getAndIncrement();
+            slowQueries.set((int) (sequence % slowQueries.length()), new SlowQuery(fingerprint(sql), elapsedMillis,
+                    Instant.now(), queries != null ? queries.endpoint : NO_REQUEST));
+        }
+    }
+
+    /**
+     * エンティティの読み込みを記録
+     */
+    void recordEntityLoad() {
+        RequestQueries queries = currentRequest.get();
+        if (queries != null) {
+            queries.entityLoads++;
+        } else {
+            outsideRequests.entityLoads.increment();
+        }
+    }
+
+    /**
+     * フラッシュを記録
+     */
+    void recordFlush() {
+        RequestQueries queries = currentRequest.get();
+        if (queries != null) {
+            queries.flushes++;
+        } else {
+            outsideRequests.flushes.increment();
+        }
+    }
+
+    /**
+     * エンドポイント別の集計（SQL実行数の多い順）
+     * @return 集計結果
+     */
+    public List<Map<String, Object>> endpointSummaries() {
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        endpoints.forEach((endpoint, queries) -> summaries.add(queries.summary(endpoint)));
+        if (outsideRequests.statements.sum() > 0) {
+            summaries.add(outsideRequests.summary(NO_REQUEST));
+        }
+        summaries.sort(Comparator.comparingLong((Map<String, Object> summary) -> (long) summary.get("statements"))
+                .reversed());
+        return summaries;
+    }
+
+    /**
+     * スロークエリログ（新しい順）
+     * @return スロークエリ
+     */
+    public List<SlowQuery> slowQueries() {
+        List<SlowQuery> result = new ArrayList<>();
+        for (int i = 0; i < slowQueries.length(); i++) {
+            SlowQuery slowQuery = slowQueries.get(i);
+            if (slowQuery != null) {
+                result.add(slowQuery);
+            }
+        }
+        result.sort(Comparator.comparing(SlowQuery::timestamp).reversed());
+        return result;
+    }
+
+    /**
+     * 設定値
+     * @return 設定値
+     */
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("slowQueryThresholdMillis", slowQueryThresholdMillis);
+        settings.put("slowQueryLogSize", slowQueries.length());
+        settings.put("requestQueryBudget", requestQueryBudget);
+        return settings;
+    }
+
+    /**
+     * 集計とスロークエリログを消去
+     */
+    public void reset() {
+        endpoints.clear();
+        outsideRequests.clear();
+        for (int i = 0; i < slowQueries.length(); i++) {
+            slowQueries.set(i, null);
+        }
+    }
+
+    /**
+     * SQLのフィンガープリント（文字列・数値リテラルを ? に置き換え、IN句・複数行VALUESの並びと空白をまとめる）
+     * @param sql SQL
+     * @return フィンガープリント
+     */
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        normalized = VALUES_ROWS.matcher(normalized).replaceAll("(?...), ...");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private EndpointQueries endpointQueries(String endpoint) {
+        EndpointQueries queries = endpoints.get(endpoint);
+        if (queries != null) {
+            return queries;
+        }
+        if (endpoints.size() >= MAX_ENDPOINTS) {
+            return endpoints.computeIfAbsent(OTHER_ENDPOINT, k -> new EndpointQueries());
+        }
+        return endpoints.computeIfAbsent(endpoint, k -> new EndpointQueries());
+    }
+
+    /**
+     * 1リクエスト分の集計（リクエストを処理するスレッドのみが更新する）
+     */
+    static final class RequestQueries {
+        private String endpoint = NO_REQUEST;
+        private int statements;
+        private long elapsedNanos;
+        private int entityLoads;
+        private int flushes;
+        private final Map<String, Integer> statementCounts = new HashMap<>();
+
+        void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        int statements() {
+            return statements;
+        }
+    }
+
+    /**
+     * エンドポイント別の累計
+     */
+    private static final class EndpointQueries {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder elapsedNanos = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder flushes = new LongAdder();
+        private final LongAdder budgetViolations = new LongAdder();
+
+        void add(RequestQueries queries, boolean overBudget) {
+            requests.increment();
+            statements.add(queries.statements);
+            maxStatements.accumulateAndGet(queries.statements, Math::max);
+            elapsedNanos.add(queries.elapsedNanos);
+            entityLoads.add(queries.entityLoads);
+            flushes.add(queries.flushes);
+            if (overBudget) {
+                budgetViolations.increment();
+            }
+        }
+
+        void clear() {
+            requests.reset();
+            statements.reset();
+            maxStatements.set(0);
+            elapsedNanos.reset();
+            entityLoads.reset();
+            flushes.reset();
+            budgetViolations.reset();
+        }
+
+        Map<String, Object> summary(String endpoint) {
+            long requestCount = requests.sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("endpoint", endpoint);
+            summary.put("requests", requestCount);
+            summary.put("statements", statements.sum());
+            summary.put("statementsPerRequest", requestCount > 0 ? (double) statements.sum() / requestCount : 0.0);
+            summary.put("maxStatementsPerRequest", maxStatements.get());
+            summary.put("statementMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos.sum()));
+            summary.put("entityLoads", entityLoads.sum());
+            summary.put("flushes", flushes.sum());
+            summary.put("budgetViolations", budgetViolations.sum());
+            return summary;
+        }
+    }
+
+    /**
+     * スロークエリ
+     * @param fingerprint SQLのフィンガープリント
+     * @param elapsedMillis 実行時間（ミリ秒）
+     * @param timestamp 記録日時
+     * @param endpoint 実行したリクエストのエンドポイント
+     */
+    public record SlowQuery(String fingerprint, long elapsedMillis, Instant timestamp, String endpoint) {}
+}
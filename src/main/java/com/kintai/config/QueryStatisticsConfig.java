@@ -0,0 +1,82 @@
+package com.kintai.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * SQL実行状況の集計設定
+ * DataSourceをSQL計測用に包み、リクエストごとの集計フィルターとHibernateのイベントリスナーを登録する。
+ * query-stats.enabled=false で無効にできる（集計結果は /actuator/hibernate で参照する）。
+ */
+@Configuration
+@ConditionalOnProperty(name = "query-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatisticsConfig {
+
+    @Autowired
+    private QueryStatisticsCollector collector;
+
+    @Autowired(required = false)
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * DataSourceをSQL計測用のDataSourceで包む
+     * （Flyway等の起動時処理からも使われるため、集計クラスは初回のSQL実行時に取得する）
+     */
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor(ObjectProvider<QueryStatisticsCollector> collector) {
+        Supplier<QueryStatisticsCollector> supplier = SingletonSupplier.of(collector::getIfAvailable);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource, supplier);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * リクエストごとの集計フィルター（認証処理のSQLも含めるため最初に実行する）
+     */
+    @Bean
+    public FilterRegistrationBean<QueryStatisticsFilter> queryStatisticsFilterRegistration() {
+        FilterRegistrationBean<QueryStatisticsFilter> registration =
+            new FilterRegistrationBean<>(new QueryStatisticsFilter(collector));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * エンティティの読み込みとフラッシュをリクエストごとに数えるHibernateのイベントリスナーを登録
+     */
+    @PostConstruct
+    void registerHibernateListeners() {
+        if (entityManagerFactory == null) {
+            return;
+        }
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> collector.recordEntityLoad());
+        registry.appendListeners(EventType.FLUSH, (FlushEventListener) event -> collector.recordFlush());
+    }
+}
@@ -0,0 +1,38 @@
+package com.kintai.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * リクエストごとのSQL実行数を集計するフィルター
+ * 集計はURIパターン（/api/attendance/history/{employeeId} 等）単位で行う。
+ * サーブレットフィルターとして二重登録されないよう、Beanにはせず QueryStatisticsConfig で登録する。
+ */
+public class QueryStatisticsFilter extends OncePerRequestFilter {
+
+    private final QueryStatisticsCollector collector;
+
+    public QueryStatisticsFilter(QueryStatisticsCollector collector) {
+        this.collector = collector;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        QueryStatisticsCollector.RequestQueries queries = collector.beginRequest();
+        queries.setEndpoint(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            collector.endRequest(queries, request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+        }
+    }
+}
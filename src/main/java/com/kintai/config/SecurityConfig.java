@@ -1,21 +1,28 @@
 package com.kintai.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.csrf.CsrfTokenRepository;
 import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -23,9 +30,22 @@ public class SecurityConfig {
     @Autowired
     private ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
     
+    @Autowired
+    private AuthTokenService authTokenService;
+    
+    /**
+     * パスワードエンコーダー
+     * 新規ハッシュは {bcrypt} 接頭辞付きで指定強度により生成する。
+     * 接頭辞なしの既存ハッシュもbcryptとして照合し、ログイン成功時に再ハッシュされる（AuthService参照）
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
     }
     
     @Bean
@@ -33,11 +53,36 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     
+    /**
+     * API Keyフィルターをサーブレットフィルターとして自動登録しない
+     * （PDF連携用のフィルターチェーンにのみ組み込み、それ以外のリクエストでは実行しない）
+     */
+    @Bean
+    public FilterRegistrationBean<ApiKeyAuthenticationFilter> apiKeyAuthenticationFilterRegistration() {
+        FilterRegistrationBean<ApiKeyAuthenticationFilter> registration =
+            new FilterRegistrationBean<>(apiKeyAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    /**
+     * devプロファイル用のPDF連携（FastAPI）設定
+     */
+    @Bean
+    @Profile("dev")
+    @Order(1)
+    public SecurityFilterChain devPdfFilterChain(HttpSecurity http) throws Exception {
+        return pdfFilterChain(http)
+            .authorizeHttpRequests(authz -> authz.anyRequest().permitAll())
+            .build();
+    }
+    
     /**
      * devプロファイル用の設定（認証なし、CSRF無効）
      */
     @Bean
     @Profile("dev")
+    @Order(2)
     public SecurityFilterChain devFilterChain(HttpSecurity http) throws Exception {
         return http
             .csrf(csrf -> csrf.disable())
@@ -50,17 +95,30 @@ public class SecurityConfig {
             .build();
     }
     
+    /**
+     * prodプロファイル用のPDF連携（FastAPI）設定
+     */
+    @Bean
+    @Profile("prod")
+    @Order(1)
+    public SecurityFilterChain prodPdfFilterChain(HttpSecurity http) throws Exception {
+        if (authTokenService.isEnabled()) {
+            http.addFilterBefore(new TokenAuthenticationFilter(authTokenService), UsernamePasswordAuthenticationFilter.class);
+        }
+        return pdfFilterChain(http)
+            .authorizeHttpRequests(authz -> authz.anyRequest().authenticated())
+            .build();
+    }
+    
     /**
      * prodプロファイル用の設定（認証必須、ロールベース制御、CSRF有効）
+     * auth.stateless.enabled=true の場合はセッションを作らず、署名付きトークンで認証する
      */
     @Bean
     @Profile("prod")
+    @Order(2)
     public SecurityFilterChain prodFilterChain(HttpSecurity http) throws Exception {
-        return http
-            .csrf(csrf -> csrf
-                .csrfTokenRepository(csrfTokenRepository())
-                .ignoringRequestMatchers("/api/pdf/**") // FastAPI連携は除外
-            )
+        http
             .authorizeHttpRequests(authz -> authz
                 // 静的リソースは認証なし
                 .requestMatchers("/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
@@ -68,17 +126,37 @@ public class SecurityConfig {
                 .requestMatchers("/h2-console/**").denyAll()
                 // ヘルスチェックエンドポイント
                 .requestMatchers("/api/attendance/health").authenticated()
+                // 休暇カレンダー（管理者は全従業員、従業員は自分の休暇のみ。VacationController参照）
+                .requestMatchers("/api/vacation/calendar").hasAnyRole("EMPLOYEE", "ADMIN")
                 // 従業員用エンドポイント
                 .requestMatchers("/api/attendance/**", "/api/vacation/**").hasRole("EMPLOYEE")
                 // 管理者用エンドポイント
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
-                // PDF生成（FastAPI連携）
-                .requestMatchers("/api/pdf/**").authenticated()
+                // actuator（ヘルスチェック以外のメトリクス等は管理者のみ）
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 // その他すべてのAPIエンドポイント
                 .requestMatchers("/api/**").authenticated()
                 // その他は認証なし
                 .anyRequest().permitAll()
             )
+            .httpBasic(basic -> basic.disable());
+        
+        if (authTokenService.isEnabled()) {
+            // ステートレスモード：トークンはCookieで送られないためCSRF対策は不要
+            return http
+                .csrf(csrf -> csrf.disable())
+                .formLogin(form -> form.disable())
+                .logout(logout -> logout.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(authTokenService), UsernamePasswordAuthenticationFilter.class)
+                .build();
+        }
+        
+        return http
+            .csrf(csrf -> csrf
+                .csrfTokenRepository(csrfTokenRepository())
+            )
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/", true)
@@ -92,16 +170,30 @@ public class SecurityConfig {
                 .deleteCookies("JSESSIONID")
                 .permitAll()
             )
-            .httpBasic(basic -> basic.disable())
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
                 .maximumSessions(1)
                 .maxSessionsPreventsLogin(false)
             )
-            .addFilterBefore(apiKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
             .build();
     }
     
+    /**
+     * PDF連携（/api/pdf/**）専用チェーンの共通設定
+     * securityMatcherでパスを一度だけ判定し、API Keyフィルターはこのチェーンでのみ実行する。
+     * 既存セッションの認証情報は利用するが、新たにセッションは作らない
+     */
+    private HttpSecurity pdfFilterChain(HttpSecurity http) throws Exception {
+        return http
+            .securityMatcher("/api/pdf/**")
+            .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.NEVER))
+            .httpBasic(basic -> basic.disable())
+            .formLogin(form -> form.disable())
+            .logout(logout -> logout.disable())
+            .addFilterBefore(apiKeyAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+    }
+    
     /**
      * CSRFトークンリポジトリ
      */
@@ -0,0 +1,95 @@
+package com.kintai.config;
+
+import com.kintai.exception.AttendanceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * サービス層の処理時間・エラー件数の計測
+ * {@code @Service} の public メソッドの処理時間（kintai.service.operation）と、
+ * 例外で終了した件数（kintai.service.errors、AttendanceExceptionはエラーコード別）を記録する。
+ * 打刻のように頻繁に呼ばれる処理の負荷を抑えるため、正常終了時のTimerはメソッドごとにキャッシュし、
+ * 呼び出しのたびにタグを組み立てない。分位点・ヒストグラムは management.metrics.distribution で設定する。
+ * リポジトリの呼び出し時間は Spring Boot の spring.data.repository.invocations で記録される。
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String OPERATION_METRIC = "kintai.service.operation";
+    static final String ERROR_METRIC = "kintai.service.errors";
+
+    private static final String NO_EXCEPTION = "none";
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> failureTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (meterRegistry == null) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            successTimer(method).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            recordFailure(method, e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private Timer successTimer(Method method) {
+        Timer timer = successTimers.get(method);
+        if (timer == null) {
+            timer = successTimers.computeIfAbsent(method, m -> timer(m, NO_EXCEPTION));
+        }
+        return timer;
+    }
+
+    private void recordFailure(Method method, Throwable e, long elapsedNanos) {
+        String exception = e.getClass().getSimpleName();
+        String code = e instanceof AttendanceException attendanceException && attendanceException.getErrorCode() != null
+                ? attendanceException.getErrorCode()
+                : exception;
+        String key = method.getDeclaringClass().getName() + "#" + method.getName();
+
+        failureTimers.computeIfAbsent(key + ":" + exception, k -> timer(method, exception))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        errorCounters.computeIfAbsent(key + ":" + code, k -> Counter.builder(ERROR_METRIC)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("code", code)
+                .description("例外で終了したサービス処理の件数（AttendanceExceptionはエラーコード別）")
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder(OPERATION_METRIC)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .description("サービス処理の処理時間")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kintai.config;
+
+import org.apache.catalina.Store;
+import org.apache.catalina.session.DataSourceStore;
+import org.apache.catalina.session.FileStore;
+import org.apache.catalina.session.PersistentManager;
+import org.apache.catalina.valves.PersistentValve;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * HTTPセッション永続化設定
+ * session.store.type に file または jdbc を指定すると、セッションをメモリではなくストアに保存する。
+ * リクエストごとにストアから読み込み・保存するため、複数インスタンス間でスティッキーセッションなしにセッションを共有できる。
+ * セッションにはエンティティではなく {@link AuthPrincipal} 等の小さな値のみを格納すること。
+ */
+@Configuration
+@ConditionalOnExpression("'${session.store.type:memory}' != 'memory'")
+public class SessionStoreConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionStoreConfig.class);
+
+    /** ストアに保存しないリクエスト（静的リソース） */
+    private static final String STATIC_RESOURCE_FILTER = ".*\\.(css|js|png|jpg|gif|ico|svg|html|woff2?)$";
+
+    @Value("${session.store.type:memory}")
+    private String storeType;
+
+    @Value("${session.store.file.directory:${java.io.tmpdir}/kintai-sessions}")
+    private String fileDirectory;
+
+    /**
+     * 組み込みTomcatのセッションマネージャーをストア付きのものに差し替える
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> sessionStoreCustomizer(
+            ObjectProvider<DataSource> dataSourceProvider) {
+        Store store = createStore(dataSourceProvider);
+        return factory -> {
+            factory.addContextCustomizers(context -> {
+                PersistentManager manager = new PersistentManager();
+                manager.setStore(store);
+                manager.setSaveOnRestart(true);
+                context.setManager(manager);
+            });
+            PersistentValve valve = new PersistentValve();
+            valve.setFilter(STATIC_RESOURCE_FILTER);
+            factory.addContextValves(valve);
+        };
+    }
+
+    private Store createStore(ObjectProvider<DataSource> dataSourceProvider) {
+        switch (storeType.trim().toLowerCase()) {
+            case "file":
+                FileStore fileStore = new FileStore();
+                fileStore.setDirectory(fileDirectory);
+                logger.info("セッションをファイルに保存します: {}", fileDirectory);
+                return fileStore;
+            case "jdbc":
+                logger.info("セッションをデータベース（http_sessions）に保存します");
+                return new SpringDataSourceStore(dataSourceProvider.getObject());
+            default:
+                throw new IllegalStateException("session.store.type が不正です（memory/file/jdbc）: " + storeType);
+        }
+    }
+
+    /**
+     * アプリケーションのDataSourceを使用するセッションストア
+     * TomcatのDataSourceStoreはJNDIでDataSourceを取得するため、Springで管理しているものを直接設定する
+     */
+    static class SpringDataSourceStore extends DataSourceStore {
+
+        SpringDataSourceStore(DataSource dataSource) {
+            this.dataSource = dataSource;
+            setSessionTable("http_sessions");
+            setSessionIdCol("session_id");
+            setSessionAppCol("app_name");
+            setSessionDataCol("session_data");
+            setSessionValidCol("valid_session");
+            setSessionMaxInactiveCol("max_inactive");
+            setSessionLastAccessedCol("last_access");
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.kintai.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * スパンのファイル出力
+ * 終了したスパンをキューにため、専用スレッドがまとめてOTLP/JSON形式（1バッチ1行の
+ * ExportTraceServiceRequest）でファイルに追記する。外部のコレクターなしで確認でき、
+ * 必要に応じてOpenTelemetry Collectorのファイル受信機能等で取り込める。
+ * キューが満杯の場合はリクエスト処理を待たせずにスパンを破棄し、件数のみ数える。
+ * ファイルは開いたまま追記し、上限サイズを超えたら .1 〜 .N に退避して新しいファイルに切り替える。
+ */
+@Component
+public class SpanFileExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpanFileExporter.class);
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Value("${tracing.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${tracing.file:logs/traces.jsonl}")
+    private String file = "logs/traces.jsonl";
+
+    @Value("${tracing.batch-size:512}")
+    private int batchSize = 512;
+
+    @Value("${tracing.flush-interval-ms:1000}")
+    private long flushIntervalMillis = 1000;
+
+    @Value("${tracing.max-file-size:100MB}")
+    private DataSize maxFileSize = DataSize.ofMegabytes(100);
+
+    @Value("${tracing.max-history:5}")
+    private int maxHistory = 5;
+
+    @Value("${spring.application.name:kintai}")
+    private String serviceName = "kintai";
+
+    private final BlockingQueue<TraceSpan> queue;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running;
+    private Thread worker;
+    // 出力中のファイル（書き込みスレッド・flushのみが同期して扱う）
+    private Writer writer;
+    private long fileSize;
+
+    public SpanFileExporter(@Value("${tracing.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "span-exporter");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        flush();
+        synchronized (this) {
+            closeWriter();
+        }
+    }
+
+    /**
+     * スパンを出力待ちにする（キューが満杯の場合は破棄）
+     * @param span 終了したスパン
+     */
+    void export(TraceSpan span) {
+        if (!queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 出力待ちのスパンをすべて書き出す
+     */
+    synchronized void flush() {
+        List<TraceSpan> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * 破棄したスパンの件数
+     * @return 件数
+     */
+    public long droppedSpans() {
+        return dropped.sum();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                TraceSpan first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                synchronized (this) {
+                    List<TraceSpan> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<TraceSpan> batch) {
+        try {
+            String line = OBJECT_MAPPER.writeValueAsString(toOtlp(batch)) + "\n";
+            long length = line.getBytes(StandardCharsets.UTF_8).length;
+            if (writer == null) {
+                openWriter();
+            }
+            if (fileSize > 0 && fileSize + length > maxFileSize.toBytes()) {
+                rollover();
+                openWriter();
+            }
+            writer.write(line);
+            writer.flush();
+            fileSize += length;
+        } catch (IOException e) {
+            logger.warn("スパンの出力に失敗しました（{}件を破棄）: {}", batch.size(), file, e);
+            dropped.add(batch.size());
+            // 次のバッチで開き直す
+            closeWriter();
+        }
+    }
+
+    private void openWriter() throws IOException {
+        Path path = Path.of(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileSize = Files.size(path);
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("スパン出力ファイルのクローズに失敗しました: {}", file, e);
+        }
+        writer = null;
+    }
+
+    /**
+     * 出力中のファイルを退避する（file.1 が最新、max-history を超えた分は削除）
+     */
+    private void rollover() throws IOException {
+        closeWriter();
+        Path path = Path.of(file);
+        if (maxHistory <= 0) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        Files.deleteIfExists(Path.of(file + "." + maxHistory));
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path rolled = Path.of(file + "." + i);
+            if (Files.exists(rolled)) {
+                Files.move(rolled, Path.of(file + "." + (i + 1)));
+            }
+        }
+        Files.move(path, Path.of(file + ".1"));
+    }
+
+    /**
+     * OTLP/JSONのExportTraceServiceRequestに変換
+     */
+    Map<String, Object> toOtlp(List<TraceSpan> batch) {
+        List<Map<String, Object>> spans = new ArrayList<>(batch.size());
+        for (TraceSpan span : batch) {
+            Map<String, Object> otlpSpan = new LinkedHashMap<>();
+            otlpSpan.put("traceId", span.getTraceId());
+            otlpSpan.put("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                otlpSpan.put("parentSpanId", span.getParentSpanId());
+            }
+            otlpSpan.put("name", span.getName());
+            otlpSpan.put("kind", span.getKind().otlpValue());
+            otlpSpan.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+            otlpSpan.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+            otlpSpan.put("attributes", attributes(span.getAttributes()));
+            // ステータスコード（1: OK, 2: ERROR）
+            otlpSpan.put("status", span.getErrorMessage() != null
+                    ? Map.of("code", 2, "message", span.getErrorMessage())
+                    : Map.of("code", 1));
+            spans.add(otlpSpan);
+        }
+
+        Map<String, Object> scopeSpans = new LinkedHashMap<>();
+        scopeSpans.put("scope", Map.of("name", "com.kintai"));
+        scopeSpans.put("spans", spans);
+        Map<String, Object> resourceSpans = new LinkedHashMap<>();
+        resourceSpans.put("resource", Map.of("attributes", attributes(Map.of("service.name", serviceName))));
+        resourceSpans.put("scopeSpans", List.of(scopeSpans));
+        return Map.of("resourceSpans", List.of(resourceSpans));
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, Object> attributes) {
+        List<Map<String, Object>> result = new ArrayList<>(attributes.size());
+        attributes.forEach((key, value) -> result.add(Map.of("key", key, "value", anyValue(value))));
+        return result;
+    }
+
+    private static Map<String, Object> anyValue(Object value) {
+        if (value instanceof Boolean bool) {
+            return Map.of("boolValue", bool);
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            // OTLP/JSONでは64ビット整数は文字列で表す
+            return Map.of("intValue", value.toString());
+        }
+        if (value instanceof Number number) {
+            return Map.of("doubleValue", number.doubleValue());
+        }
+        return Map.of("stringValue", String.valueOf(value));
+    }
+}
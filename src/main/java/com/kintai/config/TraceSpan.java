@@ -0,0 +1,138 @@
+package com.kintai.config;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * トレースのスパン
+ * 1つのスレッドで開始・終了する前提のため同期しない（終了後は出力スレッドから参照のみ行う）。
+ */
+public final class TraceSpan {
+
+    /**
+     * スパン種別（値はOTLPのSpanKind）
+     */
+    public enum Kind {
+        INTERNAL(1),
+        SERVER(2),
+        CLIENT(3);
+
+        private final int otlpValue;
+
+        Kind(int otlpValue) {
+            this.otlpValue = otlpValue;
+        }
+
+        public int otlpValue() {
+            return otlpValue;
+        }
+    }
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final Kind kind;
+    private final boolean sampled;
+    private final TraceSpan parent;
+    private final long startEpochNanos;
+    private final long startNanoTime;
+    private String name;
+    private long endEpochNanos;
+    private Map<String, Object> attributes;
+    private String errorMessage;
+
+    TraceSpan(String traceId, String spanId, String parentSpanId, String name, Kind kind, boolean sampled,
+              TraceSpan parent) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.parent = parent;
+        Instant now = Instant.now();
+        this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        this.startNanoTime = System.nanoTime();
+    }
+
+    /**
+     * 属性を設定
+     * @param key キー
+     * @param value 値（文字列・数値・真偽値）
+     */
+    public void setAttribute(String key, Object value) {
+        if (attributes == null) {
+            attributes = new LinkedHashMap<>();
+        }
+        attributes.put(key, value);
+    }
+
+    /**
+     * 例外で終了したことを記録
+     * @param error 例外
+     */
+    public void recordError(Throwable error) {
+        errorMessage = error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+    }
+
+    /**
+     * W3C Trace Context の traceparent ヘッダー値
+     * @return traceparent
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void end() {
+        endEpochNanos = startEpochNanos + (System.nanoTime() - startNanoTime);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    TraceSpan getParent() {
+        return parent;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes != null ? attributes : Map.of();
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,145 @@
+package com.kintai.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * 軽量トレーサー
+ * 現在のスパンをスレッドローカルで保持し、子スパンの開始・終了と W3C traceparent による伝播を行う。
+ * 終了したスパンのうちサンプリング対象のものを SpanFileExporter に渡す。
+ * サンプリングはリクエストの入口（サーバースパン）で決め、子スパンはそれに従う。
+ * 受信したtraceparentのサンプリングフラグは外部から指定できるため信頼せず、トレースIDから
+ * tracing.sample-rate の割合で判定する（同じトレースIDは他のノードでも同じ判定になる）。
+ */
+@Component
+public class Tracer {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    @Autowired
+    private SpanFileExporter exporter;
+
+    @Value("${tracing.sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    private final ThreadLocal<TraceSpan> currentSpan = new ThreadLocal<>();
+
+    /**
+     * リクエストの入口のスパンを開始（traceparentがあれば同じトレースに連なる）
+     * @param name スパン名
+     * @param traceparent 受信したtraceparentヘッダー（なければnull）
+     * @return スパン
+     */
+    public TraceSpan startServerSpan(String name, String traceparent) {
+        TraceSpan span;
+        if (traceparent != null && TRACEPARENT.matcher(traceparent).matches()
+                && !traceparent.substring(3, 35).equals(INVALID_TRACE_ID)
+                && !traceparent.substring(36, 52).equals(INVALID_SPAN_ID)) {
+            String traceId = traceparent.substring(3, 35);
+            span = new TraceSpan(traceId, newSpanId(), traceparent.substring(36, 52), name,
+                    TraceSpan.Kind.SERVER, shouldSample(traceId), null);
+        } else {
+            String traceId = newTraceId();
+            span = new TraceSpan(traceId, newSpanId(), null, name, TraceSpan.Kind.SERVER, shouldSample(traceId), null);
+        }
+        currentSpan.set(span);
+        return span;
+    }
+
+    /**
+     * 現在のスパンの子スパンを開始
+     * @param name スパン名
+     * @param kind スパン種別
+     * @return スパン（現在のスパンがない、またはサンプリング対象外の場合はnull）
+     */
+    public TraceSpan startSpan(String name, TraceSpan.Kind kind) {
+        TraceSpan parent = currentSpan.get();
+        if (parent == null || !parent.isSampled()) {
+            return null;
+        }
+        TraceSpan span = new TraceSpan(parent.getTraceId(), newSpanId(), parent.getSpanId(), name, kind, true, parent);
+        currentSpan.set(span);
+        return span;
+    }
+
+    /**
+     * スパンを終了し、親スパンを現在のスパンに戻す
+     * @param span スパン（nullの場合は何もしない）
+     */
+    public void end(TraceSpan span) {
+        if (span == null) {
+            return;
+        }
+        span.end();
+        if (span.getParent() != null) {
+            currentSpan.set(span.getParent());
+        } else {
+            currentSpan.remove();
+        }
+        if (span.isSampled()) {
+            exporter.export(span);
+        }
+    }
+
+    /**
+     * 現在のスパン
+     * @return スパン（トレース中でない場合はnull）
+     */
+    public TraceSpan currentSpan() {
+        return currentSpan.get();
+    }
+
+    /**
+     * 現在のスパンを別スレッドに引き継ぐ処理に包む（スレッドプールで実行する処理の子スパンを同じトレースに連ねる）
+     * @param task 処理
+     * @return 実行中は呼び出し元のスパンを現在のスパンとする処理
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        TraceSpan span = currentSpan.get();
+        if (span == null) {
+            return task;
+        }
+        return () -> {
+            currentSpan.set(span);
+            MDC.put(TracingFilter.MDC_TRACE_ID, span.getTraceId());
+            try {
+                return task.call();
+            } finally {
+                currentSpan.remove();
+                MDC.remove(TracingFilter.MDC_TRACE_ID);
+            }
+        };
+    }
+
+    /**
+     * サンプリング判定（トレースIDの下位64ビットが sample-rate の割合に入るか）
+     */
+    private boolean shouldSample(String traceId) {
+        if (sampleRate >= 1.0) {
+            return true;
+        }
+        if (sampleRate <= 0.0) {
+            return false;
+        }
+        long lower = HexFormat.fromHexDigitsToLong(traceId, 16, 32) & Long.MAX_VALUE;
+        return lower < (long) (sampleRate * Long.MAX_VALUE);
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong() | 1L);
+    }
+
+    private static String newSpanId() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong() | 1L);
+    }
+}
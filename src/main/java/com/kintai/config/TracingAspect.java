@@ -0,0 +1,71 @@
+package com.kintai.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * コントローラー・サービス・リポジトリの呼び出しをスパンとして記録
+ * スパン名は「クラス名.メソッド名」（リポジトリはインターフェース名）とし、層を layer 属性に設定する。
+ * トレース中でない（起動時処理等）またはサンプリング対象外の場合は何もしない。
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingAspect {
+
+    // リポジトリのプロキシクラスからインターフェース名を求めた結果のキャッシュ
+    private static final ClassValue<String> REPOSITORY_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (Repository.class.isAssignableFrom(candidate)
+                        && candidate.getName().startsWith("com.kintai.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+
+    @Autowired
+    private Tracer tracer;
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service", joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository", REPOSITORY_NAMES.get(joinPoint.getThis().getClass()));
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String layer, String typeName) throws Throwable {
+        TraceSpan current = tracer.currentSpan();
+        if (current == null || !current.isSampled()) {
+            return joinPoint.proceed();
+        }
+
+        TraceSpan span = tracer.startSpan(typeName + "." + joinPoint.getSignature().getName(),
+                TraceSpan.Kind.INTERNAL);
+        span.setAttribute("layer", layer);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.kintai.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+/**
+ * RestTemplateの送信をクライアントスパンとして記録し、traceparent ヘッダーで送信先（PDF生成サービス等）に
+ * トレースを引き継ぐインターセプター
+ * サンプリング対象外のリクエストでも、送信先が同じ判断をできるよう traceparent は付与する。
+ */
+public class TracingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+
+    public TracingClientHttpRequestInterceptor(ObjectProvider<Tracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        Tracer tracer = tracerProvider.getIfAvailable();
+        TraceSpan current = tracer != null ? tracer.currentSpan() : null;
+        if (current == null) {
+            return execution.execute(request, body);
+        }
+
+        TraceSpan span = tracer.startSpan(request.getMethod() + " " + request.getURI().getHost(),
+                TraceSpan.Kind.CLIENT);
+        if (span == null) {
+            request.getHeaders().set(TracingFilter.TRACEPARENT_HEADER, current.traceparent());
+            return execution.execute(request, body);
+        }
+
+        span.setAttribute("http.request.method", request.getMethod().name());
+        span.setAttribute("url.full", request.getURI().toString());
+        request.getHeaders().set(TracingFilter.TRACEPARENT_HEADER, span.traceparent());
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            span.setAttribute("http.response.status_code", response.getStatusCode().value());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
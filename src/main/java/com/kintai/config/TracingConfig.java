@@ -0,0 +1,31 @@
+package com.kintai.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * トレース設定
+ * リクエストごとにサーバースパンを開始するフィルターを登録する。
+ * tracing.enabled=false で無効にできる（スパンは tracing.file にOTLP/JSON形式で出力される）。
+ */
+@Configuration
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Autowired
+    private Tracer tracer;
+
+    /**
+     * トレースフィルター（認証処理も含めて計測するため最初に実行する）
+     */
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilterRegistration() {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kintai.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * リクエストごとにサーバースパンを開始するフィルター
+ * 受信した traceparent ヘッダーがあれば同じトレースに連ね、トレースIDをログのMDC（traceId）に設定する。
+ * スパン名はURIパターン単位（GET /api/attendance/history/{employeeId} 等）とする。
+ * サーブレットフィルターとして二重登録されないよう、Beanにはせず TracingConfig で登録する。
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String TRACEPARENT_HEADER = "traceparent";
+    static final String MDC_TRACE_ID = "traceId";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        TraceSpan span = tracer.startServerSpan(request.getMethod() + " " + request.getRequestURI(),
+                request.getHeader(TRACEPARENT_HEADER));
+        MDC.put(MDC_TRACE_ID, span.getTraceId());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            span.setName(request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED"));
+            span.setAttribute("http.request.method", request.getMethod());
+            span.setAttribute("url.path", request.getRequestURI());
+            if (pattern != null) {
+                span.setAttribute("http.route", pattern.toString());
+            }
+            span.setAttribute("http.response.status_code", response.getStatus());
+            tracer.end(span);
+            MDC.remove(MDC_TRACE_ID);
+        }
+    }
+}
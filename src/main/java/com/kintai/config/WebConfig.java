@@ -1,7 +1,12 @@
 package com.kintai.config;
 
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -12,10 +17,28 @@ public class WebConfig {
     
     /**
      * RestTemplateのBeanを定義
-     * FastAPIマイクロサービスとの通信に使用
+     * FastAPIマイクロサービスとの通信に使用（送信をスパンとして記録し、traceparentで伝播する）
+     * PDF生成サービスの応答待ちでスレッドが長時間占有されないよう、接続・読み込みのタイムアウトを設定する
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ObjectProvider<Tracer> tracer,
+                                     @Value("${pdf.service.connect-timeout-ms:2000}") int connectTimeoutMillis,
+                                     @Value("${pdf.service.read-timeout-ms:30000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new TracingClientHttpRequestInterceptor(tracer));
+        return restTemplate;
+    }
+    
+    /**
+     * Jackson Blackbirdモジュール
+     * getter・コンストラクタ呼び出しをリフレクションではなく生成したラムダで行い、JSON変換を高速化する
+     * （Module型のBeanはSpring BootのObjectMapperに自動登録される）
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
     }
 }
@@ -1,5 +1,6 @@
 package com.kintai.controller;
 
+import com.kintai.dto.BulkApprovalResult;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.exception.AttendanceException;
 import com.kintai.service.AdjustmentRequestService;
@@ -96,6 +97,70 @@ public class AdminAdjustmentRequestController {
         }
     }
 
+    /**
+     * 修正申請一括承認API
+     * @param bulkRequest 一括承認リクエスト（修正申請IDリスト）
+     * @return 申請ごとの承認結果
+     */
+    @PostMapping("/adjustment/bulk-approve")
+    public ResponseEntity<Map<String, Object>> bulkApproveAdjustmentRequests(@RequestBody BulkAdjustmentRequest bulkRequest, jakarta.servlet.http.HttpServletRequest request) {
+        try {
+            Long approverEmployeeId = resolveApproverEmployeeId(request);
+            BulkApprovalResult result = adjustmentRequestService.bulkApproveAdjustmentRequests(
+                    bulkRequest.getAdjustmentRequestIds(), approverEmployeeId);
+            return ResponseEntity.ok(buildBulkResponse(result, "修正申請を一括承認しました"));
+        } catch (AttendanceException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", e.getErrorCode());
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", "INTERNAL_ERROR");
+            errorResponse.put("message", "内部エラーが発生しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    /**
+     * 修正申請一括却下API
+     * @param bulkRequest 一括却下リクエスト（修正申請IDリストと却下コメント）
+     * @return 申請ごとの却下結果
+     */
+    @PostMapping("/adjustment/bulk-reject")
+    public ResponseEntity<Map<String, Object>> bulkRejectAdjustmentRequests(@RequestBody BulkAdjustmentRequest bulkRequest, jakarta.servlet.http.HttpServletRequest request) {
+        try {
+            Long approverEmployeeId = resolveApproverEmployeeId(request);
+            BulkApprovalResult result = adjustmentRequestService.bulkRejectAdjustmentRequests(
+                    bulkRequest.getAdjustmentRequestIds(), approverEmployeeId, bulkRequest.getComment());
+            return ResponseEntity.ok(buildBulkResponse(result, "修正申請を一括却下しました"));
+        } catch (AttendanceException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", e.getErrorCode());
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", "INTERNAL_ERROR");
+            errorResponse.put("message", "内部エラーが発生しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    private Map<String, Object> buildBulkResponse(BulkApprovalResult result, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", result.getFailureCount() == 0);
+        response.put("message", message);
+        response.put("successCount", result.getSuccessCount());
+        response.put("failureCount", result.getFailureCount());
+        response.put("data", result.getItems());
+        return response;
+    }
+
     private Long resolveApproverEmployeeId(jakarta.servlet.http.HttpServletRequest request) {
         // 1) Spring Security認証情報から取得
         try {
@@ -103,6 +168,9 @@ public class AdminAdjustmentRequestController {
             if (auth != null && auth.getPrincipal() instanceof com.kintai.entity.UserAccount user) {
                 return user.getEmployeeId();
             }
+            if (auth != null && auth.getPrincipal() instanceof com.kintai.config.AuthPrincipal principal) {
+                return principal.employeeId();
+            }
         } catch (Exception ignored) {}
         
         // 2) セッションから取得（AuthControllerが設定）
@@ -199,4 +267,28 @@ public class AdminAdjustmentRequestController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+    
+    /**
+     * 一括承認/却下リクエスト内部クラス
+     */
+    public static class BulkAdjustmentRequest {
+        private List<Long> adjustmentRequestIds;
+        private String comment;
+        
+        public List<Long> getAdjustmentRequestIds() {
+            return adjustmentRequestIds;
+        }
+        
+        public void setAdjustmentRequestIds(List<Long> adjustmentRequestIds) {
+            this.adjustmentRequestIds = adjustmentRequestIds;
+        }
+        
+        public String getComment() {
+            return comment;
+        }
+        
+        public void setComment(String comment) {
+            this.comment = comment;
+        }
+    }
 }
@@ -1,7 +1,11 @@
 package com.kintai.controller;
 
+import com.kintai.dto.BulkApprovalResult;
+import com.kintai.dto.EmployeeResponse;
+import com.kintai.dto.VacationRequestResponse;
 import com.kintai.entity.Employee;
 import com.kintai.entity.VacationRequest;
+import com.kintai.exception.AttendanceException;
 import com.kintai.service.AdminService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,7 +40,7 @@ public class AdminController {
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "社員一覧を取得しました");
-            response.put("data", employees);
+            response.put("data", employees.stream().map(EmployeeResponse::from).toList());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -103,6 +107,38 @@ public class AdminController {
         }
     }
     
+    /**
+     * 有給申請一括承認/却下API
+     * @param request 一括承認リクエスト（有給申請IDリストと承認/却下）
+     * @return 申請ごとの処理結果
+     */
+    @PostMapping("/vacation/bulk-approve")
+    public ResponseEntity<Map<String, Object>> bulkApproveVacations(@RequestBody BulkVacationApprovalRequest request) {
+        try {
+            BulkApprovalResult result = adminService.bulkApproveVacations(request.getVacationIds(), request.isApproved());
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", result.getFailureCount() == 0);
+            response.put("message", request.isApproved() ? "有給申請を一括承認しました" : "有給申請を一括却下しました");
+            response.put("successCount", result.getSuccessCount());
+            response.put("failureCount", result.getFailureCount());
+            response.put("data", result.getItems());
+            
+            return ResponseEntity.ok(response);
+        } catch (AttendanceException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("errorCode", e.getErrorCode());
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "有給申請一括処理中にエラーが発生しました: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+    
     /**
      * 未承認有給申請一覧取得API
      * @return 未承認申請一覧
@@ -115,7 +151,7 @@ public class AdminController {
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "未承認申請一覧を取得しました");
-            response.put("data", pendingRequests);
+            response.put("data", pendingRequests.stream().map(VacationRequestResponse::from).toList());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -147,7 +183,7 @@ public class AdminController {
             List<VacationRequest> list = adminService.getVacationsByStatus(vs);
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("data", list);
+            response.put("data", list.stream().map(VacationRequestResponse::from).toList());
             response.put("count", list.size());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -306,4 +342,28 @@ public class AdminController {
             this.approved = approved;
         }
     }
+    
+    /**
+     * 有給申請一括承認リクエスト内部クラス
+     */
+    public static class BulkVacationApprovalRequest {
+        private List<Long> vacationIds;
+        private boolean approved;
+        
+        public List<Long> getVacationIds() {
+            return vacationIds;
+        }
+        
+        public void setVacationIds(List<Long> vacationIds) {
+            this.vacationIds = vacationIds;
+        }
+        
+        public boolean isApproved() {
+            return approved;
+        }
+        
+        public void setApproved(boolean approved) {
+            this.approved = approved;
+        }
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.kintai.dto.ClockResponse;
 import com.kintai.dto.MonthlySubmitRequest;
 import com.kintai.exception.AttendanceException;
 import com.kintai.service.AttendanceService;
+import com.kintai.service.ResourceVersionService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,8 +15,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.Optional;
 
 /**
  * 勤怠管理コントローラー
@@ -28,6 +34,9 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     /**
      * 出勤打刻API
      * @param request 出勤打刻リクエスト
@@ -158,15 +167,21 @@ public class AttendanceController {
      * 月末申請状態取得API
      * @param employeeId 従業員ID
      * @param yearMonth 年月
+     * @param webRequest リクエスト（条件付きリクエストの判定用）
      * @return 申請状態レスポンス
      */
     @GetMapping("/monthly-status/{employeeId}")
     public ResponseEntity<ClockResponse> getMonthlySubmissionStatus(
             @PathVariable Long employeeId,
-            @RequestParam String yearMonth) {
+            @RequestParam String yearMonth,
+            WebRequest webRequest) {
         try {
+            // 該当月の勤怠記録が未更新なら304を返す
+            if (isMonthNotModified(employeeId, yearMonth, webRequest)) {
+                return null;
+            }
             ClockResponse response = attendanceService.getMonthlySubmissionStatus(employeeId, yearMonth);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ResourceVersionService.REVALIDATE).body(response);
         } catch (AttendanceException e) {
             ClockResponse errorResponse = new ClockResponse(false, e.getErrorCode(), e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
@@ -182,10 +197,14 @@ public class AttendanceController {
     @GetMapping("/monthly-status")
     public ResponseEntity<ClockResponse> getMonthlySubmissionStatusCompat(
             @RequestParam Long employeeId,
-            @RequestParam String yearMonth) {
+            @RequestParam String yearMonth,
+            WebRequest webRequest) {
         try {
+            if (isMonthNotModified(employeeId, yearMonth, webRequest)) {
+                return null;
+            }
             ClockResponse response = attendanceService.getMonthlySubmissionStatus(employeeId, yearMonth);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ResourceVersionService.REVALIDATE).body(response);
         } catch (AttendanceException e) {
             ClockResponse errorResponse = new ClockResponse(false, e.getErrorCode(), e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
@@ -220,27 +239,51 @@ public class AttendanceController {
      * @param employeeId 従業員ID
      * @param year 年（オプション）
      * @param month 月（オプション）
+     * @param webRequest リクエスト（条件付きリクエストの判定用）
      * @return 勤怠履歴
      */
     @GetMapping("/history/{employeeId}")
     public ResponseEntity<ClockResponse> getAttendanceHistory(
             @PathVariable Long employeeId,
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
+            @RequestParam(required = false) Integer month,
+            WebRequest webRequest) {
         try {
+            // 対象期間の勤怠記録が未更新なら304を返す
+            Optional<ResourceVersionService.Version> version =
+                    attendanceService.getAttendanceHistoryVersion(employeeId, year, month);
+            if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+                return null;
+            }
+            
             ClockResponse response;
             if (year != null && month != null) {
                 response = attendanceService.getAttendanceHistoryForMonth(employeeId, year, month);
             } else {
                 response = attendanceService.getAttendanceHistory(employeeId);
             }
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(ResourceVersionService.REVALIDATE).body(response);
         } catch (Exception e) {
             ClockResponse errorResponse = new ClockResponse(false, "INTERNAL_ERROR", "勤怠履歴の取得に失敗しました");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
     
+    /**
+     * 指定月の勤怠記録が前回取得時から更新されていないか判定する
+     * 年月の形式が不正な場合は判定せず、通常の処理でエラーを返す
+     */
+    private boolean isMonthNotModified(Long employeeId, String yearMonth, WebRequest webRequest) {
+        YearMonth target;
+        try {
+            target = YearMonth.parse(yearMonth);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+        Optional<ResourceVersionService.Version> version = resourceVersionService.attendanceMonthVersion(employeeId, target);
+        return version.isPresent() && version.get().checkNotModified(webRequest);
+    }
+    
     /**
      * CSRFトークン取得API
      * @param request HTTPリクエスト
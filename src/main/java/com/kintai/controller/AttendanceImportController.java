@@ -0,0 +1,78 @@
+package com.kintai.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.kintai.dto.PunchImportResult;
+import com.kintai.service.PunchImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 打刻データ取込コントローラー（管理者用）
+ */
+@RestController
+@RequestMapping("/api/admin/attendance")
+public class AttendanceImportController {
+
+    @Autowired
+    private PunchImportService punchImportService;
+
+    /**
+     * 打刻データ一括取込API
+     * リクエストボディをそのまま逐次読み込むため、大容量ファイルでもメモリに展開しない
+     * @param format ファイル形式（csv/json。省略時はContent-Typeから判定）
+     * @param request HTTPリクエスト（ボディ：打刻ファイル）
+     * @return 取込結果
+     */
+    @PostMapping(value = "/punch-import",
+            consumes = {"text/csv", "text/plain", "application/json", "application/x-ndjson", "application/octet-stream"})
+    public ResponseEntity<Map<String, Object>> importPunches(@RequestParam(required = false) String format,
+                                                             HttpServletRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try (InputStream in = request.getInputStream()) {
+            PunchImportResult result = punchImportService.importPunches(in, resolveFormat(format, request.getContentType()));
+
+            response.put("success", true);
+            response.put("message", result != null && result.getErrorCount() > 0
+                    ? String.format("打刻データを取り込みました（エラー%d件）", result.getErrorCount())
+                    : "打刻データを取り込みました");
+            response.put("result", result);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            response.put("success", false);
+            response.put("errorCode", "INVALID_FORMAT");
+            response.put("message", "ファイル形式が不正です: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IOException e) {
+            response.put("success", false);
+            response.put("errorCode", "IMPORT_FAILED");
+            response.put("message", "ファイルの読み込みに失敗しました");
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("errorCode", "INTERNAL_ERROR");
+            response.put("message", "内部エラーが発生しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * ファイル形式を判定
+     */
+    private PunchImportService.Format resolveFormat(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            return PunchImportService.Format.valueOf(format.trim().toUpperCase());
+        }
+        if (contentType != null && contentType.toLowerCase().contains("json")) {
+            return PunchImportService.Format.JSON;
+        }
+        return PunchImportService.Format.CSV;
+    }
+}
@@ -1,15 +1,24 @@
 package com.kintai.controller;
 
+import com.kintai.exception.ReportBusyException;
 import com.kintai.service.AttendanceReportService;
+import com.kintai.service.ReportBulkhead;
+import com.kintai.service.ResourceVersionService;
+import com.kintai.util.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 勤怠レポートPDF出力コントローラー
@@ -22,43 +31,80 @@ public class AttendanceReportController {
     @Autowired
     private AttendanceReportService attendanceReportService;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    @Autowired
+    private ReportBulkhead reportBulkhead;
+    
+    // 生成中のPDF（従業員・年月・ETagごと）
+    private final SingleFlight<ReportKey, byte[]> reportRenders = new SingleFlight<>();
+    
     /**
      * 勤怠レポートPDFを生成・ダウンロード
+     * PDF生成はレポート用スレッドプールで非同期に行い、生成中はTomcatのスレッドを占有しない
      * @param employeeId 従業員ID
      * @param yearMonth 年月（yyyy-MM形式）
-     * @return PDFファイル
+     * @param webRequest リクエスト（条件付きリクエストの判定用）
+     * @return PDFファイル（混雑時は429/503）
      */
     @GetMapping("/report/{employeeId}/{yearMonth}")
-    public ResponseEntity<byte[]> generateAttendanceReport(
+    public CompletableFuture<ResponseEntity<byte[]>> generateAttendanceReport(
             @PathVariable Long employeeId,
-            @PathVariable String yearMonth) {
+            @PathVariable String yearMonth,
+            WebRequest webRequest) {
         
         try {
             // 年月フォーマットの検証
             validateYearMonthFormat(yearMonth);
             
-            // PDF生成
-            byte[] pdfBytes = attendanceReportService.generateAttendanceReportPdf(employeeId, yearMonth);
+            // 該当月の勤怠記録・従業員情報が未更新ならPDFを再生成せず304を返す
+            Optional<ResourceVersionService.Version> version = resourceVersionService.attendanceMonthVersion(employeeId, YearMonth.parse(yearMonth));
+            if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+                return CompletableFuture.completedFuture(null);
+            }
             
-            // レスポンスヘッダーを設定
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_PDF);
-            headers.setContentDispositionFormData("attachment", 
-                String.format("attendance_%d_%s.pdf", employeeId, yearMonth));
-            headers.setContentLength(pdfBytes.length);
+            // PDF生成（レポート用スレッドプールで実行。同じ従業員・年月の生成中は結果を共有する。
+            // 生成中に勤怠記録が更新された場合は古い結果を共有しないよう、キーにETagを含める）
+            String etag = version.map(ResourceVersionService.Version::etag).orElse(null);
+            return reportRenders.execute(new ReportKey(employeeId, yearMonth, etag),
+                            () -> reportBulkhead.submit(
+                                    () -> attendanceReportService.generateAttendanceReportPdf(employeeId, yearMonth)))
+                    .thenApply(pdfBytes -> toPdfResponse(employeeId, yearMonth, pdfBytes))
+                    .exceptionally(this::toErrorResponse);
             
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
-            
-        } catch (IllegalArgumentException e) {
-            // 従業員が見つからない場合
-            return ResponseEntity.notFound().build();
         } catch (DateTimeParseException e) {
             // 年月フォーマットが不正な場合
-            return ResponseEntity.badRequest().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         } catch (Exception e) {
-            // その他のエラー
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return CompletableFuture.completedFuture(toErrorResponse(e));
+        }
+    }
+    
+    private ResponseEntity<byte[]> toPdfResponse(Long employeeId, String yearMonth, byte[] pdfBytes) {
+        // レスポンスヘッダーを設定
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", 
+            String.format("attendance_%d_%s.pdf", employeeId, yearMonth));
+        headers.setContentLength(pdfBytes.length);
+        headers.setCacheControl(ResourceVersionService.REVALIDATE);
+        
+        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+    }
+    
+    private ResponseEntity<byte[]> toErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ReportBusyException busy) {
+            // 混雑している場合
+            return ResponseEntity.status(busy.getStatus()).build();
         }
+        if (cause instanceof IllegalArgumentException) {
+            // 従業員が見つからない場合
+            return ResponseEntity.notFound().build();
+        }
+        // その他のエラー
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
     
     /**
@@ -74,4 +120,6 @@ public class AttendanceReportController {
             throw new DateTimeParseException("年月フォーマットが不正です。yyyy-MM形式で入力してください。", yearMonth, 0);
         }
     }
+    
+    private record ReportKey(Long employeeId, String yearMonth, String etag) {}
 }
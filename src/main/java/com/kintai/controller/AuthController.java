@@ -1,24 +1,28 @@
 package com.kintai.controller;
 
+import com.kintai.config.AuthPrincipal;
+import com.kintai.config.AuthTokenService;
 import com.kintai.entity.UserAccount;
+import com.kintai.exception.LoginBusyException;
 import com.kintai.service.AuthService;
+import com.kintai.service.LoginRateLimiter;
 import com.kintai.util.PasswordValidator;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -28,68 +32,103 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private AuthTokenService authTokenService;
+    
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+    
     /**
      * ログイン
+     * パスワード照合はログイン専用プールで非同期に行い、照合中はTomcatのスレッドを占有しない。
+     * 照合用スレッドはリクエスト・セッションに触れず、セッションの作成は LoginSessionAdvice が
+     * 非同期ディスパッチのスレッドで行う
      * @param loginRequest ログインリクエスト
      * @param request HTTPリクエスト
      * @return ログイン結果
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@Valid @RequestBody LoginRequest loginRequest, 
-                                                   HttpServletRequest request) {
+    public CompletableFuture<ResponseEntity<Object>> login(@Valid @RequestBody LoginRequest loginRequest,
+                                                     HttpServletRequest request) {
+        String username = loginRequest.getUsername();
+        String clientIp = request.getRemoteAddr();
         try {
-            // ユーザー認証
-            Optional<UserAccount> userOpt = authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
-            
-            if (userOpt.isPresent()) {
-                UserAccount user = userOpt.get();
-                
-                // セッション作成
-                HttpSession session = request.getSession(true);
-                session.setAttribute("user", user);
-                session.setAttribute("username", user.getUsername());
-                session.setAttribute("role", user.getRole().name());
-                session.setAttribute("employeeId", user.getEmployeeId());
-                
-                // Spring Securityの認証コンテキストを作成
-                Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    user,
-                    user.getPassword(),
-                    user.getAuthorities()
-                );
-                
-                // SecurityContextを作成して設定
-                SecurityContext context = SecurityContextHolder.createEmptyContext();
-                context.setAuthentication(authentication);
-                SecurityContextHolder.setContext(context);
-                
-                // セッションにSecurityContextを保存
-                session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
-                
-                // レスポンス作成
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("message", "ログインに成功しました");
-                response.put("username", user.getUsername());
-                response.put("role", user.getRole().name());
-                response.put("employeeId", user.getEmployeeId()); // 正しいemployeeIdを返す
-                response.put("sessionId", session.getId());
-                
-                return ResponseEntity.ok(response);
-            } else {
+            // レート制限（パスワード照合の前に判定する）
+            long retryAfterSeconds = loginRateLimiter.tryAcquire(username, clientIp);
+            if (retryAfterSeconds > 0) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
-                response.put("message", "ユーザー名またはパスワードが正しくありません");
+                response.put("errorCode", "TOO_MANY_ATTEMPTS");
+                response.put("message", "ログイン試行回数が上限に達しました。しばらくしてから再度お試しください");
+                response.put("retryAfterSeconds", retryAfterSeconds);
                 
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .body(response));
             }
+            
+            // ユーザー認証（照合結果が得られなかった場合はレート制限で確保した分を戻す）
+            return authService.authenticate(username, loginRequest.getPassword())
+                    .thenApply(userOpt -> toLoginResponse(userOpt, username, clientIp))
+                    .exceptionally(error -> {
+                        loginRateLimiter.release(username, clientIp);
+                        return toLoginErrorResponse(error);
+                    });
         } catch (Exception e) {
+            loginRateLimiter.release(username, clientIp);
+            return CompletableFuture.completedFuture(toLoginErrorResponse(e));
+        }
+    }
+    
+    /**
+     * 照合結果を応答に変換（照合用スレッドで実行するため、リクエスト・セッションには触れない）
+     */
+    private ResponseEntity<Object> toLoginResponse(Optional<UserAccount> userOpt, String username, String clientIp) {
+        if (userOpt.isEmpty()) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
-            response.put("message", "ログイン処理中にエラーが発生しました: " + e.getMessage());
+            response.put("message", "ユーザー名またはパスワードが正しくありません");
             
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
+        
+        UserAccount user = userOpt.get();
+        loginRateLimiter.onLoginSuccess(username, clientIp);
+        
+        // ステートレスモードではセッションを作らず署名付きトークンを返す
+        if (authTokenService.isEnabled()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "ログインに成功しました");
+            response.put("username", user.getUsername());
+            response.put("role", user.getRole().name());
+            response.put("employeeId", user.getEmployeeId());
+            response.put("token", authTokenService.issueToken(user));
+            response.put("tokenType", "Bearer");
+            response.put("expiresIn", authTokenService.getTtlSeconds());
+            
+            return ResponseEntity.ok(response);
+        }
+        
+        // セッションは応答の書き出し時に作成する（エンティティではなく最小限の認証情報のみ渡す）
+        return ResponseEntity.ok(new LoginSession(AuthPrincipal.of(user)));
+    }
+    
+    private ResponseEntity<Object> toLoginErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof LoginBusyException busy) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("errorCode", busy.getErrorCode());
+            response.put("message", busy.getMessage());
+            
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "ログイン処理中にエラーが発生しました: " + cause.getMessage());
+        
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
     
     /**
@@ -130,6 +169,26 @@ public class AuthController {
     @GetMapping("/session")
     public ResponseEntity<Map<String, Object>> getSession(HttpServletRequest request) {
         try {
+            // ステートレスモードではトークン検証済みの認証情報を返す
+            if (authTokenService.isEnabled()) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication != null && authentication.getPrincipal() instanceof AuthPrincipal principal) {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("authenticated", true);
+                    response.put("username", principal.username());
+                    response.put("role", principal.role().name());
+                    response.put("employeeId", principal.employeeId());
+                    
+                    return ResponseEntity.ok(response);
+                }
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("authenticated", false);
+                response.put("message", "認証トークンが無効です");
+                
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+            }
+            
             HttpSession session = request.getSession(false);
             
             if (session != null && session.getAttribute("user") != null) {
@@ -226,6 +285,13 @@ public class AuthController {
         }
     }
     
+    /**
+     * セッション作成待ちのログイン成功結果（LoginSessionAdvice が応答に変換する）
+     * @param principal 認証済みユーザー情報
+     */
+    record LoginSession(AuthPrincipal principal) {
+    }
+    
     /**
      * ログインリクエスト用の内部クラス
      */
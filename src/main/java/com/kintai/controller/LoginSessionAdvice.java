@@ -0,0 +1,77 @@
+package com.kintai.controller;
+
+import com.kintai.config.AuthPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ログイン成功時のセッション作成
+ * 応答の書き出し前（非同期ディスパッチのコンテナスレッド）に AuthController.LoginSession を
+ * セッションに保存し、ログイン結果に変換する。TomcatのリクエストやSet-Cookieの処理はスレッドセーフではないため、
+ * パスワード照合用スレッドではセッションを作らない。
+ */
+@ControllerAdvice(assignableTypes = AuthController.class)
+public class LoginSessionAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof AuthController.LoginSession login && request instanceof ServletServerHttpRequest servletRequest) {
+            return createSession(login.principal(), servletRequest.getServletRequest());
+        }
+        return body;
+    }
+
+    private Map<String, Object> createSession(AuthPrincipal principal, HttpServletRequest request) {
+        // セッション作成（最小限の認証情報のみ保持し、セッションの直列化サイズを抑える）
+        HttpSession session = request.getSession(true);
+        session.setAttribute("user", principal);
+        session.setAttribute("username", principal.username());
+        session.setAttribute("role", principal.role().name());
+        session.setAttribute("employeeId", principal.employeeId());
+
+        // Spring Securityの認証コンテキストを作成（パスワードハッシュは保持しない）
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        );
+
+        // SecurityContextはセッションにのみ保存する
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+
+        // レスポンス作成
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("message", "ログインに成功しました");
+        result.put("username", principal.username());
+        result.put("role", principal.role().name());
+        result.put("employeeId", principal.employeeId());
+        result.put("sessionId", session.getId());
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.kintai.controller;
+
+import com.kintai.exception.ReportBusyException;
+import com.kintai.service.PayrollExportService;
+import com.kintai.service.ReportBulkhead;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 給与計算用 勤怠エクスポートコントローラー（管理者用）
+ */
+@RestController
+@RequestMapping("/api/admin/payroll")
+public class PayrollExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    @Autowired
+    private PayrollExportService payrollExportService;
+
+    @Autowired
+    private ReportBulkhead reportBulkhead;
+
+    /**
+     * 月次勤怠エクスポートAPI
+     * レスポンスへ直接書き出すため、件数によらずサーバ側で全件を保持しない
+     * @param yearMonth 対象年月（yyyy-MM形式）
+     * @param format 出力形式（csv/xlsx、省略時はcsv）
+     * @return 勤怠データファイル
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportMonthlyAttendance(@RequestParam String yearMonth,
+                                                     @RequestParam(defaultValue = "csv") String format) {
+        YearMonth target;
+        PayrollExportService.Format exportFormat;
+        try {
+            target = YearMonth.parse(yearMonth);
+            exportFormat = PayrollExportService.Format.valueOf(format.trim().toUpperCase());
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", "INVALID_PARAMETER");
+            errorResponse.put("message", "年月（yyyy-MM）または出力形式（csv/xlsx）が不正です");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        String extension = exportFormat == PayrollExportService.Format.XLSX ? "xlsx" : "csv";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(exportFormat == PayrollExportService.Format.XLSX ? XLSX : TEXT_CSV);
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(String.format("attendance_%s.%s", target, extension))
+                .build());
+
+        // 書き出しの同時実行数はバルクヘッドで制限し、上限に達している場合は429を返す
+        ReportBulkhead.Permit permit;
+        try {
+            permit = reportBulkhead.acquire();
+        } catch (ReportBusyException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", e.getErrorCode());
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(e.getStatus()).body(errorResponse);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (permit) {
+                payrollExportService.export(target, exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+}
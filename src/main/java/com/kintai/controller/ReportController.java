@@ -2,6 +2,9 @@ package com.kintai.controller;
 
 import com.kintai.dto.ReportGenerateRequest;
 import com.kintai.dto.ReportGenerateResponse;
+import com.kintai.exception.ReportBusyException;
+import com.kintai.service.ReportBulkhead;
+import com.kintai.util.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -10,6 +13,8 @@ import org.springframework.web.client.RestTemplate;
 
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * レポート生成コントローラー
@@ -23,6 +28,12 @@ public class ReportController {
     @Autowired
     private RestTemplate restTemplate;
     
+    @Autowired
+    private ReportBulkhead reportBulkhead;
+    
+    // PDF生成サービスへの送信中のリクエスト（従業員・年月ごと）
+    private final SingleFlight<ReportKey, ResponseEntity<ReportGenerateResponse>> reportRequests = new SingleFlight<>();
+    
     @Value("${pdf.service.url:http://localhost:8081}")
     private String pdfServiceUrl;
     
@@ -62,13 +73,22 @@ public class ReportController {
             
             HttpEntity<ReportGenerateRequest> entity = new HttpEntity<>(fastApiRequest, headers);
             
-            // FastAPIサービスにリクエストを送信
-            ResponseEntity<ReportGenerateResponse> response = restTemplate.exchange(
-                fastApiUrl,
-                HttpMethod.POST,
-                entity,
-                ReportGenerateResponse.class
-            );
+            // FastAPIサービスにリクエストを送信（同じ従業員・年月の生成中は結果を共有する。
+            // 結果を待つ呼び出し元もスレッドを占有するため、バルクヘッドの許可を取得し、待ち時間を制限する）
+            ResponseEntity<ReportGenerateResponse> response;
+            try (ReportBulkhead.Permit permit = reportBulkhead.acquire()) {
+                response = reportRequests.call(
+                    new ReportKey(request.getEmployeeId(), request.getYearMonth()),
+                    () -> restTemplate.exchange(
+                        fastApiUrl,
+                        HttpMethod.POST,
+                        entity,
+                        ReportGenerateResponse.class
+                    ),
+                    reportBulkhead.timeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                throw reportBulkhead.timedOut();
+            }
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 return ResponseEntity.ok(response.getBody());
@@ -80,6 +100,9 @@ public class ReportController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(new ReportGenerateResponse("リクエストが無効です: " + e.getMessage()));
+        } catch (ReportBusyException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(new ReportGenerateResponse(null, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new ReportGenerateResponse("PDF生成サービスとの通信に失敗しました: " + e.getMessage()));
@@ -112,4 +135,6 @@ public class ReportController {
             throw new IllegalArgumentException("年月フォーマットが不正です。yyyy-MM形式で入力してください。");
         }
     }
+    
+    private record ReportKey(Long employeeId, String yearMonth) {}
 }
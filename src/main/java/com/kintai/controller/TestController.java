@@ -1,14 +1,20 @@
 package com.kintai.controller;
 
+import com.kintai.dto.SyntheticDataResult;
 import com.kintai.entity.Employee;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.service.SyntheticDataGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -26,6 +32,17 @@ public class TestController {
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
     
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+    
+    // 大量データ生成の可否（本番では無効）
+    @Value("${test-data.generator.enabled:false}")
+    private boolean generatorEnabled;
+    
+    // 大量データ生成の並列数の上限（コネクションプールを使い切らないように抑える）
+    @Value("${test-data.generator.max-threads:8}")
+    private int maxGeneratorThreads;
+    
     /**
      * 従業員情報取得（テスト用）
      * @param employeeId 従業員ID
@@ -94,4 +111,44 @@ public class TestController {
             return ResponseEntity.status(500).body("エラー: " + e.getMessage());
         }
     }
+    
+    /**
+     * 大量テストデータ生成（性能検証用）
+     * 既存データは削除せず、社員コードSYNの従業員を追加して勤怠記録・有給申請・修正申請を生成する
+     * @param employees 従業員数
+     * @param months 勤怠記録を生成する月数（当月を含む）
+     * @param threads 並列数
+     * @param rowsPerStatement 1つのINSERT文にまとめる行数
+     * @param seed 乱数の種
+     * @return 生成結果
+     */
+    @PostMapping("/data/generate")
+    public ResponseEntity<Map<String, Object>> generateTestData(
+            @RequestParam(defaultValue = "100") int employees,
+            @RequestParam(defaultValue = "3") int months,
+            @RequestParam(defaultValue = "4") int threads,
+            @RequestParam(defaultValue = "500") int rowsPerStatement,
+            @RequestParam(defaultValue = "20251001") long seed) {
+        Map<String, Object> response = new HashMap<>();
+        if (!generatorEnabled) {
+            response.put("success", false);
+            response.put("errorCode", "GENERATOR_DISABLED");
+            response.put("message", "テストデータ生成は無効です（test-data.generator.enabled）");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        }
+        
+        try {
+            SyntheticDataResult result = syntheticDataGenerator.generate(new SyntheticDataGenerator.Options(
+                    employees, months, Math.min(threads, maxGeneratorThreads), rowsPerStatement, seed));
+            response.put("success", true);
+            response.put("message", "テストデータを生成しました");
+            response.put("data", result);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("errorCode", "VALIDATION_ERROR");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 }
@@ -1,23 +1,33 @@
 package com.kintai.controller;
 
+import com.kintai.config.AuthPrincipal;
 import com.kintai.dto.VacationRequestDto;
-import com.kintai.entity.VacationRequest;
+import com.kintai.dto.VacationRequestResponse;
+import com.kintai.entity.UserAccount;
 import com.kintai.entity.VacationStatus;
 import com.kintai.exception.VacationException;
+import com.kintai.service.ResourceVersionService;
 import com.kintai.service.VacationService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Optional;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -32,6 +42,9 @@ public class VacationController {
     @Autowired
     private VacationService vacationService;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     /**
      * 有給休暇申請API
      * @param request 有給申請リクエスト
@@ -119,13 +132,22 @@ public class VacationController {
     /**
      * 従業員の有給申請一覧取得API
      * @param employeeId 従業員ID
+     * @param webRequest リクエスト（条件付きリクエストの判定用）
      * @return 申請一覧
      */
     @GetMapping("/{employeeId}")
-    public ResponseEntity<List<VacationRequest>> getVacationRequests(@PathVariable Long employeeId) {
+    public ResponseEntity<List<VacationRequestResponse>> getVacationRequests(@PathVariable Long employeeId,
+                                                                             WebRequest webRequest) {
         try {
-            List<VacationRequest> requests = vacationService.getVacationRequestsByEmployee(employeeId);
-            return ResponseEntity.ok(requests);
+            // 申請が未更新なら304を返す
+            Optional<ResourceVersionService.Version> version = resourceVersionService.vacationVersion(employeeId);
+            if (version.isPresent() && version.get().checkNotModified(webRequest)) {
+                return null;
+            }
+            List<VacationRequestResponse> requests = vacationService.getVacationRequestsByEmployee(employeeId).stream()
+                    .map(VacationRequestResponse::from)
+                    .toList();
+            return ResponseEntity.ok().cacheControl(ResourceVersionService.REVALIDATE).body(requests);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -153,6 +175,90 @@ public class VacationController {
         }
     }
 
+    /**
+     * 休暇カレンダー取得API（期間内の日別休暇者）
+     * 管理者は全従業員（またはemployeeIdsで指定した従業員）、それ以外は自分の休暇のみを返す
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @param employeeIds 対象従業員ID（管理者のみ有効。省略時は全従業員）
+     * @param request HTTPリクエスト
+     * @return { success, startDate, endDate, calendar: { 日付: [従業員ID] } }
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<Map<String, Object>> getVacationCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) List<Long> employeeIds,
+            HttpServletRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        try {
+            List<Long> targetEmployeeIds = employeeIds;
+            if (!isAdmin(request)) {
+                Long callerEmployeeId = resolveCallerEmployeeId(request);
+                if (callerEmployeeId == null) {
+                    body.put("success", false);
+                    body.put("errorCode", "FORBIDDEN");
+                    body.put("message", "休暇カレンダーを参照する権限がありません");
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).body(body);
+                }
+                targetEmployeeIds = List.of(callerEmployeeId);
+            }
+            Map<LocalDate, List<Long>> absences = vacationService.getVacationCalendar(startDate, endDate, targetEmployeeIds);
+            Map<String, List<Long>> calendar = new LinkedHashMap<>();
+            if (absences != null) {
+                absences.forEach((date, ids) -> calendar.put(date.toString(), ids));
+            }
+            body.put("success", true);
+            body.put("startDate", startDate);
+            body.put("endDate", endDate);
+            body.put("calendar", calendar);
+            return ResponseEntity.ok(body);
+        } catch (VacationException e) {
+            body.put("success", false);
+            body.put("errorCode", e.getErrorCode());
+            body.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(body);
+        } catch (Exception e) {
+            body.put("success", false);
+            body.put("errorCode", "INTERNAL_ERROR");
+            body.put("message", "休暇カレンダーの取得に失敗しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+        }
+    }
+
+    private boolean isAdmin(HttpServletRequest request) {
+        // 1) Spring Security認証情報から判定
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()))) {
+            return true;
+        }
+        // 2) セッションから判定（AuthControllerが設定）
+        HttpSession session = request.getSession(false);
+        return session != null && "ADMIN".equals(session.getAttribute("role"));
+    }
+    
+    private Long resolveCallerEmployeeId(HttpServletRequest request) {
+        // 1) Spring Security認証情報から取得
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthPrincipal principal) {
+            return principal.employeeId();
+        }
+        if (auth != null && auth.getPrincipal() instanceof UserAccount user) {
+            return user.getEmployeeId();
+        }
+        // 2) セッションから取得（AuthControllerが設定）
+        HttpSession session = request.getSession(false);
+        Object attr = session != null ? session.getAttribute("employeeId") : null;
+        if (attr instanceof Long id) {
+            return id;
+        }
+        if (attr instanceof Integer i) {
+            return i.longValue();
+        }
+        return null;
+    }
+    
     /**
      * CSRFトークン取得API
      * @param request HTTPリクエスト
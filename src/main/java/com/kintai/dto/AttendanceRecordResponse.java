@@ -0,0 +1,42 @@
+package com.kintai.dto;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.SubmissionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 勤怠記録レスポンスDTO（作成・更新日時などの監査項目は含めない）
+ */
+public record AttendanceRecordResponse(
+        Long attendanceId,
+        Long employeeId,
+        LocalDate attendanceDate,
+        LocalDateTime clockInTime,
+        LocalDateTime clockOutTime,
+        Integer lateMinutes,
+        Integer earlyLeaveMinutes,
+        Integer overtimeMinutes,
+        Integer nightShiftMinutes,
+        AttendanceStatus attendanceStatus,
+        Boolean attendanceFixedFlag,
+        SubmissionStatus submissionStatus) {
+
+    public static AttendanceRecordResponse from(AttendanceRecord record) {
+        return new AttendanceRecordResponse(
+                record.getAttendanceId(),
+                record.getEmployeeId(),
+                record.getAttendanceDate(),
+                record.getClockInTime(),
+                record.getClockOutTime(),
+                record.getLateMinutes(),
+                record.getEarlyLeaveMinutes(),
+                record.getOvertimeMinutes(),
+                record.getNightShiftMinutes(),
+                record.getAttendanceStatus(),
+                record.getAttendanceFixedFlag(),
+                record.getSubmissionStatus());
+    }
+}
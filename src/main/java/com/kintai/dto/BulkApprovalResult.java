@@ -0,0 +1,130 @@
+package com.kintai.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一括承認/却下結果DTO
+ * 申請ごとの処理結果を保持する
+ */
+public class BulkApprovalResult {
+
+    private int successCount;
+    private int failureCount;
+    private List<ItemResult> items = new ArrayList<>();
+
+    // デフォルトコンストラクタ
+    public BulkApprovalResult() {
+    }
+
+    /**
+     * 成功結果を追加
+     * @param id 申請ID
+     * @param status 処理後の状態
+     */
+    public void addSuccess(Long id, String status) {
+        items.add(new ItemResult(id, true, status, null, null));
+        successCount++;
+    }
+
+    /**
+     * 失敗結果を追加
+     * @param id 申請ID
+     * @param errorCode エラーコード
+     * @param message エラーメッセージ
+     */
+    public void addFailure(Long id, String errorCode, String message) {
+        items.add(new ItemResult(id, false, null, errorCode, message));
+        failureCount++;
+    }
+
+    // ゲッター・セッター
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public List<ItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemResult> items) {
+        this.items = items;
+    }
+
+    /**
+     * 申請ごとの処理結果内部クラス
+     */
+    public static class ItemResult {
+        private Long id;
+        private boolean success;
+        private String status;
+        private String errorCode;
+        private String message;
+
+        // デフォルトコンストラクタ
+        public ItemResult() {
+        }
+
+        // コンストラクタ
+        public ItemResult(Long id, boolean success, String status, String errorCode, String message) {
+            this.id = id;
+            this.success = success;
+            this.status = status;
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+
+        // ゲッター・セッター
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getErrorCode() {
+            return errorCode;
+        }
+
+        public void setErrorCode(String errorCode) {
+            this.errorCode = errorCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
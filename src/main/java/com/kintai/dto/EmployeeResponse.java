@@ -0,0 +1,34 @@
+package com.kintai.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.kintai.entity.Employee;
+
+import java.time.LocalDate;
+
+/**
+ * 社員レスポンスDTO（作成・更新日時などの監査項目は含めない）
+ */
+public record EmployeeResponse(
+        Long employeeId,
+        String employeeCode,
+        String lastName,
+        String firstName,
+        String email,
+        LocalDate hireDate,
+        LocalDate retirementDate,
+        @JsonProperty("isActive") Boolean isActive,
+        boolean retired) {
+
+    public static EmployeeResponse from(Employee employee) {
+        return new EmployeeResponse(
+                employee.getEmployeeId(),
+                employee.getEmployeeCode(),
+                employee.getLastName(),
+                employee.getFirstName(),
+                employee.getEmail(),
+                employee.getHireDate(),
+                employee.getRetirementDate(),
+                employee.getIsActive(),
+                employee.isRetired());
+    }
+}
@@ -0,0 +1,159 @@
+package com.kintai.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 打刻データ取込結果DTO
+ * エラー明細は上限件数まで保持し、超過分は件数のみ集計する
+ */
+public class PunchImportResult {
+
+    // エラー明細の保持上限
+    public static final int MAX_ERROR_DETAILS = 1000;
+
+    private long totalRows;
+    private long importedPunches;
+    private long insertedRecords;
+    private long updatedRecords;
+    private long errorCount;
+    private boolean errorsTruncated;
+    private List<ErrorDetail> errors = new ArrayList<>();
+
+    // デフォルトコンストラクタ
+    public PunchImportResult() {
+    }
+
+    /**
+     * エラーを追加
+     * @param row 行番号（JSONの場合は要素番号）
+     * @param employeeCode 社員コード
+     * @param message エラーメッセージ
+     */
+    public void addError(long row, String employeeCode, String message) {
+        errorCount++;
+        if (errors.size() < MAX_ERROR_DETAILS) {
+            errors.add(new ErrorDetail(row, employeeCode, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    public void incrementTotalRows() {
+        totalRows++;
+    }
+
+    public void incrementImportedPunches() {
+        importedPunches++;
+    }
+
+    public void addInsertedRecords(long count) {
+        insertedRecords += count;
+    }
+
+    public void addUpdatedRecords(long count) {
+        updatedRecords += count;
+    }
+
+    // ゲッター・セッター
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImportedPunches() {
+        return importedPunches;
+    }
+
+    public void setImportedPunches(long importedPunches) {
+        this.importedPunches = importedPunches;
+    }
+
+    public long getInsertedRecords() {
+        return insertedRecords;
+    }
+
+    public void setInsertedRecords(long insertedRecords) {
+        this.insertedRecords = insertedRecords;
+    }
+
+    public long getUpdatedRecords() {
+        return updatedRecords;
+    }
+
+    public void setUpdatedRecords(long updatedRecords) {
+        this.updatedRecords = updatedRecords;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<ErrorDetail> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<ErrorDetail> errors) {
+        this.errors = errors;
+    }
+
+    /**
+     * エラー明細内部クラス
+     */
+    public static class ErrorDetail {
+        private long row;
+        private String employeeCode;
+        private String message;
+
+        // デフォルトコンストラクタ
+        public ErrorDetail() {
+        }
+
+        // コンストラクタ
+        public ErrorDetail(long row, String employeeCode, String message) {
+            this.row = row;
+            this.employeeCode = employeeCode;
+            this.message = message;
+        }
+
+        // ゲッター・セッター
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public String getEmployeeCode() {
+            return employeeCode;
+        }
+
+        public void setEmployeeCode(String employeeCode) {
+            this.employeeCode = employeeCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.kintai.dto;
+
+/**
+ * 大量テストデータ生成結果DTO
+ * @param employees 作成した従業員数
+ * @param attendanceRecords 作成した勤怠記録数
+ * @param vacationRequests 作成した有給申請数
+ * @param adjustmentRequests 作成した勤怠修正申請数
+ * @param elapsedMillis 所要時間（ミリ秒）
+ */
+public record SyntheticDataResult(
+        int employees,
+        long attendanceRecords,
+        long vacationRequests,
+        long adjustmentRequests,
+        long elapsedMillis) {
+
+    /**
+     * 勤怠記録の秒間登録件数
+     * @return 件数/秒
+     */
+    public long attendanceRecordsPerSecond() {
+        return elapsedMillis > 0 ? attendanceRecords * 1000 / elapsedMillis : attendanceRecords;
+    }
+}
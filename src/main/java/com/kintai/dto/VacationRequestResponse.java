@@ -0,0 +1,33 @@
+package com.kintai.dto;
+
+import com.kintai.entity.VacationRequest;
+import com.kintai.entity.VacationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 有給申請レスポンスDTO（申請日として作成日時のみ含め、更新日時は含めない）
+ */
+public record VacationRequestResponse(
+        Long vacationId,
+        Long employeeId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer days,
+        String reason,
+        VacationStatus status,
+        LocalDateTime createdAt) {
+
+    public static VacationRequestResponse from(VacationRequest request) {
+        return new VacationRequestResponse(
+                request.getVacationId(),
+                request.getEmployeeId(),
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getDays(),
+                request.getReason(),
+                request.getStatus(),
+                request.getCreatedAt());
+    }
+}
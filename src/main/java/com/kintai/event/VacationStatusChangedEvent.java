@@ -0,0 +1,52 @@
+package com.kintai.event;
+
+import com.kintai.entity.VacationRequest;
+import com.kintai.entity.VacationStatus;
+
+import java.time.LocalDate;
+
+/**
+ * 有給申請の作成・ステータス変更イベント
+ * 残日数台帳や休暇インデックスなど、申請の状態を元にしたキャッシュの更新に使用する
+ *
+ * @param vacationId 申請ID
+ * @param employeeId 従業員ID
+ * @param startDate 開始日
+ * @param endDate 終了日
+ * @param days 申請日数（営業日換算）
+ * @param previousStatus 変更前ステータス（新規作成時はnull）
+ * @param newStatus 変更後ステータス
+ */
+public record VacationStatusChangedEvent(Long vacationId,
+                                         Long employeeId,
+                                         LocalDate startDate,
+                                         LocalDate endDate,
+                                         int days,
+                                         VacationStatus previousStatus,
+                                         VacationStatus newStatus) {
+
+    /**
+     * 保存後の申請からイベントを作成
+     * @param request 申請（変更後の状態）
+     * @param previousStatus 変更前ステータス（新規作成時はnull）
+     * @return イベント
+     */
+    public static VacationStatusChangedEvent of(VacationRequest request, VacationStatus previousStatus) {
+        return new VacationStatusChangedEvent(
+                request.getVacationId(),
+                request.getEmployeeId(),
+                request.getStartDate(),
+                request.getEndDate(),
+                request.getDays() != null ? request.getDays() : 0,
+                previousStatus,
+                request.getStatus());
+    }
+
+    /**
+     * 承認済み日数に影響する変更か
+     * @return 承認された、または承認済みから変更された場合true
+     */
+    public boolean affectsApprovedDays() {
+        return (newStatus == VacationStatus.APPROVED) != (previousStatus == VacationStatus.APPROVED);
+    }
+}
@@ -2,13 +2,15 @@ package com.kintai.exception;
 
 /**
  * 勤怠関連のカスタム例外クラス
+ * 打刻済み・申請重複などの想定内の業務エラーはスタックトレースを生成しない（応答に変換するだけのため）。
+ * 原因例外を伴う想定外のエラーは通常どおりスタックトレースを保持する。
  */
 public class AttendanceException extends RuntimeException {
     
     private final String errorCode;
     
     public AttendanceException(String errorCode, String message) {
-        super(message);
+        super(message, null, false, false);
         this.errorCode = errorCode;
     }
     
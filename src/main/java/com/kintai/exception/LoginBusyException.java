@@ -0,0 +1,18 @@
+package com.kintai.exception;
+
+/**
+ * ログイン混雑時の例外クラス
+ * パスワード照合用スレッドプールが満杯、または照合が時間内に終わらない場合に発生する
+ */
+public class LoginBusyException extends RuntimeException {
+    
+    public static final String LOGIN_BUSY = "LOGIN_BUSY";
+    
+    public LoginBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    public String getErrorCode() {
+        return LOGIN_BUSY;
+    }
+}
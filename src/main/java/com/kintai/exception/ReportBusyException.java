@@ -0,0 +1,33 @@
+package com.kintai.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * レポート・エクスポート処理の混雑時の例外クラス
+ * 同時実行数の上限に達した場合（429）と、処理用スレッドプールが受け付けない・時間内に終わらない場合（503）に発生する。
+ * 混雑時に多発する想定内のエラーのため、スタックトレースは生成しない。
+ */
+public class ReportBusyException extends RuntimeException {
+
+    public static final String REPORT_BUSY = "REPORT_BUSY";
+    public static final String REPORT_UNAVAILABLE = "REPORT_UNAVAILABLE";
+
+    private final String errorCode;
+
+    public ReportBusyException(String errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * 応答のHTTPステータス
+     * @return 同時実行数の上限の場合は429、それ以外は503
+     */
+    public HttpStatus getStatus() {
+        return REPORT_BUSY.equals(errorCode) ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
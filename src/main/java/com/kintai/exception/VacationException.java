@@ -2,13 +2,15 @@ package com.kintai.exception;
 
 /**
  * 有給休暇申請関連のカスタム例外クラス
+ * 申請重複・期間不正・退職者の申請などの想定内の業務エラーはスタックトレースを生成しない（応答に変換するだけのため）。
+ * 原因例外を伴う想定外のエラーは通常どおりスタックトレースを保持する。
  */
 public class VacationException extends RuntimeException {
     
     private final String errorCode;
     
     public VacationException(String errorCode, String message) {
-        super(message);
+        super(message, null, false, false);
         this.errorCode = errorCode;
     }
     
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -66,4 +67,13 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
      * @return 勤怠記録リスト（日付降順）
      */
     List<AttendanceRecord> findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(Long employeeId, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * 従業員ID群と勤怠日群で勤怠記録を一括検索（一括承認の事前読み込み用）
+     * 従業員IDと勤怠日の組み合わせは呼び出し側で絞り込むこと
+     * @param employeeIds 従業員IDリスト
+     * @param attendanceDates 勤怠日リスト
+     * @return 勤怠記録リスト
+     */
+    List<AttendanceRecord> findByEmployeeIdInAndAttendanceDateIn(Collection<Long> employeeIds, Collection<LocalDate> attendanceDates);
 }
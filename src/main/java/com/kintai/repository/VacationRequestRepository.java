@@ -38,6 +38,17 @@ public interface VacationRequestRepository extends JpaRepository<VacationRequest
      */
     List<VacationRequest> findByStatusOrderByCreatedAtDesc(VacationStatus status);
     
+    /**
+     * 期間と重なる承認済み有給申請を検索
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @return 承認済みの有給申請リスト
+     */
+    @Query("SELECT vr FROM VacationRequest vr WHERE vr.status = 'APPROVED' " +
+           "AND vr.startDate <= :endDate AND vr.endDate >= :startDate")
+    List<VacationRequest> findApprovedInPeriod(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+    
     /**
      * 日付範囲での重複申請チェック
      * @param employeeId 従業員ID
@@ -1,6 +1,7 @@
 package com.kintai.service;
 
 import com.kintai.dto.AdjustmentRequestDto;
+import com.kintai.dto.BulkApprovalResult;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.exception.AttendanceException;
@@ -14,7 +15,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 勤怠修正申請サービス
@@ -142,7 +149,122 @@ public class AdjustmentRequestService {
         
         return adjustmentRequestRepository.save(adjustmentRequest);
     }
-    
+
+    /**
+     * 修正申請を一括承認
+     * 対象申請と勤怠記録をそれぞれ1回のIN検索で先読みし、更新はまとめて保存する
+     * @param adjustmentRequestIds 修正申請IDリスト
+     * @param approverEmployeeId 承認者の従業員ID
+     * @return 申請ごとの処理結果
+     */
+    public BulkApprovalResult bulkApproveAdjustmentRequests(List<Long> adjustmentRequestIds, Long approverEmployeeId) {
+        BulkApprovalResult result = new BulkApprovalResult();
+        Set<Long> ids = BulkRequestIds.validate(adjustmentRequestIds);
+
+        // 1. 修正申請を一括取得
+        Map<Long, AdjustmentRequest> requestMap = new HashMap<>();
+        for (AdjustmentRequest request : adjustmentRequestRepository.findAllById(ids)) {
+            requestMap.put(request.getAdjustmentRequestId(), request);
+        }
+
+        // 2. 承認可能な申請を抽出
+        List<AdjustmentRequest> approvable = new ArrayList<>();
+        for (Long id : ids) {
+            AdjustmentRequest request = requestMap.get(id);
+            if (request == null) {
+                result.addFailure(id, "ADJUSTMENT_REQUEST_NOT_FOUND", "修正申請が見つかりません: " + id);
+            } else if (request.getStatus() != AdjustmentRequest.AdjustmentStatus.PENDING) {
+                result.addFailure(id, "INVALID_STATUS", "承認可能な状態ではありません");
+            } else {
+                approvable.add(request);
+            }
+        }
+        if (approvable.isEmpty()) {
+            return result;
+        }
+
+        // 3. 対象の勤怠記録を一括取得
+        Set<Long> employeeIds = new HashSet<>();
+        Set<LocalDate> targetDates = new HashSet<>();
+        for (AdjustmentRequest request : approvable) {
+            employeeIds.add(request.getEmployeeId());
+            targetDates.add(request.getTargetDate());
+        }
+        Map<String, AttendanceRecord> recordMap = new HashMap<>();
+        for (AttendanceRecord record : attendanceRecordRepository.findByEmployeeIdInAndAttendanceDateIn(employeeIds, targetDates)) {
+            recordMap.put(recordKey(record.getEmployeeId(), record.getAttendanceDate()), record);
+        }
+
+        // 4. 勤怠記録の更新と再計算、申請状態の更新
+        LocalDateTime now = LocalDateTime.now();
+        Set<AttendanceRecord> recordsToSave = new LinkedHashSet<>();
+        for (AdjustmentRequest request : approvable) {
+            AttendanceRecord attendanceRecord = recordMap.computeIfAbsent(
+                    recordKey(request.getEmployeeId(), request.getTargetDate()),
+                    key -> new AttendanceRecord(request.getEmployeeId(), request.getTargetDate()));
+            attendanceRecord.setClockInTime(request.getNewClockIn());
+            attendanceRecord.setClockOutTime(request.getNewClockOut());
+            timeCalculator.calculateAttendanceMetrics(attendanceRecord);
+            recordsToSave.add(attendanceRecord);
+
+            request.setStatus(AdjustmentRequest.AdjustmentStatus.APPROVED);
+            request.setApprovedByEmployeeId(approverEmployeeId);
+            request.setApprovedAt(now);
+            result.addSuccess(request.getAdjustmentRequestId(), request.getStatus().name());
+        }
+
+        // 5. まとめて保存（hibernate.jdbc.batch_sizeによりJDBCバッチで発行される）
+        attendanceRecordRepository.saveAll(recordsToSave);
+        adjustmentRequestRepository.saveAll(approvable);
+
+        return result;
+    }
+
+    /**
+     * 修正申請を一括却下
+     * @param adjustmentRequestIds 修正申請IDリスト
+     * @param approverEmployeeId 却下者の従業員ID
+     * @param comment 却下コメント（全申請共通）
+     * @return 申請ごとの処理結果
+     */
+    public BulkApprovalResult bulkRejectAdjustmentRequests(List<Long> adjustmentRequestIds, Long approverEmployeeId, String comment) {
+        if (comment == null || comment.trim().isEmpty()) {
+            throw new AttendanceException("REJECTION_COMMENT_REQUIRED", "却下コメントは必須です");
+        }
+        BulkApprovalResult result = new BulkApprovalResult();
+        Set<Long> ids = BulkRequestIds.validate(adjustmentRequestIds);
+
+        Map<Long, AdjustmentRequest> requestMap = new HashMap<>();
+        for (AdjustmentRequest request : adjustmentRequestRepository.findAllById(ids)) {
+            requestMap.put(request.getAdjustmentRequestId(), request);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AdjustmentRequest> rejected = new ArrayList<>();
+        for (Long id : ids) {
+            AdjustmentRequest request = requestMap.get(id);
+            if (request == null) {
+                result.addFailure(id, "ADJUSTMENT_REQUEST_NOT_FOUND", "修正申請が見つかりません: " + id);
+            } else if (request.getStatus() != AdjustmentRequest.AdjustmentStatus.PENDING) {
+                result.addFailure(id, "INVALID_STATUS", "却下可能な状態ではありません");
+            } else {
+                request.setStatus(AdjustmentRequest.AdjustmentStatus.REJECTED);
+                request.setRejectionComment(comment.trim());
+                request.setRejectedByEmployeeId(approverEmployeeId);
+                request.setRejectedAt(now);
+                rejected.add(request);
+                result.addSuccess(id, request.getStatus().name());
+            }
+        }
+
+        adjustmentRequestRepository.saveAll(rejected);
+        return result;
+    }
+
+    private String recordKey(Long employeeId, LocalDate date) {
+        return employeeId + ":" + date;
+    }
+
     /**
      * 従業員の修正申請一覧を取得
      * @param employeeId 従業員ID
@@ -1,14 +1,19 @@
 package com.kintai.service;
 
+import com.kintai.dto.BulkApprovalResult;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.Employee;
 import com.kintai.entity.SubmissionStatus;
 import com.kintai.entity.VacationRequest;
 import com.kintai.entity.VacationStatus;
+import com.kintai.event.VacationStatusChangedEvent;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.VacationRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 管理者機能サービス
@@ -26,6 +32,8 @@ import java.util.Map;
 @Service
 @Transactional
 public class AdminService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
     
     @Autowired
     private EmployeeRepository employeeRepository;
@@ -36,6 +44,9 @@ public class AdminService {
     @Autowired
     private VacationRequestRepository vacationRequestRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
      * 全社員一覧取得
      * @return 社員一覧
@@ -70,7 +81,7 @@ public class AdminService {
             
             return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("勤怠の承認に失敗しました: employeeId={}, yearMonth={}", employeeId, yearMonth, e);
             return false;
         }
     }
@@ -91,6 +102,7 @@ public class AdminService {
             }
             
             // ステータスを更新
+            VacationStatus previousStatus = vacationRequest.getStatus();
             if (approved) {
                 vacationRequest.setStatus(VacationStatus.APPROVED);
             } else {
@@ -98,14 +110,54 @@ public class AdminService {
             }
             
             vacationRequestRepository.save(vacationRequest);
+            eventPublisher.publishEvent(VacationStatusChangedEvent.of(vacationRequest, previousStatus));
             
             return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("有給申請の承認処理に失敗しました: vacationId={}, approved={}", vacationId, approved, e);
             return false;
         }
     }
     
+    /**
+     * 有給申請一括承認/却下処理
+     * 対象申請を1回のIN検索で先読みし、申請中のもののみ更新してまとめて保存する
+     * @param vacationIds 有給申請IDリスト
+     * @param approved 承認する場合true、却下する場合false
+     * @return 申請ごとの処理結果
+     */
+    public BulkApprovalResult bulkApproveVacations(List<Long> vacationIds, boolean approved) {
+        Set<Long> ids = BulkRequestIds.validate(vacationIds);
+        
+        Map<Long, VacationRequest> requestMap = new HashMap<>();
+        for (VacationRequest request : vacationRequestRepository.findAllById(ids)) {
+            requestMap.put(request.getVacationId(), request);
+        }
+        
+        BulkApprovalResult result = new BulkApprovalResult();
+        VacationStatus newStatus = approved ? VacationStatus.APPROVED : VacationStatus.REJECTED;
+        List<VacationRequest> updated = new ArrayList<>();
+        for (Long id : ids) {
+            VacationRequest request = requestMap.get(id);
+            if (request == null) {
+                result.addFailure(id, "VACATION_NOT_FOUND", "申請が見つかりません: " + id);
+            } else if (request.getStatus() != VacationStatus.PENDING) {
+                result.addFailure(id, "INVALID_STATUS_CHANGE", "既に処理済みの申請は変更できません");
+            } else {
+                request.setStatus(newStatus);
+                updated.add(request);
+                result.addSuccess(id, newStatus.name());
+            }
+        }
+        
+        // まとめて保存（hibernate.jdbc.batch_sizeによりJDBCバッチで発行される）
+        vacationRequestRepository.saveAll(updated);
+        for (VacationRequest request : updated) {
+            eventPublisher.publishEvent(VacationStatusChangedEvent.of(request, VacationStatus.PENDING));
+        }
+        return result;
+    }
+    
     /**
      * 未承認有給申請一覧取得
      * @return 未承認申請一覧
@@ -188,7 +240,7 @@ public class AdminService {
             return submissions;
             
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("月末申請一覧の取得に失敗しました: status={}", status, e);
             return new ArrayList<>();
         }
     }
@@ -236,7 +288,7 @@ public class AdminService {
             return true;
             
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("月末申請の承認処理に失敗しました: employeeId={}, yearMonth={}, approved={}", employeeId, yearMonth, approved, e);
             return false;
         }
     }
@@ -6,6 +6,10 @@ import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.Employee;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +18,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 勤怠レポートPDF生成サービス
@@ -27,6 +32,28 @@ public class AttendanceReportService {
     @Autowired
     private EmployeeRepository employeeRepository;
     
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+    
+    private Timer renderTimer;
+    private DistributionSummary sizeSummary;
+    
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        renderTimer = Timer.builder("kintai.pdf.render")
+                .tag("report", "attendance")
+                .description("HTMLからPDFへの変換時間")
+                .register(meterRegistry);
+        sizeSummary = DistributionSummary.builder("kintai.pdf.size")
+                .tag("report", "attendance")
+                .baseUnit("bytes")
+                .description("生成したPDFのサイズ")
+                .register(meterRegistry);
+    }
+    
     /**
      * 勤怠レポートPDFを生成
      * @param employeeId 従業員ID
@@ -53,8 +80,14 @@ public class AttendanceReportService {
         
         // PDFに変換
         try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            long start = System.nanoTime();
             HtmlConverter.convertToPdf(html, outputStream);
-            return outputStream.toByteArray();
+            byte[] pdf = outputStream.toByteArray();
+            if (renderTimer != null) {
+                renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                sizeSummary.record(pdf.length);
+            }
+            return pdf;
         } catch (Exception e) {
             throw new RuntimeException("PDF生成に失敗しました", e);
         }
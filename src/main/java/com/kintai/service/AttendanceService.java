@@ -2,6 +2,7 @@ package com.kintai.service;
 
 import com.kintai.dto.ClockInRequest;
 import com.kintai.dto.ClockOutRequest;
+import com.kintai.dto.AttendanceRecordResponse;
 import com.kintai.dto.ClockResponse;
 import com.kintai.dto.MonthlySubmitRequest;
 import com.kintai.entity.AttendanceRecord;
@@ -14,6 +15,8 @@ import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.VacationRequestRepository;
 import com.kintai.util.TimeCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +36,11 @@ import java.util.Optional;
 @Service
 @Transactional
 public class AttendanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceService.class);
+    
+    // 勤怠履歴（年月指定なし）の取得日数
+    private static final int RECENT_HISTORY_DAYS = 30;
     
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
@@ -46,6 +54,9 @@ public class AttendanceService {
     @Autowired
     private VacationRequestRepository vacationRequestRepository;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     /**
      * 出勤打刻処理
      * @param request 出勤打刻リクエスト
@@ -192,8 +203,8 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("退勤打刻に失敗しました: employeeId={}", request.getEmployeeId(), e);
+            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -273,21 +284,37 @@ public class AttendanceService {
             
             // 3. 勤怠履歴を取得（過去30日分）
             LocalDate endDate = LocalDate.now();
-            LocalDate startDate = endDate.minusDays(30);
+            LocalDate startDate = endDate.minusDays(RECENT_HISTORY_DAYS);
             
             List<AttendanceRecord> records = attendanceRecordRepository
                     .findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(employeeId, startDate, endDate);
             
-            return new ClockResponse(true, "勤怠履歴を取得しました", records);
+            return new ClockResponse(true, "勤怠履歴を取得しました", toResponses(records));
             
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "勤怠履歴の取得に失敗しました: " + e.getMessage());
+            logger.error("勤怠履歴の取得に失敗しました: employeeId={}", employeeId, e);
+            throw new AttendanceException("INTERNAL_ERROR", "勤怠履歴の取得に失敗しました: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * 勤怠履歴のバージョン（条件付きリクエストの判定用）
+     * 対象期間は getAttendanceHistory / getAttendanceHistoryForMonth の取得範囲と同じ
+     * @param employeeId 従業員ID
+     * @param year 年（monthと共に指定した場合はその月、指定なしは過去30日分）
+     * @param month 月
+     * @return バージョン（従業員が存在しない場合は空）
+     */
+    public Optional<ResourceVersionService.Version> getAttendanceHistoryVersion(Long employeeId, Integer year, Integer month) {
+        if (year != null && month != null) {
+            return resourceVersionService.attendanceMonthVersion(employeeId, YearMonth.of(year, month));
+        }
+        LocalDate endDate = LocalDate.now();
+        return resourceVersionService.attendanceVersion(employeeId, endDate.minusDays(RECENT_HISTORY_DAYS), endDate);
+    }
+    
     /**
      * 指定月の勤怠履歴取得
      * @param employeeId 従業員ID
@@ -314,13 +341,13 @@ public class AttendanceService {
             List<AttendanceRecord> records = attendanceRecordRepository
                     .findByEmployeeAndMonth(employeeId, year, month);
             
-            return new ClockResponse(true, "指定月の勤怠履歴を取得しました", records);
+            return new ClockResponse(true, "指定月の勤怠履歴を取得しました", toResponses(records));
             
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "月別勤怠履歴の取得に失敗しました: " + e.getMessage());
+            logger.error("月別勤怠履歴の取得に失敗しました: employeeId={}, {}年{}月", employeeId, year, month, e);
+            throw new AttendanceException("INTERNAL_ERROR", "月別勤怠履歴の取得に失敗しました: " + e.getMessage(), e);
         }
     }
     
@@ -417,8 +444,8 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("月末申請に失敗しました: employeeId={}, yearMonth={}", request.getEmployeeId(), request.getYearMonth(), e);
+            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -485,8 +512,8 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("月末申請の承認に失敗しました: employeeId={}, yearMonth={}", employeeId, yearMonth, e);
+            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -552,8 +579,8 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("月末申請の却下に失敗しました: employeeId={}, yearMonth={}", employeeId, yearMonth, e);
+            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -598,8 +625,8 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("月末申請状態の取得に失敗しました: employeeId={}, yearMonth={}", employeeId, yearMonth, e);
+            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -671,8 +698,8 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("月末申請の取消に失敗しました: employeeId={}, yearMonth={}", employeeId, yearMonth, e);
+            throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -726,4 +753,11 @@ public class AttendanceService {
             return response;
         }
     }
+    
+    /**
+     * 勤怠記録をレスポンスDTOに変換
+     */
+    private static List<AttendanceRecordResponse> toResponses(List<AttendanceRecord> records) {
+        return records.stream().map(AttendanceRecordResponse::from).toList();
+    }
 }
@@ -1,43 +1,120 @@
 package com.kintai.service;
 
 import com.kintai.entity.UserAccount;
+import com.kintai.exception.LoginBusyException;
 import com.kintai.repository.UserAccountRepository;
 import com.kintai.util.PasswordValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class AuthService {
     
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserAccountRepository userAccountRepository;
     
+    @Autowired
+    private UserAccountCache userAccountCache;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
     @Autowired
     private PasswordValidator passwordValidator;
     
+    @Autowired
+    @Qualifier("loginExecutor")
+    private Executor loginExecutor;
+    
+    @Value("${auth.login.timeout-ms:5000}")
+    private long loginTimeoutMs = 5000;
+    
     /**
      * ユーザー認証
+     * パスワード照合はログイン専用プールで非同期に実行し、ハッシュ強度が古い場合は照合成功時に再ハッシュする。
+     * 照合が時間内に終わらない場合は待ち行列の照合を取り消し、LoginBusyException で完了する
      * @param username ユーザー名
      * @param password パスワード
-     * @return 認証成功時はユーザーアカウント、失敗時は空
+     * @return 認証結果（認証成功時はユーザーアカウント、失敗時は空）
+     * @throws LoginBusyException 照合用プールが受け付けない場合
      */
-    public Optional<UserAccount> authenticate(String username, String password) {
-        Optional<UserAccount> userOpt = userAccountRepository.findByUsernameAndEnabled(username, true);
+    public CompletableFuture<Optional<UserAccount>> authenticate(String username, String password) {
+        Optional<UserAccount> userOpt = userAccountCache.findEnabledByUsername(username);
         
-        if (userOpt.isPresent()) {
-            UserAccount user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                return Optional.of(user);
-            }
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        UserAccount user = userOpt.get();
+        return verifyPassword(password, user)
+                .thenApply(verified -> verified ? Optional.of(user) : Optional.empty());
+    }
+    
+    /**
+     * パスワードを照合し、必要に応じて現在の設定で再ハッシュする
+     */
+    private CompletableFuture<Boolean> verifyPassword(String password, UserAccount user) {
+        String encodedPassword = user.getPassword();
+        CompletableFuture<String> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                if (!passwordEncoder.matches(password, encodedPassword)) {
+                    return null;
+                }
+                // 照合に成功した場合のみ再ハッシュ（平文パスワードはこの時点でしか得られない）
+                return passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(password) : encodedPassword;
+            }, loginExecutor);
+        } catch (TaskRejectedException e) {
+            throw new LoginBusyException("ログインが混雑しています。しばらくしてから再度お試しください", e);
         }
         
-        return Optional.empty();
+        // タイムアウトは複製に設定し、タイムアウト時は元の照合を取り消す（未実行なら実行されない）
+        return future.copy().orTimeout(loginTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof TimeoutException) {
+                            future.cancel(false);
+                            throw new LoginBusyException("ログインが混雑しています。しばらくしてから再度お試しください", cause);
+                        }
+                        throw new IllegalStateException("パスワード照合に失敗しました", cause);
+                    }
+                    if (result == null) {
+                        return false;
+                    }
+                    if (!result.equals(encodedPassword)) {
+                        updatePasswordHash(user.getId(), result);
+                    }
+                    return true;
+                });
+    }
+    
+    /**
+     * パスワードハッシュを更新し、キャッシュのエントリを破棄する
+     * （キャッシュから取得したアカウントは永続化コンテキスト外の複製のため、DBから読み直して更新する）
+     */
+    private void updatePasswordHash(Long accountId, String encodedPassword) {
+        userAccountRepository.findById(accountId).ifPresent(account -> {
+            account.setPassword(encodedPassword);
+            userAccountRepository.save(account);
+            logger.info("パスワードハッシュを更新しました: userId={}", accountId);
+        });
+        userAccountCache.evictById(accountId);
     }
     
     /**
@@ -46,7 +123,7 @@ public class AuthService {
      * @return ユーザーアカウント（存在しない場合は空）
      */
     public Optional<UserAccount> findByUsername(String username) {
-        return userAccountRepository.findByUsernameAndEnabled(username, true);
+        return userAccountCache.findEnabledByUsername(username);
     }
     
     /**
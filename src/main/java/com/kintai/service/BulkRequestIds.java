@@ -0,0 +1,42 @@
+package com.kintai.service;
+
+import com.kintai.exception.AttendanceException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 一括承認/却下の対象ID（修正申請・有給申請で共通）
+ */
+final class BulkRequestIds {
+
+    // 一括承認/却下の1リクエストあたりの上限件数
+    static final int MAX_SIZE = 1000;
+
+    private BulkRequestIds() {
+    }
+
+    /**
+     * 一括処理対象IDの検証（重複・nullは除去し、指定順を維持する）
+     * @param ids 申請IDリスト
+     * @return 処理対象の申請ID
+     * @throws AttendanceException 未指定・上限超過の場合（INVALID_REQUEST）
+     */
+    static Set<Long> validate(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new AttendanceException(AttendanceException.INVALID_REQUEST, "申請IDが指定されていません");
+        }
+        if (ids.size() > MAX_SIZE) {
+            throw new AttendanceException(AttendanceException.INVALID_REQUEST,
+                    String.format("一括処理は%d件までです", MAX_SIZE));
+        }
+        Set<Long> result = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+}
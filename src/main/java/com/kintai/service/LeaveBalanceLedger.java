@@ -0,0 +1,176 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.event.VacationStatusChangedEvent;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.VacationRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 有給残日数台帳
+ * 従業員×付与年度ごとの付与日数・承認済み消化日数をメモリ上に保持する（表示用の残日数参照で集計クエリを省く）。
+ * 有給申請の承認/取消イベントで該当の台帳を破棄し、次回参照時に再集計する。
+ * 台帳はノードごとに保持するため、他ノードでの承認は有効期間（vacation.leave-balance.ttl-seconds）が過ぎるまで
+ * 反映されない。申請可否の判定には台帳を使わず {@link #calculateRemainingDays(Long)} で集計した値を使うこと。
+ */
+@Component
+public class LeaveBalanceLedger {
+
+    // 年間付与日数（簡易実装。必要なら従業員ごとに管理に変更）
+    public static final int DEFAULT_ANNUAL_PAID_LEAVE_DAYS = 10;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private VacationRequestRepository vacationRequestRepository;
+
+    @Value("${vacation.leave-balance.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    private final Map<LedgerKey, LedgerEntry> entries = new ConcurrentHashMap<>();
+
+    // 破棄のたびに進める世代番号（集計中に破棄された場合、集計結果を台帳に載せない）
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 当年度の残有給日数を取得（台帳から返す。表示用）
+     * @param employeeId 従業員ID
+     * @return 残日数（従業員が存在しない、または付与前の場合は0）
+     */
+    public int getRemainingDays(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        return remainingDays(getEntry(employeeId, today.getYear()), today);
+    }
+
+    /**
+     * 当年度の残有給日数を台帳を使わずに集計して取得（申請可否の判定用）
+     * @param employeeId 従業員ID
+     * @return 残日数（従業員が存在しない、または付与前の場合は0）
+     */
+    public int calculateRemainingDays(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        return remainingDays(load(employeeId, today.getYear()), today);
+    }
+
+    /**
+     * 従業員×年度の台帳を取得（未作成・有効期間切れの場合は集計して作成する）
+     * @param employeeId 従業員ID
+     * @param grantYear 付与年度
+     * @return 台帳（従業員が存在しない場合は空）
+     */
+    Optional<LedgerEntry> getEntry(Long employeeId, int grantYear) {
+        LedgerKey key = new LedgerKey(employeeId, grantYear);
+        LedgerEntry cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.nanoTime(), ttlSeconds)) {
+                return Optional.of(cached);
+            }
+            entries.remove(key, cached);
+        }
+
+        // 集計はマップの外で行う（集計中に同じバケットのキーの参照・破棄を待たせないため）。
+        // 集計中に破棄（世代番号の更新）があった場合、集計結果はコミット前のデータの可能性があるため
+        // 台帳には載せず今回の応答にのみ使う。載せた後に破棄された場合も取り除く
+        long generationBefore = generation.get();
+        Optional<LedgerEntry> loaded = load(employeeId, grantYear);
+        if (loaded.isPresent() && generation.get() == generationBefore) {
+            LedgerEntry entry = loaded.get();
+            LedgerEntry existing = entries.putIfAbsent(key, entry);
+            if (existing != null) {
+                return Optional.of(existing);
+            }
+            if (generation.get() != generationBefore) {
+                entries.remove(key, entry);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 有給申請のステータス変更を台帳に反映する（コミット後に実行）
+     * 該当の台帳を破棄し、次回参照時に再集計する
+     * @param event ステータス変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVacationStatusChanged(VacationStatusChangedEvent event) {
+        if (!event.affectsApprovedDays() || event.startDate() == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.remove(new LedgerKey(event.employeeId(), event.startDate().getYear()));
+    }
+
+    /**
+     * 従業員の台帳を破棄する（入社日変更など付与条件が変わった場合）
+     * @param employeeId 従業員ID
+     */
+    public void evict(Long employeeId) {
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.employeeId().equals(employeeId));
+    }
+
+    /**
+     * 全台帳を破棄する
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private int remainingDays(Optional<LedgerEntry> entry, LocalDate today) {
+        if (entry.isEmpty() || today.isBefore(entry.get().grantDate())) {
+            return 0;
+        }
+        return entry.get().remainingDays();
+    }
+
+    private Optional<LedgerEntry> load(Long employeeId, int grantYear) {
+        Employee employee = employeeRepository.findByEmployeeId(employeeId).orElse(null);
+        if (employee == null) {
+            return Optional.empty();
+        }
+        // 付与基準日：当年の1/1 または 入社日の遅い方
+        LocalDate startOfYear = LocalDate.of(grantYear, 1, 1);
+        LocalDate endOfYear = LocalDate.of(grantYear, 12, 31);
+        LocalDate grantDate = employee.getHireDate() != null && employee.getHireDate().isAfter(startOfYear)
+                ? employee.getHireDate() : startOfYear;
+
+        Integer usedDays = vacationRequestRepository.sumApprovedDaysInPeriod(employeeId, grantDate, endOfYear);
+        return Optional.of(new LedgerEntry(grantDate, endOfYear, DEFAULT_ANNUAL_PAID_LEAVE_DAYS,
+                usedDays != null ? usedDays : 0, System.nanoTime()));
+    }
+
+    /**
+     * 台帳キー（従業員ID×付与年度）
+     */
+    record LedgerKey(Long employeeId, int grantYear) {
+    }
+
+    /**
+     * 台帳エントリ（不変）
+     */
+    record LedgerEntry(LocalDate grantDate, LocalDate endOfYear, int grantedDays, int usedDays, long loadedAt) {
+
+        int remainingDays() {
+            return Math.max(0, grantedDays - usedDays);
+        }
+
+        /**
+         * 有効期間（0以下の場合は無期限）を過ぎたか
+         */
+        boolean isExpired(long now, long ttlSeconds) {
+            return ttlSeconds > 0 && now - loadedAt >= ttlSeconds * 1_000_000_000L;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.kintai.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ログイン失敗のレート制限（スライディングウィンドウ方式）
+ * ユーザー名とIPアドレスごとに直近ウィンドウ内の失敗回数を数え、上限を超えた試行はパスワード照合前に拒否する。
+ * 判定と同時に1件分を確保し（同時に届いた試行が上限を超えて通らないようにするため）、
+ * 成功・照合前に中断した場合はその分を戻すため、数えるのは実質的に失敗のみとなる。
+ * 回数は「前ウィンドウの件数×残り割合＋現ウィンドウの件数」で近似するため、キーごとの保持は数値数個のみ。
+ * キーごとのウィンドウは ConcurrentHashMap に保持し、判定はキーごとに同期する（全体のロックは取らない）。
+ * キー数が上限に達した場合は一定時間試行のないキーのみ破棄し、それでも上限の場合、新しいキーは
+ * 共有の1つのウィンドウで数える（大量のユーザー名・IPで試行されても追跡中のキーの回数は消えず、
+ * 新しいキーからの試行は合算して制限される）。
+ */
+@Component
+public class LoginRateLimiter {
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${auth.rate-limit.window-seconds:60}")
+    private long windowSeconds = 60;
+
+    @Value("${auth.rate-limit.username-limit:10}")
+    private int usernameLimit = 10;
+
+    @Value("${auth.rate-limit.ip-limit:30}")
+    private int ipLimit = 30;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private int maxKeys = 100000;
+
+    private final WindowTable usernameWindows = new WindowTable();
+    private final WindowTable ipWindows = new WindowTable();
+
+    private Clock clock = Clock.systemUTC();
+
+    private Counter blockedByUsername;
+    private Counter blockedByIp;
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        blockedByUsername = Counter.builder("kintai.login.rate.limited")
+                .tag("key", "username")
+                .description("レート制限で拒否したログイン試行数")
+                .register(meterRegistry);
+        blockedByIp = Counter.builder("kintai.login.rate.limited")
+                .tag("key", "ip")
+                .description("レート制限で拒否したログイン試行数")
+                .register(meterRegistry);
+        Gauge.builder("kintai.login.rate.keys", this, LoginRateLimiter::trackedKeyCount)
+                .description("レート制限で追跡中のキー数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ログイン試行を許可するか判定し、許可する場合は失敗1件分を確保する
+     * 判定と確保はキーごとに不可分に行う。結果に応じて onLoginSuccess / release を呼ぶこと（失敗時は呼ばない）
+     * @param username ユーザー名
+     * @param clientIp 接続元IPアドレス
+     * @return 許可する場合は0、拒否する場合は再試行まで待つべき秒数
+     */
+    public long tryAcquire(String username, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = clock.millis();
+        long windowMillis = windowSeconds * 1000;
+
+        String ip = normalizeIp(clientIp);
+        long retryAfter = ipWindows.tryAcquire(ip, now, windowMillis, ipLimit);
+        if (retryAfter > 0) {
+            increment(blockedByIp);
+            return retryAfter;
+        }
+        retryAfter = usernameWindows.tryAcquire(normalize(username), now, windowMillis, usernameLimit);
+        if (retryAfter > 0) {
+            ipWindows.release(ip, now, windowMillis);
+            increment(blockedByUsername);
+            return retryAfter;
+        }
+        return 0;
+    }
+
+    /**
+     * ログイン成功時に確保した分を戻し、ユーザー名の失敗回数をリセットする
+     * @param username ユーザー名
+     * @param clientIp 接続元IPアドレス
+     */
+    public void onLoginSuccess(String username, String clientIp) {
+        long now = clock.millis();
+        long windowMillis = windowSeconds * 1000;
+        ipWindows.release(normalizeIp(clientIp), now, windowMillis);
+        usernameWindows.reset(normalize(username), now, windowMillis);
+    }
+
+    /**
+     * 照合結果が得られなかった試行（混雑・エラー）で確保した分を戻す
+     * @param username ユーザー名
+     * @param clientIp 接続元IPアドレス
+     */
+    public void release(String username, String clientIp) {
+        long now = clock.millis();
+        long windowMillis = windowSeconds * 1000;
+        ipWindows.release(normalizeIp(clientIp), now, windowMillis);
+        usernameWindows.release(normalize(username), now, windowMillis);
+    }
+
+    /**
+     * 追跡中のキー数
+     * @return ユーザー名とIPアドレスのキー数の合計（キー数上限時の共有分は含まない）
+     */
+    public int trackedKeyCount() {
+        return usernameWindows.size() + ipWindows.size();
+    }
+
+    /**
+     * テスト用に時計を差し替える
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase();
+    }
+
+    private static String normalizeIp(String clientIp) {
+        return clientIp == null ? "" : clientIp;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * キー → スライディングウィンドウの表（キー数上限時は共有のウィンドウを使う）
+     */
+    private final class WindowTable {
+
+        // 試行のないキーの破棄を試みる最短間隔（キー数上限時に毎回全件を走査しないため）
+        private static final long SWEEP_INTERVAL_MILLIS = 1000;
+
+        private final ConcurrentHashMap<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+        private final SlidingWindow shared = new SlidingWindow(0);
+        private final AtomicLong lastSweep = new AtomicLong(Long.MIN_VALUE / 2);
+
+        long tryAcquire(String key, long now, long windowMillis, int limit) {
+            while (true) {
+                long retryAfter = window(key, now, windowMillis).tryAcquire(now, windowMillis, limit);
+                // 破棄済みのウィンドウを取得した場合は取り直す
+                if (retryAfter >= 0) {
+                    return retryAfter;
+                }
+            }
+        }
+
+        void release(String key, long now, long windowMillis) {
+            // 追跡中でないキーは共有のウィンドウで確保している
+            SlidingWindow window = windows.get(key);
+            (window != null ? window : shared).release(now, windowMillis);
+        }
+
+        void reset(String key, long now, long windowMillis) {
+            if (windows.remove(key) == null) {
+                shared.release(now, windowMillis);
+            }
+        }
+
+        int size() {
+            return windows.size();
+        }
+
+        private SlidingWindow window(String key, long now, long windowMillis) {
+            SlidingWindow window = windows.get(key);
+            if (window != null) {
+                return window;
+            }
+            if (windows.size() >= maxKeys) {
+                evictIdle(now, windowMillis);
+                if (windows.size() >= maxKeys) {
+                    return shared;
+                }
+            }
+            return windows.computeIfAbsent(key, k -> new SlidingWindow(now));
+        }
+
+        /**
+         * 2ウィンドウ以上試行のないキーを破棄（その時点で回数は0とみなせるため）
+         */
+        private void evictIdle(long now, long windowMillis) {
+            long last = lastSweep.get();
+            if (now - last < SWEEP_INTERVAL_MILLIS || !lastSweep.compareAndSet(last, now)) {
+                return;
+            }
+            windows.forEach((key, window) -> {
+                if (window.retireIfIdle(now, windowMillis)) {
+                    windows.remove(key, window);
+                }
+            });
+        }
+    }
+
+    /**
+     * キーごとのスライディングウィンドウ（前ウィンドウと現ウィンドウの件数のみ保持）
+     */
+    static final class SlidingWindow {
+
+        private long windowStart;
+        private int previousCount;
+        private int currentCount;
+        private long lastAccess;
+        // 表から破棄済み（以降の確保は取り直す）
+        private boolean retired;
+
+        SlidingWindow(long now) {
+            this.windowStart = now;
+            this.lastAccess = now;
+        }
+
+        /**
+         * 上限以内なら1件確保して0を、超える場合は確保せず再試行までの秒数を返す（破棄済みの場合は-1）
+         */
+        synchronized long tryAcquire(long now, long windowMillis, int limit) {
+            if (retired) {
+                return -1;
+            }
+            advance(now, windowMillis);
+            lastAccess = now;
+            if (estimate(now, windowMillis) + 1 > limit) {
+                // 現ウィンドウの終了までに前ウィンドウ分の重みがなくなるため、それを再試行の目安とする
+                long remainingMillis = windowStart + windowMillis - now;
+                return Math.max(1, (remainingMillis + 999) / 1000);
+            }
+            currentCount++;
+            return 0;
+        }
+
+        /**
+         * 確保した1件を戻す（確保後にウィンドウが進んだ場合は前ウィンドウから戻す）
+         */
+        synchronized void release(long now, long windowMillis) {
+            advance(now, windowMillis);
+            if (currentCount > 0) {
+                currentCount--;
+            } else if (previousCount > 0) {
+                previousCount--;
+            }
+        }
+
+        /**
+         * 2ウィンドウ以上試行がない場合は破棄済みにする
+         */
+        synchronized boolean retireIfIdle(long now, long windowMillis) {
+            if (now - lastAccess >= windowMillis * 2) {
+                retired = true;
+            }
+            return retired;
+        }
+
+        private void advance(long now, long windowMillis) {
+            long elapsed = now - windowStart;
+            if (elapsed < windowMillis) {
+                return;
+            }
+            if (elapsed < windowMillis * 2) {
+                previousCount = currentCount;
+                windowStart += windowMillis;
+            } else {
+                previousCount = 0;
+                windowStart = now - (elapsed % windowMillis);
+            }
+            currentCount = 0;
+        }
+
+        private double estimate(long now, long windowMillis) {
+            double previousWeight = 1.0 - (double) (now - windowStart) / windowMillis;
+            return previousCount * previousWeight + currentCount;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kintai.service;
+
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.util.XlsxStreamWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 給与計算用 勤怠エクスポートサービス
+ * 対象月の全従業員の勤怠記録を前方向専用カーソルで1行ずつ読み出し、そのまま出力先へ書き出す。
+ * 行をリストに保持しないため、メモリ使用量は件数によらず一定。
+ */
+@Service
+public class PayrollExportService {
+
+    // MySQL以外のドライバで1回に取得する行数
+    private static final int FETCH_SIZE = 500;
+
+    private static final String[] HEADER = {
+            "社員コード", "氏名", "日付", "出勤時刻", "退勤時刻",
+            "遅刻(分)", "早退(分)", "残業(分)", "深夜(分)", "勤怠ステータス", "確定"
+    };
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String EXPORT_SQL =
+            "SELECT e.employee_code, e.last_name, e.first_name, a.attendance_date, a.clock_in_time, a.clock_out_time, "
+            + "a.late_minutes, a.early_leave_minutes, a.overtime_minutes, a.night_shift_minutes, "
+            + "a.attendance_status, a.attendance_fixed_flag "
+            + "FROM attendance_records a JOIN employees e ON e.employee_id = a.employee_id "
+            + "WHERE a.attendance_date BETWEEN ? AND ? "
+            + "ORDER BY a.employee_id, a.attendance_date";
+
+    /**
+     * 出力形式
+     */
+    public enum Format {
+        CSV,
+        XLSX
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 対象月の勤怠記録を出力する
+     * @param yearMonth 対象年月
+     * @param format 出力形式
+     * @param out 出力先（呼び出し側で閉じる）
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void export(YearMonth yearMonth, Format format, OutputStream out) throws IOException {
+        if (format == Format.XLSX) {
+            XlsxStreamWriter xlsx = new XlsxStreamWriter(out, yearMonth.toString());
+            xlsx.writeRow((Object[]) HEADER);
+            streamRows(yearMonth, values -> xlsx.writeRow(values));
+            xlsx.finish();
+        } else {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // Excelで文字化けしないようBOMを付与
+            writer.write('\uFEFF');
+            writeCsvLine(writer, HEADER);
+            streamRows(yearMonth, values -> writeCsvLine(writer, values));
+            writer.flush();
+        }
+    }
+
+    /**
+     * 前方向専用・読み取り専用カーソルで1行ずつ読み出す
+     */
+    private void streamRows(YearMonth yearMonth, RowSink sink) throws IOException {
+        try {
+            jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(EXPORT_SQL,
+                                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        // MySQL Connector/JはInteger.MIN_VALUEを指定した場合のみ行単位でストリーミングする
+                        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+                        ps.setFetchSize(mysql ? Integer.MIN_VALUE : FETCH_SIZE);
+                        ps.setDate(1, Date.valueOf(yearMonth.atDay(1)));
+                        ps.setDate(2, Date.valueOf(yearMonth.atEndOfMonth()));
+                        return ps;
+                    },
+                    rs -> {
+                        try {
+                            sink.accept(toValues(rs));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Object[] toValues(ResultSet rs) throws SQLException {
+        Timestamp clockIn = rs.getTimestamp("clock_in_time");
+        Timestamp clockOut = rs.getTimestamp("clock_out_time");
+        String status = rs.getString("attendance_status");
+        return new Object[]{
+                rs.getString("employee_code"),
+                rs.getString("last_name") + " " + rs.getString("first_name"),
+                rs.getDate("attendance_date").toLocalDate().toString(),
+                clockIn != null ? clockIn.toLocalDateTime().format(TIME_FORMAT) : null,
+                clockOut != null ? clockOut.toLocalDateTime().format(TIME_FORMAT) : null,
+                rs.getInt("late_minutes"),
+                rs.getInt("early_leave_minutes"),
+                rs.getInt("overtime_minutes"),
+                rs.getInt("night_shift_minutes"),
+                toDisplayName(status),
+                rs.getBoolean("attendance_fixed_flag") ? "確定" : "未確定"
+        };
+    }
+
+    private String toDisplayName(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return AttendanceStatus.valueOf(status).getDisplayName();
+        } catch (IllegalArgumentException e) {
+            return status;
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (value instanceof String && isFormulaLike(text)) {
+                // 表計算ソフトで数式として評価されないよう先頭に'を付けて文字列として出力する
+                writer.write('"');
+                writer.write('\'');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 数式として解釈されうる値か（=, +, -, @ またはタブ・改行で始まる）
+     */
+    private static boolean isFormulaLike(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    /**
+     * 1行分の出力先
+     */
+    @FunctionalInterface
+    private interface RowSink {
+        void accept(Object[] values) throws IOException;
+    }
+}
@@ -0,0 +1,575 @@
+package com.kintai.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.dto.PunchImportResult;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.SubmissionStatus;
+import com.kintai.util.TimeCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 打刻データ一括取込サービス
+ * 入退館ゲート等の打刻ファイル（CSV/JSON）を逐次読み込み、従業員×日付ごとに出勤・退勤時刻へ集約して
+ * 勤怠記録へ登録する。集約結果は一定件数ごとにJDBCバッチで登録/更新するため、
+ * ファイルサイズによらずメモリ使用量は一定に保たれる。
+ */
+@Service
+public class PunchImportService {
+
+    // 1回の登録/更新でまとめる従業員×日付の件数
+    static final int CHUNK_SIZE = 1000;
+
+    // CSVの1レコードの最大文字数（超えた分は保持せず、その行をエラーとする）
+    static final int MAX_RECORD_LENGTH = 4096;
+
+    // 打刻時刻の書式（yyyy-MM-dd HH:mm[:ss]、yyyy/MM/dd HH:mm[:ss]、ISO形式）
+    private static final DateTimeFormatter PUNCH_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("[yyyy-MM-dd][yyyy/MM/dd][' ']['T']HH:mm[:ss]");
+
+    /**
+     * 取込ファイル形式
+     */
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    /**
+     * 打刻種別
+     */
+    enum PunchType {
+        IN,
+        OUT
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TimeCalculator timeCalculator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 打刻データを取り込む
+     * @param in 入力ストリーム
+     * @param format ファイル形式
+     * @return 取込結果（エラー明細を含む）
+     * @throws IOException 読み込みに失敗した場合、またはファイル形式が不正な場合
+     */
+    public PunchImportResult importPunches(InputStream in, Format format) throws IOException {
+        ImportContext context = new ImportContext(loadEmployees());
+        if (format == Format.JSON) {
+            parseJson(in, context);
+        } else {
+            parseCsv(in, context);
+        }
+        flush(context);
+        return context.result;
+    }
+
+    /**
+     * CSVを1レコードずつ読み込む（社員コード,打刻時刻,打刻種別。RFC 4180形式）
+     */
+    private void parseCsv(InputStream in, ImportContext context) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> columns;
+        while ((columns = reader.next()) != null) {
+            long row = reader.recordLine();
+            if (reader.tooLong()) {
+                context.result.incrementTotalRows();
+                context.result.addError(row, null, "レコードが長すぎます（上限" + MAX_RECORD_LENGTH + "文字）");
+                continue;
+            }
+            if (row == 1 && columns.get(0).startsWith("\uFEFF")) {
+                columns.set(0, columns.get(0).substring(1));
+            }
+            if (columns.size() == 1 && columns.get(0).isBlank()) {
+                continue;
+            }
+            if (row == 1 && isHeader(columns.get(0))) {
+                continue;
+            }
+            if (columns.size() < 3) {
+                context.result.incrementTotalRows();
+                context.result.addError(row, columns.get(0), "列数が不足しています");
+                continue;
+            }
+            accept(context, row, columns.get(0), columns.get(1), columns.get(2));
+        }
+    }
+
+    /**
+     * JSONを逐次読み込む（配列または連続したオブジェクト。employeeCode, punchTime, punchType）
+     */
+    private void parseJson(InputStream in, ImportContext context) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            long row = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    continue;
+                }
+                row++;
+                String employeeCode = null;
+                String punchTime = null;
+                String punchType = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    switch (field) {
+                        case "employeeCode" -> employeeCode = parser.getValueAsString();
+                        case "punchTime" -> punchTime = parser.getValueAsString();
+                        case "punchType", "type" -> punchType = parser.getValueAsString();
+                        default -> {
+                            // 未使用の項目は読み飛ばす
+                        }
+                    }
+                }
+                accept(context, row, employeeCode, punchTime, punchType);
+            }
+        }
+    }
+
+    /**
+     * 1件の打刻を検証して集約バッファへ追加する
+     */
+    private void accept(ImportContext context, long row, String employeeCode, String punchTime, String punchType) {
+        PunchImportResult result = context.result;
+        result.incrementTotalRows();
+
+        EmployeeRef employee = employeeCode != null ? context.employees.get(employeeCode.trim()) : null;
+        if (employee == null) {
+            result.addError(row, employeeCode, "社員コードが見つかりません");
+            return;
+        }
+        if (!employee.active()) {
+            result.addError(row, employeeCode, "無効な従業員です");
+            return;
+        }
+
+        LocalDateTime time = null;
+        try {
+            if (punchTime != null) {
+                time = LocalDateTime.parse(punchTime.trim(), PUNCH_TIME_FORMAT);
+            }
+        } catch (DateTimeParseException e) {
+            // 下でエラーとして記録
+        }
+        if (time == null) {
+            result.addError(row, employeeCode, "打刻時刻の形式が不正です: " + punchTime);
+            return;
+        }
+
+        PunchType type = parsePunchType(punchType);
+        if (type == null) {
+            result.addError(row, employeeCode, "打刻種別が不正です: " + punchType);
+            return;
+        }
+
+        // 05:00より前の退勤は前日の勤務として扱う（深夜勤務の退勤）
+        LocalDate attendanceDate = time.toLocalDate();
+        if (type == PunchType.OUT && time.toLocalTime().isBefore(TimeCalculator.NIGHT_END_TIME)) {
+            attendanceDate = attendanceDate.minusDays(1);
+        }
+        if (employee.retirementDate() != null && attendanceDate.isAfter(employee.retirementDate())) {
+            result.addError(row, employeeCode, "退職日以降の打刻です");
+            return;
+        }
+
+        RecordKey key = new RecordKey(employee.employeeId(), attendanceDate);
+        context.buffer.computeIfAbsent(key, k -> new PunchDay(row, employeeCode)).merge(type, time);
+        result.incrementImportedPunches();
+
+        if (context.buffer.size() >= CHUNK_SIZE) {
+            flush(context);
+        }
+    }
+
+    /**
+     * 集約バッファを勤怠記録へ登録/更新する（チャンクごとに1トランザクション）
+     */
+    private void flush(ImportContext context) {
+        if (context.buffer.isEmpty()) {
+            return;
+        }
+        Map<RecordKey, PunchDay> chunk = context.buffer;
+        context.buffer = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(chunk, context.result));
+        } catch (DataAccessException e) {
+            for (PunchDay day : chunk.values()) {
+                context.result.addError(day.firstRow, day.employeeCode, "勤怠記録の登録に失敗しました");
+            }
+        }
+    }
+
+    private void upsert(Map<RecordKey, PunchDay> chunk, PunchImportResult result) {
+        Map<RecordKey, ExistingRecord> existing = findExisting(chunk.keySet());
+        LocalDateTime now = timeCalculator.getCurrentTokyoTime();
+
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map.Entry<RecordKey, PunchDay> entry : chunk.entrySet()) {
+            RecordKey key = entry.getKey();
+            PunchDay day = entry.getValue();
+            ExistingRecord current = existing.get(key);
+            if (current != null && current.fixed()) {
+                result.addError(day.firstRow, day.employeeCode, "勤怠確定済みのため取り込めません: " + key.attendanceDate());
+                continue;
+            }
+
+            // 既存の打刻とマージ（出勤は最も早い時刻、退勤は最も遅い時刻）
+            AttendanceRecord record = new AttendanceRecord();
+            record.setClockInTime(earlier(current != null ? current.clockInTime() : null, day.clockIn));
+            record.setClockOutTime(later(current != null ? current.clockOutTime() : null, day.clockOut));
+            if (record.getClockInTime() != null && record.getClockOutTime() != null
+                    && !record.getClockOutTime().isAfter(record.getClockInTime())) {
+                result.addError(day.firstRow, day.employeeCode, "退勤時刻が出勤時刻以前です: " + key.attendanceDate());
+                continue;
+            }
+            calculateMetrics(record);
+
+            if (current != null) {
+                updates.add(new Object[]{
+                        toTimestamp(record.getClockInTime()), toTimestamp(record.getClockOutTime()),
+                        record.getLateMinutes(), record.getEarlyLeaveMinutes(),
+                        record.getOvertimeMinutes(), record.getNightShiftMinutes(),
+                        record.getAttendanceStatus().name(), Timestamp.valueOf(now),
+                        current.attendanceId()});
+            } else {
+                inserts.add(new Object[]{
+                        key.employeeId(), Date.valueOf(key.attendanceDate()),
+                        toTimestamp(record.getClockInTime()), toTimestamp(record.getClockOutTime()),
+                        record.getLateMinutes(), record.getEarlyLeaveMinutes(),
+                        record.getOvertimeMinutes(), record.getNightShiftMinutes(),
+                        record.getAttendanceStatus().name(), SubmissionStatus.NOT_SUBMITTED.name(),
+                        Timestamp.valueOf(now), Timestamp.valueOf(now)});
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE attendance_records SET clock_in_time = ?, clock_out_time = ?, late_minutes = ?, "
+                            + "early_leave_minutes = ?, overtime_minutes = ?, night_shift_minutes = ?, "
+                            + "attendance_status = ?, updated_at = ? WHERE attendance_id = ?",
+                    updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO attendance_records (employee_id, attendance_date, clock_in_time, clock_out_time, "
+                            + "late_minutes, early_leave_minutes, overtime_minutes, night_shift_minutes, "
+                            + "attendance_status, attendance_fixed_flag, submission_status, created_at, updated_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?, ?)",
+                    inserts);
+        }
+        result.addUpdatedRecords(updates.size());
+        result.addInsertedRecords(inserts.size());
+    }
+
+    /**
+     * チャンク内の従業員×日付に該当する既存の勤怠記録を1回のクエリで取得
+     */
+    private Map<RecordKey, ExistingRecord> findExisting(Set<RecordKey> keys) {
+        Set<Long> employeeIds = new HashSet<>();
+        Set<Date> dates = new HashSet<>();
+        for (RecordKey key : keys) {
+            employeeIds.add(key.employeeId());
+            dates.add(Date.valueOf(key.attendanceDate()));
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("employeeIds", employeeIds)
+                .addValue("dates", dates);
+
+        Map<RecordKey, ExistingRecord> existing = new HashMap<>();
+        namedParameterJdbcTemplate.query(
+                "SELECT attendance_id, employee_id, attendance_date, clock_in_time, clock_out_time, attendance_fixed_flag "
+                        + "FROM attendance_records WHERE employee_id IN (:employeeIds) AND attendance_date IN (:dates) "
+                        + "ORDER BY attendance_id",
+                params,
+                rs -> {
+                    RecordKey key = new RecordKey(rs.getLong("employee_id"), rs.getDate("attendance_date").toLocalDate());
+                    // 従業員IDと日付の組み合わせのみで検索しているため、対象外の組み合わせは除外
+                    if (keys.contains(key)) {
+                        Timestamp clockIn = rs.getTimestamp("clock_in_time");
+                        Timestamp clockOut = rs.getTimestamp("clock_out_time");
+                        existing.putIfAbsent(key, new ExistingRecord(
+                                rs.getLong("attendance_id"),
+                                clockIn != null ? clockIn.toLocalDateTime() : null,
+                                clockOut != null ? clockOut.toLocalDateTime() : null,
+                                rs.getBoolean("attendance_fixed_flag")));
+                    }
+                });
+        return existing;
+    }
+
+    /**
+     * 社員コード → 従業員情報を事前読み込み
+     */
+    private Map<String, EmployeeRef> loadEmployees() {
+        Map<String, EmployeeRef> employees = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT employee_id, employee_code, is_active, retirement_date FROM employees",
+                rs -> {
+                    Date retirementDate = rs.getDate("retirement_date");
+                    employees.put(rs.getString("employee_code"), new EmployeeRef(
+                            rs.getLong("employee_id"),
+                            rs.getBoolean("is_active"),
+                            retirementDate != null ? retirementDate.toLocalDate() : null));
+                });
+        return employees;
+    }
+
+    /**
+     * 勤怠時間・ステータスを計算
+     */
+    private void calculateMetrics(AttendanceRecord record) {
+        if (record.getClockInTime() != null && record.getClockOutTime() != null) {
+            timeCalculator.calculateAttendanceMetrics(record);
+        } else if (record.getClockInTime() != null) {
+            record.setLateMinutes(timeCalculator.calculateLateMinutes(record.getClockInTime()));
+        }
+
+        // AttendanceService#updateAttendanceStatus と同じ優先順位で判定
+        boolean isLate = record.getLateMinutes() > 0;
+        boolean isEarlyLeave = record.getEarlyLeaveMinutes() > 0;
+        if (isLate && isEarlyLeave) {
+            record.setAttendanceStatus(AttendanceStatus.LATE_AND_EARLY_LEAVE);
+        } else if (isLate) {
+            record.setAttendanceStatus(AttendanceStatus.LATE);
+        } else if (isEarlyLeave) {
+            record.setAttendanceStatus(AttendanceStatus.EARLY_LEAVE);
+        } else if (record.getNightShiftMinutes() > 0) {
+            record.setAttendanceStatus(AttendanceStatus.NIGHT_SHIFT);
+        } else if (record.getOvertimeMinutes() > 0) {
+            record.setAttendanceStatus(AttendanceStatus.OVERTIME);
+        } else {
+            record.setAttendanceStatus(AttendanceStatus.NORMAL);
+        }
+    }
+
+    private PunchType parsePunchType(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        switch (raw.trim().toUpperCase()) {
+            case "IN":
+            case "CLOCK_IN":
+            case "出勤":
+                return PunchType.IN;
+            case "OUT":
+            case "CLOCK_OUT":
+            case "退勤":
+                return PunchType.OUT;
+            default:
+                return null;
+        }
+    }
+
+    private boolean isHeader(String column) {
+        return "employee_code".equalsIgnoreCase(column)
+                || "employeeCode".equalsIgnoreCase(column)
+                || "社員コード".equals(column);
+    }
+
+    private static LocalDateTime earlier(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    /**
+     * 取込処理の状態（従業員マップ・集約バッファ・結果）
+     */
+    private static class ImportContext {
+        private final Map<String, EmployeeRef> employees;
+        private final PunchImportResult result = new PunchImportResult();
+        private Map<RecordKey, PunchDay> buffer = new LinkedHashMap<>();
+
+        ImportContext(Map<String, EmployeeRef> employees) {
+            this.employees = employees;
+        }
+    }
+
+    /**
+     * RFC 4180形式のCSVレコード読み込み
+     * 引用符で囲まれた列の中のカンマ・改行・二重引用符（""）は値の一部として扱う。
+     * 引用符で囲まれていない列は前後の空白を除去する。
+     * MAX_RECORD_LENGTH を超えるレコードは値を保持せずに末尾まで読み飛ばす。
+     */
+    private static final class CsvRecordReader {
+        private final BufferedReader reader;
+        // 読み込み済みの物理行数
+        private long line;
+        // 直近に読み込んだレコードの開始行
+        private long recordLine;
+        // 直近に読み込んだレコードが最大文字数を超えた
+        private boolean tooLong;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * 次のレコードを読み込む
+         * @return 列の値（空行は空文字1列）、終端の場合はnull
+         */
+        List<String> next() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = ++line;
+            tooLong = false;
+            List<String> columns = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean quoted = false;
+            int length = 0;
+            while (true) {
+                if (c != -1 && ++length > MAX_RECORD_LENGTH && !tooLong) {
+                    tooLong = true;
+                    columns.clear();
+                }
+                if (tooLong) {
+                    // 引用符・改行の判定のみ続け、値は保持しない
+                    field.setLength(0);
+                }
+                if (inQuotes) {
+                    if (c == -1) {
+                        // 閉じ引用符がないまま終端に達した場合はそこまでを値とする
+                        break;
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            inQuotes = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == -1 || c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    break;
+                } else if (c == ',') {
+                    if (!tooLong) {
+                        columns.add(quoted ? field.toString() : field.toString().trim());
+                    }
+                    field.setLength(0);
+                    quoted = false;
+                } else if (c == '"' && !quoted && field.toString().isBlank()) {
+                    field.setLength(0);
+                    inQuotes = true;
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            columns.add(quoted ? field.toString() : field.toString().trim());
+            return columns;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        boolean tooLong() {
+            return tooLong;
+        }
+    }
+
+    /**
+     * 従業員×日付ごとの集約打刻
+     */
+    private static class PunchDay {
+        private final long firstRow;
+        private final String employeeCode;
+        private LocalDateTime clockIn;
+        private LocalDateTime clockOut;
+
+        PunchDay(long firstRow, String employeeCode) {
+            this.firstRow = firstRow;
+            this.employeeCode = employeeCode;
+        }
+
+        void merge(PunchType type, LocalDateTime time) {
+            if (type == PunchType.IN) {
+                clockIn = earlier(clockIn, time);
+            } else {
+                clockOut = later(clockOut, time);
+            }
+        }
+    }
+
+    private record RecordKey(Long employeeId, LocalDate attendanceDate) {
+    }
+
+    private record EmployeeRef(Long employeeId, boolean active, LocalDate retirementDate) {
+    }
+
+    private record ExistingRecord(Long attendanceId, LocalDateTime clockInTime, LocalDateTime clockOutTime,
+                                  boolean fixed) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.kintai.service;
+
+import com.kintai.config.Tracer;
+import com.kintai.exception.ReportBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * レポート・エクスポート処理のバルクヘッド（隔壁）
+ * PDF生成・PDF生成サービス呼び出し・給与エクスポートの同時実行数をセマフォで制限し、
+ * 上限に達した場合は待たずに429（REPORT_BUSY）で拒否する。PDF生成はレポート用スレッドプールで実行し、
+ * プールが受け付けない・時間内に終わらない場合は503（REPORT_UNAVAILABLE）とする。
+ * これによりレポート処理が占有できるTomcatのスレッド・CPUを制限し、打刻等の処理能力を確保する。
+ * 使用中・待ち・拒否の件数は kintai.bulkhead.* で参照できる（スレッドプールは executor.*{name=reportExecutor}）。
+ */
+@Component
+public class ReportBulkhead {
+
+    static final String BULKHEAD_NAME = "report";
+
+    @Autowired
+    @Qualifier("reportExecutor")
+    private ThreadPoolTaskExecutor reportExecutor;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private Tracer tracer;
+
+    @Value("${report.bulkhead.max-concurrent:0}")
+    private int maxConcurrent;
+
+    @Value("${report.bulkhead.timeout-ms:60000}")
+    private long timeoutMillis = 60000;
+
+    private Semaphore permits;
+    private int limit;
+
+    private Counter rejectedByLimit;
+    private Counter rejectedByExecutor;
+    private Counter timedOut;
+
+    @PostConstruct
+    void init() {
+        // 0以下の場合はレポート用スレッドプールのスレッド数＋待ち行列の上限
+        limit = maxConcurrent > 0 ? maxConcurrent
+                : reportExecutor.getMaxPoolSize() + reportExecutor.getQueueCapacity();
+        permits = new Semaphore(limit);
+
+        if (meterRegistry == null) {
+            return;
+        }
+        Gauge.builder("kintai.bulkhead.active", this, ReportBulkhead::inUse)
+                .tag("bulkhead", BULKHEAD_NAME)
+                .description("実行中・待ち中のレポート処理数")
+                .register(meterRegistry);
+        Gauge.builder("kintai.bulkhead.limit", this, bulkhead -> bulkhead.limit)
+                .tag("bulkhead", BULKHEAD_NAME)
+                .description("レポート処理の同時実行数の上限")
+                .register(meterRegistry);
+        Gauge.builder("kintai.bulkhead.saturation", this, bulkhead -> (double) bulkhead.inUse() / bulkhead.limit)
+                .tag("bulkhead", BULKHEAD_NAME)
+                .description("同時実行数の上限に対する使用率")
+                .register(meterRegistry);
+        Gauge.builder("kintai.bulkhead.queued", this, ReportBulkhead::queued)
+                .tag("bulkhead", BULKHEAD_NAME)
+                .description("レポート用スレッドプールの待ち行列の件数")
+                .register(meterRegistry);
+        rejectedByLimit = rejectedCounter("limit");
+        rejectedByExecutor = rejectedCounter("executor");
+        timedOut = rejectedCounter("timeout");
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder("kintai.bulkhead.rejected")
+                .tag("bulkhead", BULKHEAD_NAME)
+                .tag("reason", reason)
+                .description("混雑により拒否したレポート処理数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 処理をレポート用スレッドプールで実行
+     * 許可は処理の終了時（タイムアウトした場合も処理が実際に終わった時）に返却する。
+     * @param task 処理
+     * @return 処理結果（タイムアウト時は ReportBusyException で完了する）
+     * @throws ReportBusyException 同時実行数の上限に達している、またはスレッドプールが受け付けない場合
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        Permit permit = acquire();
+        CompletableFuture<T> future;
+        try {
+            future = reportExecutor.submitCompletable(tracer != null ? tracer.wrap(task) : task);
+        } catch (TaskRejectedException e) {
+            permit.close();
+            increment(rejectedByExecutor);
+            throw new ReportBusyException(ReportBusyException.REPORT_UNAVAILABLE,
+                    "レポート処理が混雑しています。しばらくしてから再度お試しください");
+        }
+        future.whenComplete((result, error) -> permit.close());
+        // タイムアウトは応答用の複製に設定する（元の処理が終わるまで許可を返却しない）
+        return future.copy().orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        return CompletableFuture.failedFuture(timedOut());
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    /**
+     * 呼び出し元のスレッドで実行する処理（PDF生成サービス呼び出し・エクスポート）の許可を取得
+     * @return 許可（処理の終了時に close する）
+     * @throws ReportBusyException 同時実行数の上限に達している場合
+     */
+    public Permit acquire() {
+        if (!permits.tryAcquire()) {
+            increment(rejectedByLimit);
+            throw new ReportBusyException(ReportBusyException.REPORT_BUSY,
+                    "レポート処理の同時実行数が上限に達しています。しばらくしてから再度お試しください");
+        }
+        return new Permit(permits);
+    }
+
+    /**
+     * 実行中・待ち中の処理数
+     * @return 件数
+     */
+    public int inUse() {
+        return limit - permits.availablePermits();
+    }
+
+    /**
+     * 同時実行数の上限
+     * @return 上限
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * 完了待ちのタイムアウト（呼び出し元のスレッドで結果を待つ場合も同じ時間とする）
+     * @return ミリ秒
+     */
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * 処理が時間内に完了しなかった場合の例外（タイムアウトの件数を数える）
+     * @return 例外（REPORT_UNAVAILABLE）
+     */
+    public ReportBusyException timedOut() {
+        increment(timedOut);
+        return new ReportBusyException(ReportBusyException.REPORT_UNAVAILABLE, "レポート処理が時間内に完了しませんでした");
+    }
+
+    private int queued() {
+        return reportExecutor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    /**
+     * バルクヘッドの許可（close は1回だけ有効）
+     */
+    public static final class Permit implements AutoCloseable {
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.kintai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * HTTPキャッシュ検証用のリソースバージョン算出サービス
+ * 対象範囲の件数と最大更新日時だけを集計クエリで取得し、ETag / Last-Modified を作る。
+ * エンティティを読み込まずに 304 Not Modified を判定するために使用する。
+ */
+@Service
+public class ResourceVersionService {
+
+    /** 毎回サーバーに再検証させる（ブラウザは保持するが、ETagで304を受けるまで使わない） */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 従業員の勤怠記録（期間指定）のバージョン
+     * 退職等で応答が変わるため、従業員自体の更新日時も含める
+     * @param employeeId 従業員ID
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @return バージョン（従業員が存在しない場合は空）
+     */
+    public Optional<Version> attendanceVersion(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        List<Version> versions = jdbcTemplate.query(
+                "SELECT e.updated_at AS employee_updated_at, COUNT(a.attendance_id) AS record_count, "
+                        + "MAX(a.updated_at) AS max_updated_at "
+                        + "FROM employees e "
+                        + "LEFT JOIN attendance_records a ON a.employee_id = e.employee_id "
+                        + "AND a.attendance_date BETWEEN ? AND ? "
+                        + "WHERE e.employee_id = ? GROUP BY e.employee_id, e.updated_at",
+                (rs, rowNum) -> Version.of(
+                        "attendance:" + employeeId + ":" + startDate + ":" + endDate,
+                        rs.getLong("record_count"),
+                        rs.getTimestamp("max_updated_at"),
+                        rs.getTimestamp("employee_updated_at")),
+                startDate, endDate, employeeId);
+        return versions.stream().findFirst();
+    }
+
+    /**
+     * 従業員の勤怠記録（月単位）のバージョン
+     * @param employeeId 従業員ID
+     * @param yearMonth 年月
+     * @return バージョン（従業員が存在しない場合は空）
+     */
+    public Optional<Version> attendanceMonthVersion(Long employeeId, YearMonth yearMonth) {
+        return attendanceVersion(employeeId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    /**
+     * 従業員の有給申請一覧のバージョン
+     * @param employeeId 従業員ID
+     * @return バージョン
+     */
+    public Optional<Version> vacationVersion(Long employeeId) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) AS record_count, MAX(updated_at) AS max_updated_at "
+                        + "FROM vacation_requests WHERE employee_id = ?",
+                (rs, rowNum) -> Version.of(
+                        "vacation:" + employeeId,
+                        rs.getLong("record_count"),
+                        rs.getTimestamp("max_updated_at"),
+                        null),
+                employeeId));
+    }
+
+    /**
+     * リソースバージョン
+     * @param etag ETag（引用符付き）
+     * @param lastModified 最終更新日時（エポックミリ秒、更新日時がない場合は-1）
+     */
+    public record Version(String etag, long lastModified) {
+
+        /**
+         * 条件付きリクエスト（If-None-Match / If-Modified-Since）を評価する
+         * 一致した場合は304とETag等のヘッダーがレスポンスに設定されるため、呼び出し元は本文を作らずに終了する
+         * @param webRequest リクエスト
+         * @return 未更新の場合true
+         */
+        public boolean checkNotModified(WebRequest webRequest) {
+            return lastModified >= 0
+                    ? webRequest.checkNotModified(etag, lastModified)
+                    : webRequest.checkNotModified(etag);
+        }
+
+        static Version of(String scope, long count, Timestamp maxUpdatedAt, Timestamp ownerUpdatedAt) {
+            long recordsModified = maxUpdatedAt != null ? maxUpdatedAt.getTime() : -1;
+            long ownerModified = ownerUpdatedAt != null ? ownerUpdatedAt.getTime() : -1;
+            String source = scope + ":" + count + ":" + recordsModified + ":" + ownerModified;
+            String hash = DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8));
+            return new Version("\"" + hash + "\"", Math.max(recordsModified, ownerModified));
+        }
+    }
+}
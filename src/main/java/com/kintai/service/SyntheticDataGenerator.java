@@ -0,0 +1,488 @@
+package com.kintai.service;
+
+import com.kintai.dto.SyntheticDataResult;
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.SubmissionStatus;
+import com.kintai.entity.VacationStatus;
+import com.kintai.util.BusinessDayCalculator;
+import com.kintai.util.TimeCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 大量テストデータ生成サービス
+ * 本番規模（従業員1万人・勤怠記録1千万件程度）での性能検証用に、従業員・勤怠記録・有給申請・勤怠修正申請を生成する。
+ * 出退勤時刻は従業員ごとの傾向（出社の早さ・残業の多さ）を持たせた分布で生成し、遅刻・残業・深夜勤務は
+ * TimeCalculatorで算出する。登録は複数行VALUESのINSERTをJDBCバッチで実行し、従業員を小さな単位に分けて
+ * 並列に登録する（単位ごとに独立した接続でコミットするため、途中で失敗した場合も登録済みの単位は残る）。
+ * 乱数は種と従業員IDから決まるため、同じ日に同じ条件で実行すれば同じデータになる。
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /** 生成する従業員の社員コードの接頭辞 */
+    static final String EMPLOYEE_CODE_PREFIX = "SYN";
+
+    // 1トランザクションで登録する従業員数
+    static final int EMPLOYEES_PER_CHUNK = 16;
+
+    // executeBatchまでにためる文の数
+    private static final int STATEMENTS_PER_BATCH = 16;
+
+    // 営業日あたりの有給取得（1〜3営業日の連続取得）の開始確率
+    private static final double VACATION_RATE = 0.02;
+    // 翌月までの有給を申請中の従業員の割合
+    private static final double PENDING_VACATION_RATE = 0.3;
+    // 早退する確率
+    private static final double EARLY_LEAVE_RATE = 0.03;
+    // 交通遅延等で大幅に遅刻する確率
+    private static final double DELAY_RATE = 0.01;
+    // 勤怠記録あたりの修正申請の確率
+    private static final double ADJUSTMENT_RATE = 0.01;
+    // 確定済みの月の修正申請が承認される確率
+    private static final double ADJUSTMENT_APPROVAL_RATE = 0.8;
+    // 退勤時刻の上限（18:00からの分数、23:59まで）
+    private static final int MAX_OVERTIME_MINUTES = 359;
+
+    private static final String[] LAST_NAMES = {
+            "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+            "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "太郎", "花子", "翔太", "美咲", "大輔", "陽菜", "健太", "結衣", "拓也", "葵",
+            "直樹", "彩", "亮", "七海", "悠斗", "真由", "蓮", "さくら", "海斗", "優奈"
+    };
+
+    private static final String EMPLOYEE_COLUMNS = "employees (employee_code, last_name, first_name, email, "
+            + "hire_date, is_active, created_at, updated_at)";
+
+    private static final String ATTENDANCE_COLUMNS = "attendance_records (employee_id, attendance_date, "
+            + "clock_in_time, clock_out_time, late_minutes, early_leave_minutes, overtime_minutes, "
+            + "night_shift_minutes, attendance_status, attendance_fixed_flag, submission_status, "
+            + "created_at, updated_at)";
+
+    private static final String VACATION_COLUMNS = "vacation_requests (employee_id, start_date, end_date, days, "
+            + "reason, status, created_at, updated_at)";
+
+    private static final String ADJUSTMENT_COLUMNS = "adjustment_requests (employee_id, target_date, "
+            + "new_clock_in, new_clock_out, reason, status, created_at, updated_at, approved_at, rejected_at, "
+            + "rejection_comment)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeCalculator timeCalculator;
+
+    @Autowired
+    private BusinessDayCalculator businessDayCalculator;
+
+    @Autowired
+    private VacationCalendarIndex vacationCalendarIndex;
+
+    @Autowired
+    private LeaveBalanceLedger leaveBalanceLedger;
+
+    private Clock clock = Clock.system(ZoneId.of("Asia/Tokyo"));
+
+    /**
+     * 生成条件
+     * @param employees 従業員数
+     * @param months 勤怠記録を生成する月数（当月を含む。当月は前日まで）
+     * @param threads 並列数
+     * @param rowsPerStatement 1つのINSERT文にまとめる行数
+     * @param seed 乱数の種
+     */
+    public record Options(int employees, int months, int threads, int rowsPerStatement, long seed) {
+
+        public Options {
+            if (employees < 1 || months < 1 || threads < 1 || rowsPerStatement < 1) {
+                throw new IllegalArgumentException("従業員数・月数・並列数・行数は1以上を指定してください");
+            }
+        }
+    }
+
+    /**
+     * テストデータを生成
+     * @param options 生成条件
+     * @return 生成結果
+     */
+    public SyntheticDataResult generate(Options options) {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now(clock);
+        YearMonth currentMonth = YearMonth.from(today);
+        LocalDate firstDay = currentMonth.minusMonths(options.months() - 1L).atDay(1);
+        Plan plan = new Plan(currentMonth, businessDays(firstDay, today.minusDays(1)),
+                businessDays(today.plusDays(1), today.plusMonths(1)), options.rowsPerStatement(), options.seed());
+
+        List<Long> employeeIds = insertEmployees(options, firstDay);
+        logger.info("テストデータ生成: 従業員{}人を登録しました。勤怠記録（{}営業日分）を{}並列で登録します",
+                employeeIds.size(), plan.businessDays().size(), options.threads());
+
+        Counts counts = new Counts();
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads(),
+                new CustomizableThreadFactory("synthetic-data-"));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < employeeIds.size(); from += EMPLOYEES_PER_CHUNK) {
+                List<Long> chunk = employeeIds.subList(from, Math.min(from + EMPLOYEES_PER_CHUNK, employeeIds.size()));
+                futures.add(executor.submit(() -> {
+                    insertChunk(chunk, plan, counts);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("テストデータの生成に失敗しました", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("テストデータの生成が中断されました", e);
+        } finally {
+            executor.shutdownNow();
+            // 途中で失敗した場合も登録済みの分は残るため、常に作り直す
+            refreshVacationCaches();
+        }
+
+        SyntheticDataResult result = new SyntheticDataResult(employeeIds.size(), counts.attendance.sum(),
+                counts.vacation.sum(), counts.adjustment.sum(), System.currentTimeMillis() - started);
+        logger.info("テストデータ生成完了: 勤怠記録{}件、有給申請{}件、修正申請{}件（{}ms、{}件/秒）",
+                result.attendanceRecords(), result.vacationRequests(), result.adjustmentRequests(),
+                result.elapsedMillis(), result.attendanceRecordsPerSecond());
+        return result;
+    }
+
+    /**
+     * JDBCで直接登録した有給申請は申請状態変更イベントが発行されないため、
+     * 休暇カレンダーを再構築し、有給残日数のキャッシュを破棄する
+     */
+    private void refreshVacationCaches() {
+        vacationCalendarIndex.rebuild();
+        leaveBalanceLedger.evictAll();
+    }
+
+    /**
+     * テスト用に時計を差し替える
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 従業員を登録（社員コードは既存の生成済み従業員の続き番号）
+     * @return 登録した従業員のID
+     */
+    private List<Long> insertEmployees(Options options, LocalDate firstDay) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE employee_code LIKE ?", Integer.class, EMPLOYEE_CODE_PREFIX + "%");
+        int offset = existing != null ? existing : 0;
+        SplittableRandom random = new SplittableRandom(options.seed());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (MultiRowInsert employees = new MultiRowInsert(connection, EMPLOYEE_COLUMNS, 8,
+                    options.rowsPerStatement())) {
+                for (int i = 1; i <= options.employees(); i++) {
+                    String code = employeeCode(offset + i);
+                    LocalDate hireDate = firstDay.minusDays(random.nextInt(3650));
+                    employees.add(code, LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                            FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                            code.toLowerCase() + "@synthetic.example.com", Date.valueOf(hireDate), true, now, now);
+                }
+                employees.flush();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("従業員の登録に失敗しました", e);
+        }
+
+        return jdbcTemplate.queryForList(
+                "SELECT employee_id FROM employees WHERE employee_code BETWEEN ? AND ? ORDER BY employee_id",
+                Long.class, employeeCode(offset + 1), employeeCode(offset + options.employees()));
+    }
+
+    /**
+     * 従業員の単位ごとに勤怠記録・有給申請・修正申請を登録してコミット
+     */
+    private void insertChunk(List<Long> employeeIds, Plan plan, Counts counts) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (MultiRowInsert attendance = new MultiRowInsert(connection, ATTENDANCE_COLUMNS, 13, plan.rowsPerStatement());
+                 MultiRowInsert vacation = new MultiRowInsert(connection, VACATION_COLUMNS, 8, plan.rowsPerStatement());
+                 MultiRowInsert adjustment = new MultiRowInsert(connection, ADJUSTMENT_COLUMNS, 11, plan.rowsPerStatement())) {
+                for (Long employeeId : employeeIds) {
+                    generateEmployee(employeeId, plan, attendance, vacation, adjustment);
+                }
+                attendance.flush();
+                vacation.flush();
+                adjustment.flush();
+                connection.commit();
+                counts.attendance.add(attendance.rows());
+                counts.vacation.add(vacation.rows());
+                counts.adjustment.add(adjustment.rows());
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * 1人分のデータを生成
+     * 有給取得日は勤怠記録を作らず、承認済みの有給申請として登録する（申請期間と勤怠記録は重ならない）
+     */
+    private void generateEmployee(long employeeId, Plan plan, MultiRowInsert attendance,
+                                  MultiRowInsert vacation, MultiRowInsert adjustment) throws SQLException {
+        SplittableRandom random = new SplittableRandom(plan.seed() ^ (employeeId * 0x9E3779B97F4A7C15L));
+        // 従業員ごとの傾向（平均出社時刻は9:00より何分早いか、平均残業時間）
+        double arrivalMean = -10 + random.nextGaussian() * 5;
+        double overtimeMean = 15 + random.nextDouble() * 75;
+
+        List<LocalDate> days = plan.businessDays();
+        int i = 0;
+        while (i < days.size()) {
+            if (random.nextDouble() < VACATION_RATE) {
+                int length = Math.min(vacationLength(random), days.size() - i);
+                LocalDate startDate = days.get(i);
+                Timestamp requestedAt = Timestamp.valueOf(startDate.minusDays(7 + random.nextInt(21)).atTime(10, 0));
+                vacation.add(employeeId, Date.valueOf(startDate), Date.valueOf(days.get(i + length - 1)), length,
+                        "私用のため", VacationStatus.APPROVED.name(), requestedAt, requestedAt);
+                i += length;
+                continue;
+            }
+            addAttendance(employeeId, days.get(i), random, arrivalMean, overtimeMean, plan, attendance, adjustment);
+            i++;
+        }
+
+        if (!plan.upcomingDays().isEmpty() && random.nextDouble() < PENDING_VACATION_RATE) {
+            LocalDate date = plan.upcomingDays().get(random.nextInt(plan.upcomingDays().size()));
+            Timestamp requestedAt = Timestamp.valueOf(LocalDateTime.now(clock));
+            vacation.add(employeeId, Date.valueOf(date), Date.valueOf(date), 1, "私用のため",
+                    VacationStatus.PENDING.name(), requestedAt, requestedAt);
+        }
+    }
+
+    private void addAttendance(long employeeId, LocalDate date, SplittableRandom random, double arrivalMean,
+                               double overtimeMean, Plan plan, MultiRowInsert attendance,
+                               MultiRowInsert adjustment) throws SQLException {
+        long arrival = Math.round(arrivalMean + random.nextGaussian() * 8);
+        if (random.nextDouble() < DELAY_RATE) {
+            arrival += 30 + random.nextInt(60);
+        }
+        LocalDateTime clockIn = date.atTime(TimeCalculator.STANDARD_START_TIME).plusMinutes(arrival);
+        LocalDateTime clockOut;
+        if (random.nextDouble() < EARLY_LEAVE_RATE) {
+            clockOut = date.atTime(15, 0).plusMinutes(random.nextInt(165));
+        } else {
+            long overtime = Math.min((long) (random.nextExponential() * overtimeMean), MAX_OVERTIME_MINUTES);
+            clockOut = date.atTime(TimeCalculator.STANDARD_END_TIME).plusMinutes(overtime);
+        }
+
+        int lateMinutes = timeCalculator.calculateLateMinutes(clockIn);
+        int earlyLeaveMinutes = timeCalculator.calculateEarlyLeaveMinutes(clockOut);
+        int overtimeMinutes = timeCalculator.calculateOvertimeMinutes(
+                timeCalculator.calculateWorkingMinutes(clockIn, clockOut));
+        int nightShiftMinutes = timeCalculator.calculateNightShiftMinutes(clockIn, clockOut);
+        // 過去の月は確定・承認済み、当月は未申請
+        boolean fixed = YearMonth.from(date).isBefore(plan.currentMonth());
+        Timestamp updatedAt = Timestamp.valueOf(clockOut);
+
+        attendance.add(employeeId, Date.valueOf(date), Timestamp.valueOf(clockIn), updatedAt,
+                lateMinutes, earlyLeaveMinutes, overtimeMinutes, nightShiftMinutes,
+                statusOf(lateMinutes, earlyLeaveMinutes, overtimeMinutes, nightShiftMinutes).name(),
+                fixed, (fixed ? SubmissionStatus.APPROVED : SubmissionStatus.NOT_SUBMITTED).name(),
+                Timestamp.valueOf(clockIn), updatedAt);
+
+        if (random.nextDouble() < ADJUSTMENT_RATE) {
+            // 承認済みの申請は勤怠記録に反映済みの時刻、それ以外は定時への修正を申請した状態とする
+            boolean approved = fixed && random.nextDouble() < ADJUSTMENT_APPROVAL_RATE;
+            AdjustmentRequest.AdjustmentStatus status = !fixed ? AdjustmentRequest.AdjustmentStatus.PENDING
+                    : approved ? AdjustmentRequest.AdjustmentStatus.APPROVED
+                    : AdjustmentRequest.AdjustmentStatus.REJECTED;
+            LocalDateTime newClockIn = approved ? clockIn : date.atTime(TimeCalculator.STANDARD_START_TIME);
+            Timestamp requestedAt = Timestamp.valueOf(date.plusDays(1).atTime(9, 30));
+            Timestamp decidedAt = Timestamp.valueOf(date.plusDays(2).atTime(10, 0));
+            adjustment.add(employeeId, Date.valueOf(date), Timestamp.valueOf(newClockIn), updatedAt,
+                    "打刻漏れのため", status.name(), requestedAt,
+                    status == AdjustmentRequest.AdjustmentStatus.PENDING ? requestedAt : decidedAt,
+                    approved ? decidedAt : null,
+                    status == AdjustmentRequest.AdjustmentStatus.REJECTED ? decidedAt : null,
+                    status == AdjustmentRequest.AdjustmentStatus.REJECTED ? "打刻記録と一致しないため" : null);
+        }
+    }
+
+    /**
+     * 勤怠ステータスを判定（AttendanceServiceの退勤時の判定と同じ優先順位）
+     */
+    static AttendanceStatus statusOf(int lateMinutes, int earlyLeaveMinutes, int overtimeMinutes, int nightShiftMinutes) {
+        if (lateMinutes > 0 && earlyLeaveMinutes > 0) {
+            return AttendanceStatus.LATE_AND_EARLY_LEAVE;
+        } else if (lateMinutes > 0) {
+            return AttendanceStatus.LATE;
+        } else if (earlyLeaveMinutes > 0) {
+            return AttendanceStatus.EARLY_LEAVE;
+        } else if (nightShiftMinutes > 0) {
+            return AttendanceStatus.NIGHT_SHIFT;
+        } else if (overtimeMinutes > 0) {
+            return AttendanceStatus.OVERTIME;
+        }
+        return AttendanceStatus.NORMAL;
+    }
+
+    private static int vacationLength(SplittableRandom random) {
+        double roll = random.nextDouble();
+        return roll < 0.7 ? 1 : roll < 0.9 ? 2 : 3;
+    }
+
+    private static String employeeCode(int number) {
+        return EMPLOYEE_CODE_PREFIX + String.format("%07d", number);
+    }
+
+    private List<LocalDate> businessDays(LocalDate startDate, LocalDate endDate) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (businessDayCalculator.isBusinessDay(date)) {
+                days.add(date);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * 全スレッドで共有する生成計画（不変）
+     */
+    private record Plan(YearMonth currentMonth, List<LocalDate> businessDays, List<LocalDate> upcomingDays,
+                        int rowsPerStatement, long seed) {}
+
+    private static final class Counts {
+        private final LongAdder attendance = new LongAdder();
+        private final LongAdder vacation = new LongAdder();
+        private final LongAdder adjustment = new LongAdder();
+    }
+
+    /**
+     * 複数行VALUESのINSERT
+     * 指定行数たまるごとに1文としてバッチに追加し、一定数の文がたまったらexecuteBatchする。
+     * 端数の行はflush時に行数に合わせた文で登録する。
+     */
+    static final class MultiRowInsert implements AutoCloseable {
+
+        private final Connection connection;
+        private final String table;
+        private final int columns;
+        private final int rowsPerStatement;
+        private final Object[] buffer;
+        private PreparedStatement statement;
+        private int bufferedRows;
+        private int pendingStatements;
+        private long rows;
+
+        MultiRowInsert(Connection connection, String table, int columns, int rowsPerStatement) {
+            this.connection = connection;
+            this.table = table;
+            this.columns = columns;
+            this.rowsPerStatement = rowsPerStatement;
+            this.buffer = new Object[columns * rowsPerStatement];
+        }
+
+        void add(Object... values) throws SQLException {
+            System.arraycopy(values, 0, buffer, bufferedRows * columns, columns);
+            rows++;
+            if (++bufferedRows < rowsPerStatement) {
+                return;
+            }
+            if (statement == null) {
+                statement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            bind(statement, rowsPerStatement);
+            statement.addBatch();
+            bufferedRows = 0;
+            if (++pendingStatements >= STATEMENTS_PER_BATCH) {
+                statement.executeBatch();
+                pendingStatements = 0;
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pendingStatements > 0) {
+                statement.executeBatch();
+                pendingStatements = 0;
+            }
+            if (bufferedRows > 0) {
+                try (PreparedStatement remainder = connection.prepareStatement(sql(bufferedRows))) {
+                    bind(remainder, bufferedRows);
+                    remainder.executeUpdate();
+                }
+                bufferedRows = 0;
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (statement != null) {
+                statement.close();
+            }
+        }
+
+        private void bind(PreparedStatement target, int rowCount) throws SQLException {
+            for (int i = 0; i < rowCount * columns; i++) {
+                target.setObject(i + 1, buffer[i]);
+            }
+        }
+
+        private String sql(int rowCount) {
+            String row = "(" + "?, ".repeat(columns - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                sql.append(i == 0 ? "" : ", ").append(row);
+            }
+            return sql.toString();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.kintai.service;
+
+import com.kintai.entity.UserAccount;
+import com.kintai.repository.UserAccountRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 有効なユーザーアカウントのキャッシュ（ユーザー名 → アカウント）
+ * ログイン・UserDetails取得ごとのDB検索を省く。件数上限を超えた場合は最も使われていないものから破棄する。
+ * 保持するのは不変のスナップショットで、参照ごとに新しい（永続化コンテキスト外の）インスタンスを返すため、
+ * 呼び出し元が変更してもキャッシュや他のスレッドには影響しない。
+ * アカウントを変更するサービスは変更後に evict / evictById を呼ぶこと。
+ * 存在しない・無効なアカウントはキャッシュしない。
+ */
+@Component
+public class UserAccountCache {
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.user-cache.max-size:1000}")
+    private int maxSize = 1000;
+
+    @Value("${auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    private final Map<String, CachedAccount> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @PostConstruct
+    void registerMetrics() {
+        if (meterRegistry == null) {
+            return;
+        }
+        FunctionCounter.builder("kintai.user.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("ユーザーアカウントキャッシュの参照回数")
+                .register(meterRegistry);
+        FunctionCounter.builder("kintai.user.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("ユーザーアカウントキャッシュの参照回数")
+                .register(meterRegistry);
+        FunctionCounter.builder("kintai.user.cache.evictions", evictions, AtomicLong::get)
+                .description("ユーザーアカウントキャッシュの破棄件数")
+                .register(meterRegistry);
+        Gauge.builder("kintai.user.cache.size", this, UserAccountCache::size)
+                .description("ユーザーアカウントキャッシュの件数")
+                .register(meterRegistry);
+        Gauge.builder("kintai.user.cache.hit.ratio", this, UserAccountCache::getHitRatio)
+                .description("ユーザーアカウントキャッシュのヒット率")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 有効なユーザーアカウントをユーザー名で取得
+     * @param username ユーザー名
+     * @return ユーザーアカウントの複製（存在しない、または無効の場合は空）。変更しても保存されない
+     */
+    public Optional<UserAccount> findEnabledByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        synchronized (entries) {
+            CachedAccount cached = entries.get(username);
+            if (cached != null && now - cached.loadedAt() < ttlSeconds * 1_000_000_000L) {
+                hits.incrementAndGet();
+                return Optional.of(cached.account().toAccount());
+            }
+        }
+
+        misses.incrementAndGet();
+        Optional<UserAccount> account = userAccountRepository.findByUsernameAndEnabled(username, true);
+        if (account.isEmpty()) {
+            evict(username);
+            return Optional.empty();
+        }
+        AccountSnapshot snapshot = AccountSnapshot.of(account.get());
+        put(username, new CachedAccount(snapshot, now));
+        return Optional.of(snapshot.toAccount());
+    }
+
+    /**
+     * ユーザー名のエントリを破棄
+     * @param username ユーザー名
+     */
+    public void evict(String username) {
+        synchronized (entries) {
+            if (entries.remove(username) != null) {
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * アカウントIDのエントリを破棄（ユーザー名変更にも対応するためIDで探す）
+     * @param accountId ユーザーアカウントID
+     */
+    public void evictById(Long accountId) {
+        if (accountId == null) {
+            return;
+        }
+        synchronized (entries) {
+            int before = entries.size();
+            entries.values().removeIf(cached -> accountId.equals(cached.account().id()));
+            evictions.addAndGet(before - entries.size());
+        }
+    }
+
+    /**
+     * 全エントリを破棄
+     */
+    public void evictAll() {
+        synchronized (entries) {
+            evictions.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    /**
+     * キャッシュ件数
+     * @return 件数
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * ヒット率
+     * @return ヒット率（参照がない場合は0）
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void put(String username, CachedAccount cached) {
+        synchronized (entries) {
+            entries.put(username, cached);
+            // アクセス順のため先頭が最も使われていないエントリ
+            while (entries.size() > maxSize) {
+                String eldest = entries.keySet().iterator().next();
+                entries.remove(eldest);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private record CachedAccount(AccountSnapshot account, long loadedAt) {}
+
+    /**
+     * キャッシュするアカウント情報（不変）
+     */
+    private record AccountSnapshot(Long id, String username, String passwordHash, UserAccount.UserRole role,
+                                   Long employeeId, boolean enabled) {
+
+        static AccountSnapshot of(UserAccount account) {
+            return new AccountSnapshot(account.getId(), account.getUsername(), account.getPassword(),
+                    account.getRole(), account.getEmployeeId(), account.isEnabled());
+        }
+
+        UserAccount toAccount() {
+            UserAccount account = new UserAccount(username, passwordHash, role, employeeId);
+            account.setId(id);
+            account.setEnabled(enabled);
+            return account;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.kintai.service;
+
+import com.kintai.entity.VacationRequest;
+import com.kintai.entity.VacationStatus;
+import com.kintai.event.VacationStatusChangedEvent;
+import com.kintai.repository.VacationRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 休暇カレンダーインデックス
+ * 当日の前後 vacation.index.calendar-past-days / calendar-future-days 日の承認済み有給申請を
+ * 日付ごとの従業員ビットマップとして保持し、期間内の日別休暇者をDBアクセスなしで返す（期間外はDBから読み込む）。
+ * 起動完了時（未構築の場合は初回参照時）に構築し、以降は承認/取消イベントで同期する。
+ * 他ノードでの承認・取消やJPAを経由しない書き込みは vacation.index.refresh-seconds ごとの再構築で反映する。
+ * 再構築はロックの外で新しいカレンダーを作ってから入れ替えるため、参照を待たせない。
+ */
+@Component
+public class VacationCalendarIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VacationCalendarIndex.class);
+
+    // 1回の参照で指定できる最大日数
+    public static final int MAX_RANGE_DAYS = 366;
+
+    @Autowired
+    private VacationRequestRepository vacationRequestRepository;
+
+    @Value("${vacation.index.refresh-seconds:60}")
+    private long refreshSeconds = 60;
+
+    @Value("${vacation.index.calendar-past-days:366}")
+    private int pastDays = 366;
+
+    @Value("${vacation.index.calendar-future-days:366}")
+    private int futureDays = 366;
+
+    private Clock clock = Clock.system(ZoneId.of("Asia/Tokyo"));
+
+    // 参照・イベント反映と入れ替えの排他（再構築中の読み込みでは保持しない）
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 再構築は1スレッドのみ行う
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // 現在のカレンダー（未構築の場合はnull）
+    private Calendar calendar;
+
+    // 再構築中に受け取ったイベント（入れ替え後に適用し直す。再構築中でない場合はnull）
+    private List<VacationStatusChangedEvent> pendingEvents;
+
+    // 最後に構築した時刻（System.nanoTime）
+    private long builtAt;
+
+    /**
+     * 起動完了時にインデックスを構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    /**
+     * 対象期間の承認済み申請を読み込んでインデックスを再構築
+     * 読み込みに失敗した場合は例外を投げ、それまでの内容を維持する。
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 期間内の日別休暇者を取得
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @param employeeIds 対象従業員ID（nullまたは空の場合は全従業員）
+     * @return 日付 → 休暇中の従業員IDリスト（期間内の全日付を日付順に含む）
+     */
+    public Map<LocalDate, List<Long>> getAbsences(LocalDate startDate, LocalDate endDate, Collection<Long> employeeIds) {
+        ensureReady();
+        lock.readLock().lock();
+        try {
+            if (calendar.covers(startDate, endDate)) {
+                return calendar.getAbsences(startDate, endDate, employeeIds);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // インデックスの対象期間外はDBから読み込む
+        return load(startDate, endDate).getAbsences(startDate, endDate, employeeIds);
+    }
+
+    /**
+     * 有給申請の承認/取消をインデックスに反映する（コミット後に実行）
+     * @param event ステータス変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVacationStatusChanged(VacationStatusChangedEvent event) {
+        if (!event.affectsApprovedDays() || event.vacationId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+            if (calendar != null) {
+                calendar.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * テスト用に時計を差し替える
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * 未構築の場合は構築し、構築から vacation.index.refresh-seconds 以上経過している場合は再構築する
+     * 期限切れ時の再構築は1スレッドのみ行い、他のスレッドと再構築に失敗した場合はそれまでの内容で応答する。
+     */
+    private void ensureReady() {
+        boolean built;
+        lock.readLock().lock();
+        try {
+            built = calendar != null;
+            if (built && (refreshSeconds <= 0 || System.nanoTime() - builtAt < refreshSeconds * 1_000_000_000L)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!built) {
+            rebuildLock.lock();
+            try {
+                if (!isBuilt()) {
+                    doRebuild();
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        } else if (rebuildLock.tryLock()) {
+            try {
+                doRebuild();
+            } catch (RuntimeException e) {
+                logger.warn("休暇カレンダーインデックスの再構築に失敗しました（前回の内容で応答します）", e);
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+    }
+
+    private boolean isBuilt() {
+        lock.readLock().lock();
+        try {
+            return calendar != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 再構築（rebuildLockを保持して呼ぶ）
+     */
+    private void doRebuild() {
+        LocalDate today = LocalDate.now(clock);
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Calendar built;
+        try {
+            built = load(today.minusDays(pastDays), today.plusDays(futureDays));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 読み込み中に反映されたイベントは新しいカレンダーに含まれていない可能性があるため適用し直す
+            pendingEvents.forEach(built::apply);
+            pendingEvents = null;
+            calendar = built;
+            builtAt = System.nanoTime();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Calendar load(LocalDate fromDate, LocalDate toDate) {
+        Calendar loaded = new Calendar(fromDate, toDate);
+        for (VacationRequest request : vacationRequestRepository.findApprovedInPeriod(fromDate, toDate)) {
+            loaded.addApproved(request.getVacationId(), request.getEmployeeId(), request.getStartDate(), request.getEndDate());
+        }
+        return loaded;
+    }
+
+    /**
+     * 対象期間の日別休暇者ビットマップ
+     */
+    private static final class Calendar {
+
+        private final LocalDate fromDate;
+        private final LocalDate toDate;
+
+        // 日付 → 休暇中の従業員ビット
+        private final Map<LocalDate, BitSet> absencesByDate = new HashMap<>();
+
+        // 従業員ID ⇔ ビット位置
+        private final Map<Long, Integer> bitByEmployee = new HashMap<>();
+        private final List<Long> employeeByBit = new ArrayList<>();
+
+        // 承認済み申請（取消時に同一従業員の他申請でビットを復元するため保持）
+        private final Map<Long, Approved> approvedById = new HashMap<>();
+        private final Map<Long, Set<Long>> approvedIdsByEmployee = new HashMap<>();
+
+        private Calendar(LocalDate fromDate, LocalDate toDate) {
+            this.fromDate = fromDate;
+            this.toDate = toDate;
+        }
+
+        private boolean covers(LocalDate startDate, LocalDate endDate) {
+            return !startDate.isBefore(fromDate) && !endDate.isAfter(toDate);
+        }
+
+        private Map<LocalDate, List<Long>> getAbsences(LocalDate startDate, LocalDate endDate, Collection<Long> employeeIds) {
+            BitSet mask = null;
+            if (employeeIds != null && !employeeIds.isEmpty()) {
+                mask = new BitSet();
+                for (Long employeeId : employeeIds) {
+                    Integer bit = bitByEmployee.get(employeeId);
+                    if (bit != null) {
+                        mask.set(bit);
+                    }
+                }
+            }
+
+            Map<LocalDate, List<Long>> result = new LinkedHashMap<>();
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                BitSet absences = absencesByDate.get(date);
+                if (absences == null || absences.isEmpty()) {
+                    result.put(date, Collections.emptyList());
+                    continue;
+                }
+                if (mask != null) {
+                    absences = (BitSet) absences.clone();
+                    absences.and(mask);
+                }
+                List<Long> ids = new ArrayList<>(absences.cardinality());
+                for (int bit = absences.nextSetBit(0); bit >= 0; bit = absences.nextSetBit(bit + 1)) {
+                    ids.add(employeeByBit.get(bit));
+                }
+                result.put(date, ids);
+            }
+            return result;
+        }
+
+        private void apply(VacationStatusChangedEvent event) {
+            if (event.newStatus() == VacationStatus.APPROVED) {
+                addApproved(event.vacationId(), event.employeeId(), event.startDate(), event.endDate());
+            } else {
+                removeApproved(event.vacationId());
+            }
+        }
+
+        private void addApproved(Long vacationId, Long employeeId, LocalDate startDate, LocalDate endDate) {
+            if (employeeId == null || startDate == null || endDate == null) {
+                return;
+            }
+            removeApproved(vacationId);
+            if (startDate.isAfter(toDate) || endDate.isBefore(fromDate)) {
+                return;
+            }
+            Approved approved = new Approved(employeeId, startDate, endDate);
+            approvedById.put(vacationId, approved);
+            approvedIdsByEmployee.computeIfAbsent(employeeId, id -> new HashSet<>()).add(vacationId);
+            setBits(bitOf(employeeId), startDate, endDate);
+        }
+
+        private void removeApproved(Long vacationId) {
+            Approved removed = approvedById.remove(vacationId);
+            if (removed == null) {
+                return;
+            }
+            int bit = bitOf(removed.employeeId());
+            for (LocalDate date = removed.startDate(); !date.isAfter(removed.endDate()); date = date.plusDays(1)) {
+                BitSet absences = absencesByDate.get(date);
+                if (absences != null) {
+                    absences.clear(bit);
+                }
+            }
+            // 同一従業員の他の承認済み申請と日付が重なっている場合はビットを戻す
+            Set<Long> remaining = approvedIdsByEmployee.get(removed.employeeId());
+            remaining.remove(vacationId);
+            for (Long otherId : remaining) {
+                Approved other = approvedById.get(otherId);
+                LocalDate from = other.startDate().isAfter(removed.startDate()) ? other.startDate() : removed.startDate();
+                LocalDate to = other.endDate().isBefore(removed.endDate()) ? other.endDate() : removed.endDate();
+                setBits(bit, from, to);
+            }
+        }
+
+        private void setBits(int bit, LocalDate startDate, LocalDate endDate) {
+            // 対象期間外の日付は保持しない
+            LocalDate from = startDate.isBefore(fromDate) ? fromDate : startDate;
+            LocalDate to = endDate.isAfter(toDate) ? toDate : endDate;
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                absencesByDate.computeIfAbsent(date, d -> new BitSet()).set(bit);
+            }
+        }
+
+        private int bitOf(Long employeeId) {
+            return bitByEmployee.computeIfAbsent(employeeId, id -> {
+                employeeByBit.add(id);
+                return employeeByBit.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * 承認済み申請の期間
+     */
+    private record Approved(Long employeeId, LocalDate startDate, LocalDate endDate) {
+    }
+}
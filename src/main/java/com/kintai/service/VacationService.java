@@ -4,15 +4,22 @@ import com.kintai.dto.VacationRequestDto;
 import com.kintai.entity.Employee;
 import com.kintai.entity.VacationRequest;
 import com.kintai.entity.VacationStatus;
+import com.kintai.event.VacationStatusChangedEvent;
 import com.kintai.exception.VacationException;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.VacationRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import com.kintai.util.BusinessDayCalculator;
 
 /**
@@ -21,6 +28,8 @@ import com.kintai.util.BusinessDayCalculator;
 @Service
 @Transactional
 public class VacationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VacationService.class);
     
     @Autowired
     private VacationRequestRepository vacationRequestRepository;
@@ -31,8 +40,14 @@ public class VacationService {
     @Autowired
     private BusinessDayCalculator businessDayCalculator;
     
-    // 年間付与日数（簡易実装。必要なら従業員ごとに管理に変更）
-    private static final int DEFAULT_ANNUAL_PAID_LEAVE_DAYS = 10;
+    @Autowired
+    private LeaveBalanceLedger leaveBalanceLedger;
+    
+    @Autowired
+    private VacationCalendarIndex vacationCalendarIndex;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
     
     /**
      * 有給休暇申請処理
@@ -61,7 +76,7 @@ public class VacationService {
             // 3. 日付範囲バリデーション
             validateDateRange(startDate, endDate);
             
-            // 4. 重複申請チェック
+            // 4. 重複申請チェック（他ノードでの申請・承認も含めて判定するため、インデックスを使わずDBで判定）
             if (vacationRequestRepository.existsOverlappingRequest(employeeId, startDate, endDate)) {
                 throw new VacationException(
                         VacationException.DUPLICATE_REQUEST, 
@@ -82,12 +97,8 @@ public class VacationService {
             // 6. 申請日数（営業日換算。土日除外、祝日未考慮）
             int days = calculateVacationDays(startDate, endDate);
 
-            // 7. 残日数超過の禁止（当年内・付与後の承認済み消化分を控除）
-            LocalDate endOfYear = LocalDate.now().withMonth(12).withDayOfMonth(31);
-            Integer usedDays = vacationRequestRepository
-                    .sumApprovedDaysInPeriod(employeeId, grantDate, endOfYear);
-            if (usedDays == null) usedDays = 0;
-            int remaining = Math.max(0, DEFAULT_ANNUAL_PAID_LEAVE_DAYS - usedDays);
+            // 7. 残日数超過の禁止（当年内・付与後の承認済み消化分を控除した残日数。判定は台帳を使わず集計する）
+            int remaining = leaveBalanceLedger.calculateRemainingDays(employeeId);
             if (days > remaining) {
                 throw new VacationException(
                         VacationException.INVALID_DATE_RANGE,
@@ -100,6 +111,7 @@ public class VacationService {
             
             // 9. データベース保存
             VacationRequest savedRequest = vacationRequestRepository.save(vacationRequest);
+            eventPublisher.publishEvent(VacationStatusChangedEvent.of(savedRequest, null));
             
             // 10. レスポンス作成
             VacationRequestDto.VacationData data = new VacationRequestDto.VacationData(
@@ -117,8 +129,8 @@ public class VacationService {
         } catch (VacationException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new VacationException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("有給申請の作成に失敗しました: employeeId={}", employeeId, e);
+            throw new VacationException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
@@ -139,9 +151,11 @@ public class VacationService {
             // 2. ステータス変更バリデーション
             validateStatusChange(vacationRequest.getStatus(), status);
             
-            // 3. ステータス更新
+            // 3. ステータス更新（承認/取消はコミット後に残日数台帳へ反映）
+            VacationStatus previousStatus = vacationRequest.getStatus();
             vacationRequest.setStatus(status);
             VacationRequest savedRequest = vacationRequestRepository.save(vacationRequest);
+            eventPublisher.publishEvent(VacationStatusChangedEvent.of(savedRequest, previousStatus));
             
             // 4. レスポンス作成
             VacationRequestDto.VacationData data = new VacationRequestDto.VacationData(
@@ -159,42 +173,50 @@ public class VacationService {
         } catch (VacationException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
-            throw new VacationException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
+            logger.error("有給申請の状態更新に失敗しました: vacationId={}, status={}", vacationId, status, e);
+            throw new VacationException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage(), e);
         }
     }
     
     /**
      * 残有給日数を取得（年度は当年1/1〜12/31のシンプル運用）
+     * 集計は初回のみ行い、以降は残日数台帳から返す
      * @param employeeId 従業員ID
      * @return 残日数
      */
     @Transactional(readOnly = true)
     public int getRemainingVacationDays(Long employeeId) {
-        LocalDate today = LocalDate.now();
-        LocalDate startOfYear = today.withMonth(1).withDayOfMonth(1);
-        LocalDate endOfYear = today.withMonth(12).withDayOfMonth(31);
-        
-        Employee employee = employeeRepository.findByEmployeeId(employeeId)
-                .orElse(null);
-        if (employee == null) {
-            return 0;
+        return leaveBalanceLedger.getRemainingDays(employeeId);
+    }
+
+    /**
+     * 期間内の日別休暇者を取得（承認済みのみ）
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @param employeeIds 対象従業員ID（nullまたは空の場合は全従業員）
+     * @return 日付 → 休暇中の従業員IDリスト
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, List<Long>> getVacationCalendar(LocalDate startDate, LocalDate endDate,
+                                                         Collection<Long> employeeIds) {
+        if (startDate == null || endDate == null) {
+            throw new VacationException(
+                    VacationException.INVALID_DATE_RANGE,
+                    "開始日と終了日は必須です");
         }
-        // 付与基準日：当年の1/1 または 入社日の遅い方
-        LocalDate grantDate = employee.getHireDate().isAfter(startOfYear) ? employee.getHireDate() : startOfYear;
-        
-        // まだ付与前の場合は残日数0
-        if (today.isBefore(grantDate)) {
-            return 0;
+        if (startDate.isAfter(endDate)) {
+            throw new VacationException(
+                    VacationException.INVALID_DATE_RANGE,
+                    "開始日は終了日より前である必要があります");
         }
-        
-        Integer usedDays = vacationRequestRepository
-                .sumApprovedDaysInPeriod(employeeId, grantDate, endOfYear);
-        if (usedDays == null) usedDays = 0;
-        int remaining = DEFAULT_ANNUAL_PAID_LEAVE_DAYS - usedDays;
-        return Math.max(remaining, 0);
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= VacationCalendarIndex.MAX_RANGE_DAYS) {
+            throw new VacationException(
+                    VacationException.INVALID_DATE_RANGE,
+                    String.format("期間は%d日以内で指定してください", VacationCalendarIndex.MAX_RANGE_DAYS));
+        }
+        return vacationCalendarIndex.getAbsences(startDate, endDate, employeeIds);
     }
-
+    
     /**
      * 従業員の有給申請一覧取得
      * @param employeeId 従業員ID
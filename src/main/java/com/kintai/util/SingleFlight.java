@@ -0,0 +1,120 @@
+package com.kintai.util;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 同一キーの同時実行をまとめるユーティリティ（シングルフライト）
+ * キーの処理が実行中の間に来た呼び出しは新たに実行せず、実行中の処理の結果（例外を含む）を共有する。
+ * 処理が終わるとキーを外すため、結果は保持しない（結果のキャッシュは呼び出し側で行う）。
+ * @param <K> キー（equals・hashCodeで同一と判定する）
+ * @param <V> 結果
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 非同期処理を実行、または実行中の同じキーの処理の結果を共有する
+     * @param key キー
+     * @param loader 処理を開始し、その結果を返す（実行中の処理がない場合のみ呼ばれる）
+     * @return 処理結果（呼び出し元ごとの複製のため、完了・取り消しは他の呼び出し元に影響しない）
+     */
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> loader) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        try {
+            loader.get().whenComplete((result, error) -> complete(key, leader, result, error));
+        } catch (RuntimeException | Error e) {
+            complete(key, leader, null, e);
+        }
+        return leader.copy();
+    }
+
+    /**
+     * 処理を呼び出し元のスレッドで実行、または実行中の同じキーの処理の終了を待って結果を共有する
+     * @param key キー
+     * @param loader 処理（実行中の処理がない場合のみ呼ばれる）
+     * @return 処理結果
+     * @throws Exception 処理が例外で終了した場合（同じキーの呼び出し元すべてに同じ例外が伝わる）
+     */
+    public V call(K key, Callable<V> loader) throws Exception {
+        try {
+            return start(key, loader).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 処理を呼び出し元のスレッドで実行、または実行中の同じキーの処理の終了を指定時間まで待って結果を共有する
+     * @param key キー
+     * @param loader 処理（実行中の処理がない場合のみ呼ばれる）
+     * @param timeout 実行中の処理の終了を待つ時間
+     * @param unit 時間の単位
+     * @return 処理結果
+     * @throws TimeoutException 実行中の処理が時間内に終わらなかった場合（処理自体は継続する）
+     * @throws Exception 処理が例外で終了した場合（同じキーの呼び出し元すべてに同じ例外が伝わる）
+     */
+    public V call(K key, Callable<V> loader, long timeout, TimeUnit unit) throws Exception {
+        try {
+            return start(key, loader).get(timeout, unit);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * 実行中のキーの数
+     * @return 件数
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    private CompletableFuture<V> start(K key, Callable<V> loader) {
+        return execute(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(loader.call());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    private static Exception unwrap(Exception e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        throw (Error) cause;
+    }
+
+    private void complete(K key, CompletableFuture<V> leader, V result, Throwable error) {
+        // 完了後に来た呼び出しは新たに実行するよう、結果を通知する前にキーを外す
+        inFlight.remove(key, leader);
+        if (error != null) {
+            leader.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+        } else {
+            leader.complete(result);
+        }
+    }
+}
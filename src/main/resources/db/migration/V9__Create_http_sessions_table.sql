@@ -0,0 +1,12 @@
+-- HTTPセッション永続化テーブル作成（session.store.type=jdbc の場合に使用）
+CREATE TABLE http_sessions (
+    session_id VARCHAR(100) NOT NULL PRIMARY KEY,
+    app_name VARCHAR(255),
+    session_data BLOB,
+    valid_session CHAR(1) NOT NULL,
+    max_inactive INT NOT NULL,
+    last_access BIGINT NOT NULL
+);
+
+-- インデックス（期限切れセッション削除の最適化）
+CREATE INDEX idx_http_sessions_app_last_access ON http_sessions(app_name, last_access);
@@ -0,0 +1,107 @@
+package com.kintai.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ApiKeyRegistryのテスト
+ */
+class ApiKeyRegistryTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-01T00:00:00Z");
+
+    @TempDir
+    Path tempDir;
+
+    private Path keysFile;
+    private ApiKeyRegistry apiKeyRegistry;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        keysFile = tempDir.resolve("api-keys.properties");
+        Files.writeString(keysFile, "# PDF連携キー\n"
+                + "old-key=" + sha256("old-secret") + "," + NOW.minusSeconds(1) + "\n"
+                + "new-key=" + sha256("new-secret") + "\n");
+
+        meterRegistry = new SimpleMeterRegistry();
+        apiKeyRegistry = new ApiKeyRegistry();
+        ReflectionTestUtils.setField(apiKeyRegistry, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(apiKeyRegistry, "defaultApiKey", "legacy-secret");
+        ReflectionTestUtils.setField(apiKeyRegistry, "keysFile", keysFile.toString());
+        ReflectionTestUtils.setField(apiKeyRegistry, "reloadIntervalSeconds", 0L);
+        apiKeyRegistry.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        apiKeyRegistry.init();
+    }
+
+    @Test
+    @DisplayName("従来のキーとファイルのキーを検証できる")
+    void testVerify() {
+        assertEquals(3, apiKeyRegistry.size());
+        assertEquals(Optional.of("default"), apiKeyRegistry.verify("legacy-secret"));
+        assertEquals(Optional.of("new-key"), apiKeyRegistry.verify("new-secret"));
+        assertTrue(apiKeyRegistry.verify("wrong-secret").isEmpty());
+        assertTrue(apiKeyRegistry.verify(null).isEmpty());
+
+        assertEquals(1.0, meterRegistry.get("kintai.api.key.requests")
+                .tag("key", "new-key").tag("result", "accepted").counter().count());
+        assertEquals(2.0, meterRegistry.get("kintai.api.key.requests")
+                .tag("key", "unknown").tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("有効期限切れのキーは拒否する")
+    void testExpiredKey() {
+        assertTrue(apiKeyRegistry.verify("old-secret").isEmpty());
+        assertEquals(1.0, meterRegistry.get("kintai.api.key.requests")
+                .tag("key", "old-key").tag("result", "expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("キーファイルの更新を再起動なしで反映する")
+    void testReloadOnModification() throws IOException {
+        Files.writeString(keysFile, "rotated-key=" + sha256("rotated-secret") + "\n");
+        Files.setLastModifiedTime(keysFile, FileTime.from(NOW.plusSeconds(60)));
+
+        assertEquals(Optional.of("rotated-key"), apiKeyRegistry.verify("rotated-secret"));
+        assertTrue(apiKeyRegistry.verify("new-secret").isEmpty());
+        assertEquals(2, apiKeyRegistry.size());
+    }
+
+    @Test
+    @DisplayName("不正なキーファイルの場合は現在のキーを維持する")
+    void testInvalidFileKeepsCurrentKeys() throws IOException {
+        Files.writeString(keysFile, "broken-key=not-a-hash\n");
+        Files.setLastModifiedTime(keysFile, FileTime.from(NOW.plusSeconds(60)));
+
+        assertEquals(Optional.of("new-key"), apiKeyRegistry.verify("new-secret"));
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
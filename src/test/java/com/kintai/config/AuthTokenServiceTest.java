@@ -0,0 +1,89 @@
+package com.kintai.config;
+
+import com.kintai.entity.UserAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AuthTokenServiceのテスト
+ */
+class AuthTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2025-10-01T00:00:00Z");
+
+    private AuthTokenService authTokenService;
+    private UserAccount user;
+
+    @BeforeEach
+    void setUp() {
+        authTokenService = new AuthTokenService(true, "test-secret-key-for-auth-token-0001", 900);
+        authTokenService.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        user = new UserAccount();
+        user.setId(5L);
+        user.setUsername("山田taro");
+        user.setEmployeeId(3L);
+        user.setRole(UserAccount.UserRole.ADMIN);
+    }
+
+    @Test
+    @DisplayName("発行したトークンを検証できる")
+    void testIssueAndVerify() {
+        String token = authTokenService.issueToken(user);
+
+        Optional<AuthPrincipal> principal = authTokenService.verify(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals(5L, principal.get().id());
+        assertEquals("山田taro", principal.get().username());
+        assertEquals(3L, principal.get().employeeId());
+        assertEquals(UserAccount.UserRole.ADMIN, principal.get().role());
+        assertEquals("ROLE_ADMIN", principal.get().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("従業員に紐づかないアカウントのトークンも検証できる")
+    void testIssueAndVerify_WithoutEmployee() {
+        user.setEmployeeId(null);
+        String token = authTokenService.issueToken(user);
+
+        Optional<AuthPrincipal> principal = authTokenService.verify(token);
+
+        assertTrue(principal.isPresent());
+        assertEquals(5L, principal.get().id());
+        assertNull(principal.get().employeeId());
+        assertEquals(UserAccount.UserRole.ADMIN, principal.get().role());
+    }
+
+    @Test
+    @DisplayName("改ざんされたトークンは拒否する")
+    void testTamperedToken() {
+        String token = authTokenService.issueToken(user);
+        String forged = new AuthTokenService(true, "another-secret", 900).issueToken(user);
+
+        assertTrue(authTokenService.verify(forged).isEmpty());
+        assertTrue(authTokenService.verify(forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(authTokenService.verify("invalid").isEmpty());
+        assertTrue(authTokenService.verify("!!!.???").isEmpty());
+    }
+
+    @Test
+    @DisplayName("有効期限切れのトークンは拒否する")
+    void testExpiredToken() {
+        String token = authTokenService.issueToken(user);
+
+        authTokenService.setClock(Clock.fixed(NOW.plusSeconds(899), ZoneOffset.UTC));
+        assertTrue(authTokenService.verify(token).isPresent());
+
+        authTokenService.setClock(Clock.fixed(NOW.plusSeconds(900), ZoneOffset.UTC));
+        assertTrue(authTokenService.verify(token).isEmpty());
+    }
+}
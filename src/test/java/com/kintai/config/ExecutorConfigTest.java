@@ -0,0 +1,42 @@
+package com.kintai.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ExecutorConfigのテスト
+ */
+class ExecutorConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class,
+                    DispatcherServletAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+                    WebMvcAutoConfiguration.class))
+            .withUserConfiguration(ExecutorConfig.class);
+
+    @Test
+    @DisplayName("Spring MVCの非同期処理は上限付きのスレッドプールで実行する")
+    void mvcAsyncUsesBoundedPool() {
+        contextRunner.withPropertyValues("spring.task.execution.pool.core-size=2",
+                "spring.task.execution.pool.max-size=4",
+                "spring.task.execution.pool.queue-capacity=10").run(context -> {
+            ThreadPoolTaskExecutor executor = context.getBean("applicationTaskExecutor", ThreadPoolTaskExecutor.class);
+            assertEquals(4, executor.getMaxPoolSize());
+            assertEquals(10, executor.getQueueCapacity());
+
+            RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+            assertSame(executor, ReflectionTestUtils.getField(adapter, "taskExecutor"));
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.kintai.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JsonLogEncoder・DebugSamplingTurboFilterのテスト
+ */
+class JsonLogEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.kintai.service.AttendanceService");
+
+    @Test
+    @DisplayName("ログを1行のJSONにし、MDCと例外のスタックトレースを含める")
+    void encode_writesSingleLineJson() throws Exception {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "退勤打刻に失敗しました: employeeId={}", new IllegalStateException("接続失敗\n詳細"), new Object[]{2L});
+        event.setMDCPropertyMap(Map.of("traceId", "4bf92f3577b34da6a3ce929d0e0e4736"));
+
+        String line = new String(new JsonLogEncoder().encode(event), StandardCharsets.UTF_8);
+
+        assertTrue(line.endsWith("\n"));
+        assertEquals(1, line.split("\n").length);
+        JsonNode json = new ObjectMapper().readTree(line);
+        assertEquals("ERROR", json.get("level").asText());
+        assertEquals("com.kintai.service.AttendanceService", json.get("logger").asText());
+        assertEquals("退勤打刻に失敗しました: employeeId=2", json.get("message").asText());
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", json.get("traceId").asText());
+        assertEquals("java.lang.IllegalStateException", json.get("exception").asText());
+        assertTrue(json.get("stackTrace").asText().contains("接続失敗"));
+        assertNotNull(json.get("timestamp"));
+    }
+
+    @Test
+    @DisplayName("DEBUGログは割合に応じて間引き、INFO以上と出力判定は間引かない")
+    void debugSampling() {
+        DebugSamplingTurboFilter filter = new DebugSamplingTurboFilter();
+        filter.setSampleRate(0.0);
+
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.DEBUG, "debug", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.TRACE, "trace", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "info", null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.ERROR, "error", null, null));
+
+        filter.setSampleRate(0.5);
+        int passed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.decide(null, logger, Level.DEBUG, "debug", null, null) == FilterReply.NEUTRAL) {
+                passed++;
+            }
+        }
+        assertTrue(passed > 4_000 && passed < 6_000, "passed=" + passed);
+
+        filter.setSampleRate(1.0);
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.DEBUG, "debug", null, null));
+    }
+}
@@ -0,0 +1,120 @@
+package com.kintai.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * QueryStatisticsCollector・QueryCountingDataSourceのテスト（組み込みH2で実際にSQLを発行する）
+ */
+class QueryStatisticsCollectorTest {
+
+    private EmbeddedDatabase database;
+    private QueryStatisticsCollector collector;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        new JdbcTemplate(database).execute("CREATE TABLE employees (employee_id BIGINT PRIMARY KEY, last_name VARCHAR(50))");
+        new JdbcTemplate(database).update("INSERT INTO employees VALUES (1, '田中'), (2, '佐藤'), (3, '鈴木')");
+
+        collector = new QueryStatisticsCollector(3);
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(database, () -> collector));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("フィンガープリント - リテラルを ? に置き換え、IN句と空白をまとめる")
+    void testFingerprint() {
+        assertEquals("select * from employees where employee_id = ? and last_name = ? and code in (?...)",
+                QueryStatisticsCollector.fingerprint(
+                        "select *\n  from employees where employee_id = 42 and last_name = 'O''Brien' and code in (?, ?, ?)"));
+        assertEquals("INSERT INTO employees (employee_id, last_name) VALUES (?...), ...",
+                QueryStatisticsCollector.fingerprint("INSERT INTO employees (employee_id, last_name) VALUES (?, ?), (?, ?), (?, ?)"));
+        assertEquals("select e1_0.employee_id from employees e1_0 where e1_0.employee_id=?",
+                QueryStatisticsCollector.fingerprint("select e1_0.employee_id from employees e1_0 where e1_0.employee_id=?"));
+    }
+
+    @Test
+    @DisplayName("リクエスト内で実行したSQLの件数をエンドポイント別に集計する")
+    void testEndpointSummaries() {
+        for (int i = 0; i < 2; i++) {
+            QueryStatisticsCollector.RequestQueries queries = collector.beginRequest();
+            for (long id = 1; id <= 3; id++) {
+                jdbcTemplate.queryForObject("SELECT last_name FROM employees WHERE employee_id = ?", String.class, id);
+            }
+            collector.recordEntityLoad();
+            collector.endRequest(queries, "GET /api/admin/employees");
+        }
+
+        Map<String, Object> summary = collector.endpointSummaries().get(0);
+        assertEquals("GET /api/admin/employees", summary.get("endpoint"));
+        assertEquals(2L, summary.get("requests"));
+        assertEquals(6L, summary.get("statements"));
+        assertEquals(3L, summary.get("maxStatementsPerRequest"));
+        assertEquals(2L, summary.get("entityLoads"));
+        assertEquals(0L, summary.get("budgetViolations"));
+    }
+
+    @Test
+    @DisplayName("SQL実行数が上限を超えたリクエストを違反として数える")
+    void testRequestQueryBudget() {
+        ReflectionTestUtils.setField(collector, "requestQueryBudget", 2);
+
+        QueryStatisticsCollector.RequestQueries queries = collector.beginRequest();
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.queryForObject("SELECT last_name FROM employees WHERE employee_id = ?", String.class, id);
+        }
+        collector.endRequest(queries, "GET /api/admin/monthly-submissions");
+
+        assertEquals(3, queries.statements());
+        assertEquals(1L, collector.endpointSummaries().get(0).get("budgetViolations"));
+    }
+
+    @Test
+    @DisplayName("スロークエリは直近の指定件数だけフィンガープリントで保持する")
+    void testSlowQueries() {
+        ReflectionTestUtils.setField(collector, "slowQueryThresholdMillis", 0L);
+
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.queryForList("SELECT last_name FROM employees WHERE employee_id = " + id, String.class);
+        }
+
+        List<QueryStatisticsCollector.SlowQuery> slowQueries = collector.slowQueries();
+        assertEquals(3, slowQueries.size());
+        assertEquals("SELECT last_name FROM employees WHERE employee_id = ?", slowQueries.get(0).fingerprint());
+        assertEquals(QueryStatisticsCollector.NO_REQUEST, slowQueries.get(0).endpoint());
+
+        collector.reset();
+        assertTrue(collector.slowQueries().isEmpty());
+        assertTrue(collector.endpointSummaries().isEmpty());
+    }
+
+    @Test
+    @DisplayName("SQLを実行しなかったリクエストは集計しない")
+    void testRequestWithoutStatements() {
+        QueryStatisticsCollector.RequestQueries queries = collector.beginRequest();
+        collector.endRequest(queries, "GET /api/attendance/health");
+
+        assertTrue(collector.endpointSummaries().isEmpty());
+    }
+}
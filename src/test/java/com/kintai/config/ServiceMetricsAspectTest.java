@@ -0,0 +1,97 @@
+package com.kintai.config;
+
+import com.kintai.exception.AttendanceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ServiceMetricsAspectのテスト
+ */
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SampleService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ServiceMetricsAspect aspect = new ServiceMetricsAspect();
+        ReflectionTestUtils.setField(aspect, "meterRegistry", meterRegistry);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        service = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("正常終了した処理の時間をクラス・メソッド別に記録する")
+    void testMeasure_Success() {
+        service.clockIn();
+        service.clockIn();
+
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.OPERATION_METRIC)
+                .tag("class", "SampleService")
+                .tag("method", "clockIn")
+                .tag("exception", "none")
+                .timer().count());
+        assertTrue(meterRegistry.find(ServiceMetricsAspect.ERROR_METRIC).counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("AttendanceExceptionはエラーコード別、それ以外は例外クラス別にエラー件数を記録する")
+    void testMeasure_Errors() {
+        assertThrows(AttendanceException.class, service::clockOut);
+        assertThrows(AttendanceException.class, service::clockOut);
+        assertThrows(IllegalStateException.class, service::fail);
+
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.ERROR_METRIC)
+                .tag("method", "clockOut")
+                .tag("code", AttendanceException.NOT_CLOCKED_IN)
+                .counter().count());
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.ERROR_METRIC)
+                .tag("method", "fail")
+                .tag("code", "IllegalStateException")
+                .counter().count());
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.OPERATION_METRIC)
+                .tag("method", "clockOut")
+                .tag("exception", "AttendanceException")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("MeterRegistryがない場合はそのまま実行する")
+    void testMeasure_WithoutRegistry() {
+        ServiceMetricsAspect aspect = new ServiceMetricsAspect();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        SampleService proxy = factory.getProxy();
+
+        assertEquals("ok", proxy.clockIn());
+        assertThrows(AttendanceException.class, proxy::clockOut);
+    }
+
+    @Service
+    static class SampleService {
+
+        public String clockIn() {
+            return "ok";
+        }
+
+        public void clockOut() {
+            throw new AttendanceException(AttendanceException.NOT_CLOCKED_IN, "出勤打刻がされていません");
+        }
+
+        public void fail() {
+            throw new IllegalStateException("失敗");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.kintai.config;
+
+import com.kintai.entity.UserAccount;
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.session.PersistentManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SessionStoreConfigのテスト（組み込みH2のhttp_sessionsテーブルへ保存する）
+ */
+class SessionStoreConfigTest {
+
+    private EmbeddedDatabase database;
+    private SessionStoreConfig.SpringDataSourceStore store;
+    private PersistentManager manager;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript(new ClassPathResource("db/migration/V9__Create_http_sessions_table.sql").getPath())
+                .build();
+
+        StandardContext context = new StandardContext();
+        context.setName("kintai");
+        context.setParentClassLoader(getClass().getClassLoader());
+        manager = new PersistentManager();
+        manager.setContext(context);
+        store = new SessionStoreConfig.SpringDataSourceStore(database);
+        manager.setStore(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("認証情報を保存したセッションを別マネージャーから読み込める")
+    void testSaveAndLoad() throws Exception {
+        UserAccount user = new UserAccount();
+        user.setId(1L);
+        user.setUsername("tanaka");
+        user.setPassword("$2a$10$hash");
+        user.setEmployeeId(2L);
+        user.setRole(UserAccount.UserRole.EMPLOYEE);
+
+        Session session = manager.createEmptySession();
+        session.setNew(true);
+        session.setValid(true);
+        session.setCreationTime(System.currentTimeMillis());
+        session.setMaxInactiveInterval(600);
+        session.setId("session-1", false);
+        session.getSession().setAttribute("user", AuthPrincipal.of(user));
+        session.getSession().setAttribute("employeeId", 2L);
+
+        store.save(session);
+
+        assertEquals(1, store.getSize());
+        Session loaded = store.load("session-1");
+        assertNotNull(loaded);
+        AuthPrincipal principal = (AuthPrincipal) loaded.getSession().getAttribute("user");
+        assertEquals(new AuthPrincipal(1L, "tanaka", 2L, UserAccount.UserRole.EMPLOYEE), principal);
+        assertEquals(2L, loaded.getSession().getAttribute("employeeId"));
+
+        store.remove("session-1");
+        assertEquals(0, store.getSize());
+    }
+}
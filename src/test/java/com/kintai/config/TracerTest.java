@@ -0,0 +1,226 @@
+package com.kintai.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.*;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tracer・SpanFileExporter・TracingClientHttpRequestInterceptorのテスト
+ */
+class TracerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private SpanFileExporter exporter;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("traces.jsonl");
+        exporter = new SpanFileExporter(10);
+        ReflectionTestUtils.setField(exporter, "file", file.toString());
+        ReflectionTestUtils.setField(exporter, "batchSize", 4);
+        tracer = new Tracer();
+        ReflectionTestUtils.setField(tracer, "exporter", exporter);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        exporter.stop();
+    }
+
+    @Test
+    @DisplayName("子スパンは親スパンと同じトレースIDで親のスパンIDを持ち、終了すると親に戻る")
+    void childSpan_linkedToParent() {
+        TraceSpan server = tracer.startServerSpan("GET /api/attendance/history/{employeeId}", null);
+        TraceSpan child = tracer.startSpan("AttendanceService.getAttendanceHistory", TraceSpan.Kind.INTERNAL);
+
+        assertSame(child, tracer.currentSpan());
+        assertEquals(server.getTraceId(), child.getTraceId());
+        assertEquals(server.getSpanId(), child.getParentSpanId());
+        assertNull(server.getParentSpanId());
+
+        tracer.end(child);
+        assertSame(server, tracer.currentSpan());
+        tracer.end(server);
+        assertNull(tracer.currentSpan());
+        assertTrue(child.getEndEpochNanos() >= child.getStartEpochNanos());
+    }
+
+    @Test
+    @DisplayName("traceparentを受信した場合は同じトレースに連なり、サンプリングは受信したフラグによらず自ノードで判定する")
+    void startServerSpan_continuesIncomingTrace() {
+        TraceSpan sampled = tracer.startServerSpan("POST /api/reports/generate",
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", sampled.getTraceId());
+        assertEquals("00f067aa0ba902b7", sampled.getParentSpanId());
+        assertTrue(sampled.isSampled());
+        tracer.end(sampled);
+
+        ReflectionTestUtils.setField(tracer, "sampleRate", 0.0);
+        TraceSpan unsampled = tracer.startServerSpan("POST /api/reports/generate",
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        assertFalse(unsampled.isSampled());
+        assertNull(tracer.startSpan("ReportController.generateReport", TraceSpan.Kind.INTERNAL));
+        assertTrue(unsampled.traceparent().endsWith("-00"));
+        tracer.end(unsampled);
+    }
+
+    @Test
+    @DisplayName("サンプリング判定はトレースIDで決まり、同じトレースIDは常に同じ判定になる")
+    void startServerSpan_samplesByTraceId() {
+        ReflectionTestUtils.setField(tracer, "sampleRate", 0.5);
+        // 下位64ビットが小さいトレースIDは対象、大きいトレースIDは対象外
+        String low = "00-4bf92f3577b34da6000000000000000f-00f067aa0ba902b7-00";
+        String high = "00-4bf92f3577b34da67fffffffffffffff-00f067aa0ba902b7-01";
+        for (int i = 0; i < 3; i++) {
+            TraceSpan lowSpan = tracer.startServerSpan("GET /", low);
+            assertTrue(lowSpan.isSampled());
+            tracer.end(lowSpan);
+            TraceSpan highSpan = tracer.startServerSpan("GET /", high);
+            assertFalse(highSpan.isSampled());
+            tracer.end(highSpan);
+        }
+
+        int sampled = 0;
+        for (int i = 0; i < 2000; i++) {
+            TraceSpan span = tracer.startServerSpan("GET /", null);
+            sampled += span.isSampled() ? 1 : 0;
+            tracer.end(span);
+        }
+        assertTrue(sampled > 800 && sampled < 1200, "sampled=" + sampled);
+    }
+
+    @Test
+    @DisplayName("不正なtraceparentは無視して新しいトレースを開始する")
+    void startServerSpan_invalidTraceparent() {
+        for (String invalid : List.of("", "garbage", "00-00000000000000000000000000000000-00f067aa0ba902b7-01",
+                "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",
+                "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")) {
+            TraceSpan span = tracer.startServerSpan("GET /", invalid);
+            assertNull(span.getParentSpanId(), invalid);
+            assertNotEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.getTraceId());
+            assertTrue(span.traceparent().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+            tracer.end(span);
+        }
+    }
+
+    @Test
+    @DisplayName("サンプリング対象のスパンのみOTLP/JSON形式でファイルに出力される")
+    void export_writesOtlpJson() throws Exception {
+        TraceSpan server = tracer.startServerSpan("GET /api/vacation/{employeeId}", null);
+        server.setAttribute("http.response.status_code", 200);
+        TraceSpan child = tracer.startSpan("VacationRequestRepository.findByEmployeeId", TraceSpan.Kind.INTERNAL);
+        child.recordError(new IllegalStateException("接続失敗"));
+        tracer.end(child);
+        tracer.end(server);
+
+        ReflectionTestUtils.setField(tracer, "sampleRate", 0.0);
+        tracer.end(tracer.startServerSpan("GET /api/vacation/{employeeId}", null));
+        exporter.flush();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size());
+        JsonNode resourceSpans = new ObjectMapper().readTree(lines.get(0)).get("resourceSpans").get(0);
+        assertEquals("service.name", resourceSpans.at("/resource/attributes/0/key").asText());
+        JsonNode spans = resourceSpans.at("/scopeSpans/0/spans");
+        assertEquals(2, spans.size());
+
+        JsonNode childJson = spans.get(0);
+        assertEquals(child.getSpanId(), childJson.get("spanId").asText());
+        assertEquals(server.getSpanId(), childJson.get("parentSpanId").asText());
+        assertEquals(1, childJson.get("kind").asInt());
+        assertEquals(2, childJson.at("/status/code").asInt());
+        assertEquals("IllegalStateException: 接続失敗", childJson.at("/status/message").asText());
+
+        JsonNode serverJson = spans.get(1);
+        assertEquals(2, serverJson.get("kind").asInt());
+        assertFalse(serverJson.has("parentSpanId"));
+        assertEquals("200", serverJson.at("/attributes/0/value/intValue").asText());
+        assertEquals(1, serverJson.at("/status/code").asInt());
+    }
+
+    @Test
+    @DisplayName("出力待ちが上限を超えたスパンは破棄して件数を数える")
+    void export_dropsWhenQueueFull() throws Exception {
+        for (int i = 0; i < 12; i++) {
+            tracer.end(tracer.startServerSpan("GET /", null));
+        }
+        assertEquals(2, exporter.droppedSpans());
+
+        exporter.flush();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+    }
+
+    @Test
+    @DisplayName("出力ファイルが上限サイズを超えると退避して新しいファイルに出力し、世代数を超えた分は削除する")
+    void export_rollsOverBySize() throws Exception {
+        ReflectionTestUtils.setField(exporter, "maxFileSize", DataSize.ofBytes(1));
+        ReflectionTestUtils.setField(exporter, "maxHistory", 2);
+        List<String> traceIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            TraceSpan span = tracer.startServerSpan("GET /", null);
+            traceIds.add(span.getTraceId());
+            tracer.end(span);
+            exporter.flush();
+        }
+        exporter.stop();
+
+        // 1バッチごとに切り替わり、最新の3バッチ（現在のファイル・.1・.2）のみ残る
+        assertTrue(Files.readString(file).contains(traceIds.get(3)));
+        assertTrue(Files.readString(tempDir.resolve("traces.jsonl.1")).contains(traceIds.get(2)));
+        assertTrue(Files.readString(tempDir.resolve("traces.jsonl.2")).contains(traceIds.get(1)));
+        assertFalse(Files.exists(tempDir.resolve("traces.jsonl.3")));
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    @DisplayName("RestTemplateの送信にクライアントスパンを記録し、traceparentで伝播する")
+    void clientInterceptor_propagatesTraceparent() {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("tracer", tracer);
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(
+                new TracingClientHttpRequestInterceptor(beanFactory.getBeanProvider(Tracer.class)));
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+
+        TraceSpan serverSpan = tracer.startServerSpan("POST /api/reports/generate", null);
+        server.expect(requestTo("http://localhost:8081/reports/pdf"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("traceparent",
+                        startsWith("00-" + serverSpan.getTraceId() + "-")))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        restTemplate.postForObject("http://localhost:8081/reports/pdf", "{}", String.class);
+        assertSame(serverSpan, tracer.currentSpan());
+        tracer.end(serverSpan);
+        server.verify();
+        exporter.flush();
+
+        assertTrue(file.toFile().exists());
+    }
+}
@@ -6,6 +6,7 @@ import com.kintai.dto.ClockOutRequest;
 import com.kintai.dto.ClockResponse;
 import com.kintai.exception.AttendanceException;
 import com.kintai.service.AttendanceService;
+import com.kintai.service.ResourceVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +15,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import com.kintai.config.TestSecurityConfig;
 
+import java.time.YearMonth;
+import java.util.Optional;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -36,6 +44,9 @@ class AttendanceControllerTest {
     @MockBean
     private AttendanceService attendanceService;
     
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
@@ -145,4 +156,43 @@ class AttendanceControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("勤怠管理システムは正常に動作しています"));
     }
+    
+    @Test
+    @WithMockUser
+    @DisplayName("月末申請状態APIはETagが一致すれば304を返す")
+    void testMonthlyStatus_NotModified() throws Exception {
+        // Given
+        String etag = "\"abc123\"";
+        when(resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 1)))
+                .thenReturn(Optional.of(new ResourceVersionService.Version(etag, 1735689600000L)));
+        
+        // When & Then
+        mockMvc.perform(get("/api/attendance/monthly-status/1")
+                .param("yearMonth", "2025-01")
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(attendanceService, never()).getMonthlySubmissionStatus(eq(1L), any());
+    }
+    
+    @Test
+    @WithMockUser
+    @DisplayName("月末申請状態APIはETagと再検証指定を付けて返す")
+    void testMonthlyStatus_ETag() throws Exception {
+        // Given
+        String etag = "\"abc123\"";
+        when(resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 1)))
+                .thenReturn(Optional.of(new ResourceVersionService.Version(etag, 1735689600000L)));
+        when(attendanceService.getMonthlySubmissionStatus(1L, "2025-01"))
+                .thenReturn(new ClockResponse(true, null, "取得しました"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/attendance/monthly-status/1")
+                .param("yearMonth", "2025-01")
+                .header("If-None-Match", "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
 }
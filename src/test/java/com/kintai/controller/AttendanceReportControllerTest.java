@@ -3,24 +3,38 @@ package com.kintai.controller;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.AttendanceStatus;
 import com.kintai.entity.Employee;
+import com.kintai.config.ExecutorConfig;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.service.AttendanceReportService;
+import com.kintai.service.ReportBulkhead;
+import com.kintai.service.ResourceVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +42,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * 勤怠レポートコントローラーのテスト
  */
 @WebMvcTest(AttendanceReportController.class)
+@Import({ReportBulkhead.class, ExecutorConfig.class})
 @WithMockUser
 class AttendanceReportControllerTest {
     
@@ -37,12 +52,18 @@ class AttendanceReportControllerTest {
     @MockBean
     private AttendanceReportService attendanceReportService;
     
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+    
     @MockBean
     private EmployeeRepository employeeRepository;
     
     @MockBean
     private AttendanceRecordRepository attendanceRecordRepository;
     
+    @Autowired
+    private ReportBulkhead reportBulkhead;
+    
     private Employee testEmployee;
     private AttendanceRecord testRecord;
     
@@ -81,7 +102,10 @@ class AttendanceReportControllerTest {
             .thenReturn(mockPdf);
         
         // テスト実行
-        mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+        MvcResult result = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_PDF))
             .andExpect(header().string("Content-Disposition", 
@@ -89,6 +113,25 @@ class AttendanceReportControllerTest {
             .andExpect(content().bytes(mockPdf));
     }
     
+    @Test
+    void generateAttendanceReport_正常系_未更新の場合は304を返しPDFを生成しない() throws Exception {
+        // モックの設定
+        when(resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2024, 1)))
+            .thenReturn(Optional.of(new ResourceVersionService.Version("\"attendance-v1\"", 1704067200000L)));
+        
+        // テスト実行
+        MvcResult result = mockMvc.perform(get("/api/attendance/report/1/2024-01")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"attendance-v1\""))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"attendance-v1\""))
+            .andExpect(content().bytes(new byte[0]));
+        
+        verify(attendanceReportService, never()).generateAttendanceReportPdf(1L, "2024-01");
+    }
+    
     @Test
     void generateAttendanceReport_正常系_データなしの場合() throws Exception {
         // モックの設定
@@ -102,7 +145,10 @@ class AttendanceReportControllerTest {
             .thenReturn(mockPdf);
         
         // テスト実行
-        mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+        MvcResult result = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_PDF))
             .andExpect(header().string("Content-Disposition", 
@@ -118,14 +164,20 @@ class AttendanceReportControllerTest {
             .thenThrow(new IllegalArgumentException("従業員が見つかりません: 999"));
         
         // テスト実行
-        mockMvc.perform(get("/api/attendance/report/999/2024-01"))
+        MvcResult result = mockMvc.perform(get("/api/attendance/report/999/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
             .andExpect(status().isNotFound());
     }
     
     @Test
     void generateAttendanceReport_異常系_年月フォーマットが不正な場合() throws Exception {
         // テスト実行
-        mockMvc.perform(get("/api/attendance/report/1/invalid-format"))
+        MvcResult result = mockMvc.perform(get("/api/attendance/report/1/invalid-format"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
             .andExpect(status().isBadRequest());
     }
     
@@ -142,4 +194,86 @@ class AttendanceReportControllerTest {
         mockMvc.perform(get("/api/attendance/report/invalid/2024-01"))
             .andExpect(status().isBadRequest()); // 型変換エラー
     }
+    
+    @Test
+    void generateAttendanceReport_異常系_同時実行数の上限に達している場合() throws Exception {
+        // バルクヘッドの許可をすべて使用中にする
+        List<ReportBulkhead.Permit> permits = new ArrayList<>();
+        try {
+            for (int i = 0; i < reportBulkhead.limit(); i++) {
+                permits.add(reportBulkhead.acquire());
+            }
+            
+            // テスト実行
+            MvcResult result = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests());
+        } finally {
+            permits.forEach(ReportBulkhead.Permit::close);
+        }
+        
+        verify(attendanceReportService, never()).generateAttendanceReportPdf(1L, "2024-01");
+    }
+    
+    @Test
+    void generateAttendanceReport_正常系_同じレポートの同時リクエストは生成を共有する() throws Exception {
+        // PDF生成を完了させずに待機させる
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] mockPdf = "Mock PDF Content".getBytes();
+        when(attendanceReportService.generateAttendanceReportPdf(1L, "2024-01"))
+            .thenAnswer(invocation -> {
+                release.await(10, TimeUnit.SECONDS);
+                return mockPdf;
+            });
+        
+        // テスト実行（1件目の生成中に2件目を受け付ける）
+        MvcResult first = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult second = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        release.countDown();
+        
+        mockMvc.perform(asyncDispatch(first))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(mockPdf));
+        mockMvc.perform(asyncDispatch(second))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(mockPdf));
+        verify(attendanceReportService, times(1)).generateAttendanceReportPdf(1L, "2024-01");
+    }
+    
+    @Test
+    void generateAttendanceReport_正常系_生成中に勤怠記録が更新された場合は生成を共有しない() throws Exception {
+        // PDF生成を完了させずに待機させる
+        CountDownLatch release = new CountDownLatch(1);
+        byte[] mockPdf = "Mock PDF Content".getBytes();
+        when(attendanceReportService.generateAttendanceReportPdf(1L, "2024-01"))
+            .thenAnswer(invocation -> {
+                release.await(10, TimeUnit.SECONDS);
+                return mockPdf;
+            });
+        when(resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2024, 1)))
+            .thenReturn(Optional.of(new ResourceVersionService.Version("\"attendance-v1\"", 1704067200000L)));
+        
+        // テスト実行（1件目の生成中に勤怠記録が更新され、2件目を受け付ける）
+        MvcResult first = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        when(resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2024, 1)))
+            .thenReturn(Optional.of(new ResourceVersionService.Version("\"attendance-v2\"", 1704067260000L)));
+        MvcResult second = mockMvc.perform(get("/api/attendance/report/1/2024-01"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        release.countDown();
+        
+        mockMvc.perform(asyncDispatch(first))
+            .andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(second))
+            .andExpect(status().isOk());
+        verify(attendanceReportService, times(2)).generateAttendanceReportPdf(1L, "2024-01");
+    }
 }
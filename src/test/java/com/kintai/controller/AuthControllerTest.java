@@ -1,8 +1,10 @@
 package com.kintai.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.config.AuthTokenService;
 import com.kintai.entity.UserAccount;
 import com.kintai.service.AuthService;
+import com.kintai.service.LoginRateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,8 +15,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -37,6 +41,12 @@ class AuthControllerTest {
     @MockBean
     private PasswordEncoder passwordEncoder;
     
+    @MockBean
+    private AuthTokenService authTokenService;
+    
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
@@ -56,7 +66,8 @@ class AuthControllerTest {
     @Test
     void testLoginSuccess() throws Exception {
         // モック設定
-        when(authService.authenticate("testuser", "password")).thenReturn(Optional.of(testUser));
+        when(authService.authenticate("testuser", "password"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(testUser)));
         
         // リクエスト作成
         AuthController.LoginRequest loginRequest = new AuthController.LoginRequest();
@@ -64,10 +75,13 @@ class AuthControllerTest {
         loginRequest.setPassword("password");
         
         // テスト実行
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("ログインに成功しました"))
@@ -79,7 +93,8 @@ class AuthControllerTest {
     @Test
     void testLoginFailure() throws Exception {
         // モック設定
-        when(authService.authenticate(anyString(), anyString())).thenReturn(Optional.empty());
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
         
         // リクエスト作成
         AuthController.LoginRequest loginRequest = new AuthController.LoginRequest();
@@ -87,10 +102,13 @@ class AuthControllerTest {
         loginRequest.setPassword("wrongpassword");
         
         // テスト実行
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("ユーザー名またはパスワードが正しくありません"));
@@ -117,31 +135,43 @@ class AuthControllerTest {
     
     @Test
     void testLoginWithEmptyUsername() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        
         // リクエスト作成
         AuthController.LoginRequest loginRequest = new AuthController.LoginRequest();
         loginRequest.setUsername("");
         loginRequest.setPassword("password");
         
         // テスト実行
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
     }
     
     @Test
     void testLoginWithEmptyPassword() throws Exception {
+        when(authService.authenticate(anyString(), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        
         // リクエスト作成
         AuthController.LoginRequest loginRequest = new AuthController.LoginRequest();
         loginRequest.setUsername("testuser");
         loginRequest.setPassword("");
         
         // テスト実行
-        mockMvc.perform(post("/api/auth/login")
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
     }
 }
@@ -0,0 +1,120 @@
+package com.kintai.controller;
+
+import com.kintai.config.AuthPrincipal;
+import com.kintai.config.AuthTokenService;
+import com.kintai.entity.UserAccount;
+import com.kintai.service.AuthService;
+import com.kintai.service.LoginRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * LoginSessionAdviceのテスト（ログイン成功時のセッション作成）
+ */
+class LoginSessionAdviceTest {
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private AuthTokenService authTokenService;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @InjectMocks
+    private AuthController authController;
+
+    private MockMvc mockMvc;
+    private UserAccount testUser;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new LoginSessionAdvice())
+                .build();
+
+        testUser = new UserAccount();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setPassword("encodedPassword");
+        testUser.setRole(UserAccount.UserRole.EMPLOYEE);
+        testUser.setEmployeeId(1L);
+        testUser.setEnabled(true);
+    }
+
+    @Test
+    void login_照合完了後のディスパッチでセッションを作成する() throws Exception {
+        // 照合は完了させずに待機させる
+        CompletableFuture<Optional<UserAccount>> authentication = new CompletableFuture<>();
+        when(authService.authenticate("testuser", "password")).thenReturn(authentication);
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr("192.0.2.10");
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\",\"password\":\"password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // 照合用スレッドで完了してもセッションは作成しない
+        CompletableFuture.runAsync(() -> authentication.complete(Optional.of(testUser))).join();
+        assertNull(result.getRequest().getSession(false));
+        verify(loginRateLimiter).onLoginSuccess("testuser", "192.0.2.10");
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.role").value("EMPLOYEE"))
+                .andExpect(jsonPath("$.employeeId").value(1))
+                .andExpect(jsonPath("$.sessionId").exists());
+
+        MockHttpSession session = (MockHttpSession) result.getRequest().getSession(false);
+        assertNotNull(session);
+        assertEquals(AuthPrincipal.of(testUser), session.getAttribute("user"));
+        SecurityContext context = (SecurityContext) session.getAttribute(
+                HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+        assertEquals(AuthPrincipal.of(testUser), context.getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void login_認証失敗の場合はセッションを作成しない() throws Exception {
+        when(authService.authenticate("testuser", "wrong"))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"testuser\",\"password\":\"wrong\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+
+        assertNull(result.getRequest().getSession(false));
+    }
+}
@@ -48,6 +48,9 @@ class MonthlySubmitControllerTest {
 
     @MockBean
     private com.kintai.service.AttendanceService attendanceService;
+    
+    @MockBean
+    private com.kintai.service.ResourceVersionService resourceVersionService;
 
     private Employee testEmployee;
 
@@ -1,19 +1,32 @@
 package com.kintai.controller;
 
+import com.kintai.config.ExecutorConfig;
 import com.kintai.dto.ReportGenerateRequest;
 import com.kintai.dto.ReportGenerateResponse;
+import com.kintai.service.ReportBulkhead;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.containsString;
@@ -24,6 +37,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
  * レポートコントローラーのテスト
  */
 @WebMvcTest(ReportController.class)
+@Import({ReportBulkhead.class, ExecutorConfig.class})
 @AutoConfigureMockMvc(addFilters = false)
 class ReportControllerTest {
     
@@ -33,6 +47,9 @@ class ReportControllerTest {
     @MockBean
     private RestTemplate restTemplate;
     
+    @Autowired
+    private ReportBulkhead reportBulkhead;
+    
     private ReportGenerateRequest validRequest;
     private ReportGenerateResponse validResponse;
     
@@ -205,4 +222,71 @@ class ReportControllerTest {
                 .content("{\"employeeId\":2,\"yearMonth\":\"2025-09\"}"))
                 .andExpect(status().isUnsupportedMediaType());
     }
+    
+    @Test
+    @WithMockUser
+    void generateReport_異常系_同じレポートの生成待ちがタイムアウトした場合() throws Exception {
+        // PDF生成サービスの応答を完了させずに待機させる
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResponseEntity<ReportGenerateResponse> mockResponse = new ResponseEntity<>(validResponse, HttpStatus.OK);
+        when(restTemplate.exchange(
+            anyString(),
+            any(),
+            any(),
+            eq(ReportGenerateResponse.class)
+        )).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return mockResponse;
+        });
+        long timeoutMillis = reportBulkhead.timeoutMillis();
+        ReflectionTestUtils.setField(reportBulkhead, "timeoutMillis", 200L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 1件目の送信中に2件目を受け付ける
+            Future<?> first = executor.submit(() -> mockMvc.perform(post("/api/reports/generate")
+                    .contentType("application/json")
+                    .content("{\"employeeId\":2,\"yearMonth\":\"2025-09\"}"))
+                    .andExpect(status().isOk()));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            
+            // 2件目は許可を取得して結果を待ち、時間内に終わらなければ503を返す
+            mockMvc.perform(post("/api/reports/generate")
+                    .contentType("application/json")
+                    .content("{\"employeeId\":2,\"yearMonth\":\"2025-09\"}"))
+                    .andExpect(status().isServiceUnavailable());
+            assertEquals(1, reportBulkhead.inUse());
+            
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+            ReflectionTestUtils.setField(reportBulkhead, "timeoutMillis", timeoutMillis);
+        }
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(), eq(ReportGenerateResponse.class));
+    }
+    
+    @Test
+    @WithMockUser
+    void generateReport_異常系_同時実行数の上限に達している場合() throws Exception {
+        // バルクヘッドの許可をすべて使用中にする
+        List<ReportBulkhead.Permit> permits = new ArrayList<>();
+        try {
+            for (int i = 0; i < reportBulkhead.limit(); i++) {
+                permits.add(reportBulkhead.acquire());
+            }
+            
+            // テスト実行
+            mockMvc.perform(post("/api/reports/generate")
+                    .contentType("application/json")
+                    .content("{\"employeeId\":2,\"yearMonth\":\"2025-09\"}"))
+                    .andExpect(status().isTooManyRequests());
+        } finally {
+            permits.forEach(ReportBulkhead.Permit::close);
+        }
+        
+        verify(restTemplate, never()).exchange(anyString(), any(), any(), eq(ReportGenerateResponse.class));
+    }
 }
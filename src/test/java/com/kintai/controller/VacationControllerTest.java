@@ -1,10 +1,13 @@
 package com.kintai.controller;
 
+import com.kintai.config.AuthPrincipal;
 import com.kintai.dto.VacationRequestDto;
+import com.kintai.entity.UserAccount;
 import com.kintai.entity.VacationRequest;
 import com.kintai.entity.VacationStatus;
 import com.kintai.exception.VacationException;
 import com.kintai.service.VacationService;
+import com.kintai.service.ResourceVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -13,15 +16,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import com.kintai.config.TestSecurityConfig;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +47,9 @@ class VacationControllerTest {
     @MockBean
     private VacationService vacationService;
     
+    @MockBean
+    private ResourceVersionService resourceVersionService;
+    
     
     private VacationRequestDto.VacationData testVacationData;
     private VacationRequest testVacationRequest;
@@ -333,4 +345,81 @@ class VacationControllerTest {
                 .andExpect(jsonPath("$.errorCode").value("INTERNAL_ERROR"))
                 .andExpect(jsonPath("$.message").value("内部エラーが発生しました"));
     }
+    
+    @Test
+    @DisplayName("休暇カレンダー取得テスト - 管理者は全従業員")
+    @WithMockUser(roles = "ADMIN")
+    void testGetVacationCalendar_Success() throws Exception {
+        // Given
+        Map<LocalDate, List<Long>> absences = new LinkedHashMap<>();
+        absences.put(LocalDate.of(2025, 10, 1), Arrays.asList(1L, 2L));
+        absences.put(LocalDate.of(2025, 10, 2), Collections.emptyList());
+        
+        when(vacationService.getVacationCalendar(eq(LocalDate.of(2025, 10, 1)), eq(LocalDate.of(2025, 10, 2)), isNull()))
+                .thenReturn(absences);
+        
+        // When & Then
+        mockMvc.perform(get("/api/vacation/calendar")
+                .param("startDate", "2025-10-01")
+                .param("endDate", "2025-10-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.calendar['2025-10-01'].length()").value(2))
+                .andExpect(jsonPath("$.calendar['2025-10-02'].length()").value(0));
+    }
+    
+    @Test
+    @DisplayName("休暇カレンダー取得 - 期間不正エラーテスト")
+    @WithMockUser(roles = "ADMIN")
+    void testGetVacationCalendar_InvalidRange() throws Exception {
+        // Given
+        when(vacationService.getVacationCalendar(any(LocalDate.class), any(LocalDate.class), any()))
+                .thenThrow(new VacationException(VacationException.INVALID_DATE_RANGE, "開始日は終了日より前である必要があります"));
+        
+        // When & Then
+        mockMvc.perform(get("/api/vacation/calendar")
+                .param("startDate", "2025-10-02")
+                .param("endDate", "2025-10-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errorCode").value(VacationException.INVALID_DATE_RANGE));
+    }
+    
+    @Test
+    @DisplayName("休暇カレンダー取得 - 従業員は指定に関わらず自分の休暇のみ")
+    void testGetVacationCalendar_EmployeeSeesOwnOnly() throws Exception {
+        // Given
+        AuthPrincipal principal = new AuthPrincipal(100L, "tanaka", 5L, UserAccount.UserRole.EMPLOYEE);
+        Map<LocalDate, List<Long>> absences = new LinkedHashMap<>();
+        absences.put(LocalDate.of(2025, 10, 1), Collections.singletonList(5L));
+        when(vacationService.getVacationCalendar(any(LocalDate.class), any(LocalDate.class), any()))
+                .thenReturn(absences);
+        
+        // When & Then
+        mockMvc.perform(get("/api/vacation/calendar")
+                .param("startDate", "2025-10-01")
+                .param("endDate", "2025-10-01")
+                .param("employeeIds", "1", "2")
+                .with(authentication(new UsernamePasswordAuthenticationToken(
+                        principal, null, principal.getAuthorities()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.calendar['2025-10-01'][0]").value(5));
+        
+        verify(vacationService).getVacationCalendar(
+                LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 1), List.of(5L));
+    }
+    
+    @Test
+    @DisplayName("休暇カレンダー取得 - 従業員IDを特定できない従業員ロールは403")
+    @WithMockUser(roles = "EMPLOYEE")
+    void testGetVacationCalendar_EmployeeWithoutIdentityForbidden() throws Exception {
+        mockMvc.perform(get("/api/vacation/calendar")
+                .param("startDate", "2025-10-01")
+                .param("endDate", "2025-10-02"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errorCode").value("FORBIDDEN"));
+        
+        verify(vacationService, never()).getVacationCalendar(any(), any(), any());
+    }
 }
@@ -0,0 +1,90 @@
+package com.kintai.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.entity.VacationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * レスポンスDTOのJSON形式テスト（画面が参照する項目名を維持し、監査項目を含めないこと）
+ */
+class ResponseDtoTest {
+
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // Spring Bootの既定と同じく日時はISO-8601文字列で出力する
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new BlackbirdModule())
+                .build();
+    }
+
+    @Test
+    @DisplayName("勤怠記録 - エンティティと同じ項目名で、作成・更新日時を含まない")
+    void testAttendanceRecordResponse() throws Exception {
+        AttendanceRecord record = new AttendanceRecord(1L, LocalDate.of(2025, 10, 1));
+        record.setAttendanceId(10L);
+        record.setClockInTime(LocalDateTime.of(2025, 10, 1, 9, 0));
+        record.setCreatedAt(LocalDateTime.of(2025, 10, 1, 9, 0));
+        record.setUpdatedAt(LocalDateTime.of(2025, 10, 1, 9, 0));
+
+        JsonNode dto = objectMapper.valueToTree(AttendanceRecordResponse.from(record));
+        JsonNode entity = objectMapper.valueToTree(record);
+
+        assertEquals(10L, dto.get("attendanceId").asLong());
+        assertEquals("2025-10-01", dto.get("attendanceDate").asText());
+        assertEquals(entity.get("clockInTime"), dto.get("clockInTime"));
+        assertEquals(entity.get("attendanceStatus"), dto.get("attendanceStatus"));
+        assertEquals(entity.get("submissionStatus"), dto.get("submissionStatus"));
+        assertFalse(dto.has("createdAt"));
+        assertFalse(dto.has("updatedAt"));
+        assertTrue(objectMapper.writeValueAsBytes(AttendanceRecordResponse.from(record)).length
+                < objectMapper.writeValueAsBytes(record).length);
+    }
+
+    @Test
+    @DisplayName("社員 - isActive・retiredの項目名を維持する")
+    void testEmployeeResponse() throws Exception {
+        Employee employee = new Employee("EMP001", "田中", "太郎", "tanaka@example.com", LocalDate.of(2020, 4, 1));
+        employee.setEmployeeId(1L);
+        employee.setCreatedAt(LocalDateTime.of(2020, 4, 1, 0, 0));
+
+        JsonNode dto = objectMapper.valueToTree(EmployeeResponse.from(employee));
+
+        assertEquals("EMP001", dto.get("employeeCode").asText());
+        assertTrue(dto.get("isActive").asBoolean());
+        assertFalse(dto.get("retired").asBoolean());
+        assertFalse(dto.has("active"));
+        assertFalse(dto.has("createdAt"));
+    }
+
+    @Test
+    @DisplayName("有給申請 - 申請日として作成日時のみ含める")
+    void testVacationRequestResponse() throws Exception {
+        VacationRequest request = new VacationRequest(1L, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 2), "私用");
+        request.setVacationId(5L);
+        request.setCreatedAt(LocalDateTime.of(2025, 9, 20, 10, 0));
+        request.setUpdatedAt(LocalDateTime.of(2025, 9, 21, 10, 0));
+
+        JsonNode dto = objectMapper.valueToTree(VacationRequestResponse.from(request));
+
+        assertEquals(5L, dto.get("vacationId").asLong());
+        assertEquals("PENDING", dto.get("status").asText());
+        assertEquals("2025-09-20T10:00:00", dto.get("createdAt").asText());
+        assertFalse(dto.has("updatedAt"));
+    }
+}
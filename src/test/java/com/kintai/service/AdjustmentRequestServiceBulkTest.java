@@ -0,0 +1,189 @@
+package com.kintai.service;
+
+import com.kintai.dto.BulkApprovalResult;
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.exception.AttendanceException;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AdjustmentRequestServiceの一括承認/却下のユニットテスト
+ */
+class AdjustmentRequestServiceBulkTest {
+
+    @Mock
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    @Mock
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private TimeCalculator timeCalculator;
+
+    @InjectMocks
+    private AdjustmentRequestService adjustmentRequestService;
+
+    private AdjustmentRequest pendingWithRecord;
+    private AdjustmentRequest pendingWithoutRecord;
+    private AdjustmentRequest approvedRequest;
+    private AttendanceRecord existingRecord;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        LocalDate date = LocalDate.of(2025, 9, 10);
+        pendingWithRecord = adjustmentRequest(1L, 1L, date, AdjustmentRequest.AdjustmentStatus.PENDING);
+        pendingWithoutRecord = adjustmentRequest(2L, 2L, date, AdjustmentRequest.AdjustmentStatus.PENDING);
+        approvedRequest = adjustmentRequest(3L, 1L, date.minusDays(1), AdjustmentRequest.AdjustmentStatus.APPROVED);
+
+        existingRecord = new AttendanceRecord(1L, date);
+        existingRecord.setAttendanceId(100L);
+    }
+
+    private AdjustmentRequest adjustmentRequest(Long id, Long employeeId, LocalDate date,
+                                                AdjustmentRequest.AdjustmentStatus status) {
+        AdjustmentRequest request = new AdjustmentRequest(employeeId, date,
+                date.atTime(9, 0), date.atTime(18, 0), "打刻漏れのため");
+        request.setAdjustmentRequestId(id);
+        request.setStatus(status);
+        return request;
+    }
+
+    @Test
+    @DisplayName("修正申請一括承認 - 承認できない申請があっても他の申請は承認する")
+    void testBulkApprove_PartialFailure() {
+        // Given
+        when(adjustmentRequestRepository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(pendingWithRecord, pendingWithoutRecord, approvedRequest));
+        when(attendanceRecordRepository.findByEmployeeIdInAndAttendanceDateIn(anyCollection(), anyCollection()))
+                .thenReturn(Collections.singletonList(existingRecord));
+
+        // When
+        BulkApprovalResult result = adjustmentRequestService.bulkApproveAdjustmentRequests(
+                Arrays.asList(1L, 2L, 3L, 99L), 10L);
+
+        // Then
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(2, result.getFailureCount());
+        Map<Long, BulkApprovalResult.ItemResult> items = new HashMap<>();
+        result.getItems().forEach(item -> items.put(item.getId(), item));
+        assertTrue(items.get(1L).isSuccess());
+        assertTrue(items.get(2L).isSuccess());
+        assertEquals("INVALID_STATUS", items.get(3L).getErrorCode());
+        assertEquals("ADJUSTMENT_REQUEST_NOT_FOUND", items.get(99L).getErrorCode());
+
+        assertEquals(AdjustmentRequest.AdjustmentStatus.APPROVED, pendingWithRecord.getStatus());
+        assertEquals(10L, pendingWithRecord.getApprovedByEmployeeId());
+        assertNotNull(pendingWithRecord.getApprovedAt());
+        assertEquals(AdjustmentRequest.AdjustmentStatus.APPROVED, approvedRequest.getStatus());
+        assertNull(approvedRequest.getApprovedByEmployeeId());
+
+        // 既存の勤怠記録は更新し、記録のない日は新規作成する
+        assertEquals(pendingWithRecord.getNewClockIn(), existingRecord.getClockInTime());
+        assertEquals(pendingWithRecord.getNewClockOut(), existingRecord.getClockOutTime());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Iterable<AttendanceRecord>> records = ArgumentCaptor.forClass(Iterable.class);
+        verify(attendanceRecordRepository).saveAll(records.capture());
+        List<AttendanceRecord> saved = new ArrayList<>();
+        records.getValue().forEach(saved::add);
+        assertEquals(2, saved.size());
+        assertSame(existingRecord, saved.get(0));
+        assertEquals(2L, saved.get(1).getEmployeeId());
+        verify(timeCalculator, times(2)).calculateAttendanceMetrics(any(AttendanceRecord.class));
+
+        // 先読みはそれぞれ1回、保存は承認した申請のみまとめて行う
+        verify(adjustmentRequestRepository, times(1)).findAllById(anyIterable());
+        verify(adjustmentRequestRepository, never()).findById(anyLong());
+        verify(adjustmentRequestRepository).saveAll(eq(Arrays.asList(pendingWithRecord, pendingWithoutRecord)));
+    }
+
+    @Test
+    @DisplayName("修正申請一括承認 - 承認可能な申請がない場合は勤怠記録を読み込まない")
+    void testBulkApprove_NothingApprovable() {
+        when(adjustmentRequestRepository.findAllById(anyIterable()))
+                .thenReturn(Collections.singletonList(approvedRequest));
+
+        BulkApprovalResult result = adjustmentRequestService.bulkApproveAdjustmentRequests(
+                Arrays.asList(3L, 3L), 10L);
+
+        assertEquals(0, result.getSuccessCount());
+        assertEquals(1, result.getFailureCount());
+        verifyNoInteractions(attendanceRecordRepository);
+        verify(adjustmentRequestRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    @DisplayName("修正申請一括却下 - 却下できない申請があっても他の申請は却下する")
+    void testBulkReject_PartialFailure() {
+        when(adjustmentRequestRepository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(pendingWithRecord, approvedRequest));
+
+        BulkApprovalResult result = adjustmentRequestService.bulkRejectAdjustmentRequests(
+                Arrays.asList(1L, 3L, 99L), 10L, "  打刻時刻の根拠がありません  ");
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getFailureCount());
+        assertEquals("INVALID_STATUS", result.getItems().get(1).getErrorCode());
+        assertEquals("ADJUSTMENT_REQUEST_NOT_FOUND", result.getItems().get(2).getErrorCode());
+
+        assertEquals(AdjustmentRequest.AdjustmentStatus.REJECTED, pendingWithRecord.getStatus());
+        assertEquals("打刻時刻の根拠がありません", pendingWithRecord.getRejectionComment());
+        assertEquals(10L, pendingWithRecord.getRejectedByEmployeeId());
+        assertEquals(AdjustmentRequest.AdjustmentStatus.APPROVED, approvedRequest.getStatus());
+        verify(adjustmentRequestRepository).saveAll(eq(Collections.singletonList(pendingWithRecord)));
+        verifyNoInteractions(attendanceRecordRepository);
+    }
+
+    @Test
+    @DisplayName("修正申請一括却下 - 却下コメント未入力はエラー")
+    void testBulkReject_CommentRequired() {
+        AttendanceException exception = assertThrows(AttendanceException.class,
+                () -> adjustmentRequestService.bulkRejectAdjustmentRequests(Arrays.asList(1L), 10L, " "));
+
+        assertEquals("REJECTION_COMMENT_REQUIRED", exception.getErrorCode());
+        verifyNoInteractions(adjustmentRequestRepository);
+    }
+
+    @Test
+    @DisplayName("修正申請一括承認/却下 - ID未指定・上限件数超過はエラー")
+    void testBulk_InvalidIds() {
+        List<Long> tooMany = LongStream.rangeClosed(1, BulkRequestIds.MAX_SIZE + 1).boxed().toList();
+
+        assertEquals(AttendanceException.INVALID_REQUEST, assertThrows(AttendanceException.class,
+                () -> adjustmentRequestService.bulkApproveAdjustmentRequests(Collections.emptyList(), 10L)).getErrorCode());
+        assertEquals(AttendanceException.INVALID_REQUEST, assertThrows(AttendanceException.class,
+                () -> adjustmentRequestService.bulkApproveAdjustmentRequests(null, 10L)).getErrorCode());
+        assertEquals(AttendanceException.INVALID_REQUEST, assertThrows(AttendanceException.class,
+                () -> adjustmentRequestService.bulkApproveAdjustmentRequests(tooMany, 10L)).getErrorCode());
+        assertEquals(AttendanceException.INVALID_REQUEST, assertThrows(AttendanceException.class,
+                () -> adjustmentRequestService.bulkRejectAdjustmentRequests(tooMany, 10L, "却下")).getErrorCode());
+        verifyNoInteractions(adjustmentRequestRepository, attendanceRecordRepository);
+    }
+}
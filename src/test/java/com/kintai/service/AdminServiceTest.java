@@ -0,0 +1,137 @@
+package com.kintai.service;
+
+import com.kintai.dto.BulkApprovalResult;
+import com.kintai.entity.VacationRequest;
+import com.kintai.entity.VacationStatus;
+import com.kintai.event.VacationStatusChangedEvent;
+import com.kintai.exception.AttendanceException;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.VacationRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AdminServiceのユニットテスト
+ */
+class AdminServiceTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Mock
+    private VacationRequestRepository vacationRequestRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AdminService adminService;
+
+    private VacationRequest pendingRequest;
+    private VacationRequest approvedRequest;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        pendingRequest = new VacationRequest(1L, LocalDate.of(2025, 9, 20), LocalDate.of(2025, 9, 22), "帰省のため");
+        pendingRequest.setVacationId(10L);
+        pendingRequest.setDays(3);
+        pendingRequest.setStatus(VacationStatus.PENDING);
+
+        approvedRequest = new VacationRequest(2L, LocalDate.of(2025, 9, 24), LocalDate.of(2025, 9, 24), "通院のため");
+        approvedRequest.setVacationId(11L);
+        approvedRequest.setDays(1);
+        approvedRequest.setStatus(VacationStatus.APPROVED);
+    }
+
+    @Test
+    @DisplayName("有給申請一括承認 - 申請ごとに結果を返す")
+    void testBulkApproveVacations_PerItemResults() {
+        // Given
+        when(vacationRequestRepository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(pendingRequest, approvedRequest));
+
+        // When
+        BulkApprovalResult result = adminService.bulkApproveVacations(Arrays.asList(10L, 11L, 12L), true);
+
+        // Then
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(2, result.getFailureCount());
+        assertEquals(VacationStatus.APPROVED, pendingRequest.getStatus());
+        assertEquals(VacationStatus.APPROVED, approvedRequest.getStatus());
+
+        List<BulkApprovalResult.ItemResult> items = result.getItems();
+        assertEquals(3, items.size());
+        assertTrue(items.get(0).isSuccess());
+        assertEquals("INVALID_STATUS_CHANGE", items.get(1).getErrorCode());
+        assertEquals("VACATION_NOT_FOUND", items.get(2).getErrorCode());
+
+        // 事前読み込みは1回、保存は申請中のもののみまとめて行う
+        verify(vacationRequestRepository, times(1)).findAllById(anyIterable());
+        verify(vacationRequestRepository, never()).findById(anyLong());
+        verify(vacationRequestRepository, times(1)).saveAll(eq(Collections.singletonList(pendingRequest)));
+        // 更新した申請のみ残日数台帳向けのイベントを発行する
+        verify(eventPublisher, times(1)).publishEvent(any(VacationStatusChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("有給申請一括却下 - 重複IDは1件として処理する")
+    void testBulkRejectVacations_DuplicateIds() {
+        // Given
+        when(vacationRequestRepository.findAllById(anyIterable()))
+                .thenReturn(Collections.singletonList(pendingRequest));
+
+        // When
+        BulkApprovalResult result = adminService.bulkApproveVacations(Arrays.asList(10L, 10L), false);
+
+        // Then
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(0, result.getFailureCount());
+        assertEquals(VacationStatus.REJECTED, pendingRequest.getStatus());
+    }
+
+    @Test
+    @DisplayName("有給申請一括承認 - ID未指定はエラー")
+    void testBulkApproveVacations_EmptyIds() {
+        AttendanceException exception = assertThrows(AttendanceException.class,
+                () -> adminService.bulkApproveVacations(Collections.emptyList(), true));
+        assertEquals(AttendanceException.INVALID_REQUEST, exception.getErrorCode());
+        verifyNoInteractions(vacationRequestRepository);
+    }
+
+    @Test
+    @DisplayName("有給申請一括承認 - 上限件数を超える場合はエラー")
+    void testBulkApproveVacations_TooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, BulkRequestIds.MAX_SIZE + 1).boxed().toList();
+
+        AttendanceException exception = assertThrows(AttendanceException.class,
+                () -> adminService.bulkApproveVacations(ids, true));
+        assertEquals(AttendanceException.INVALID_REQUEST, exception.getErrorCode());
+        verifyNoInteractions(vacationRequestRepository);
+        verifyNoInteractions(eventPublisher);
+
+        // 上限件数ちょうどは処理する
+        adminService.bulkApproveVacations(ids.subList(0, BulkRequestIds.MAX_SIZE), true);
+        verify(vacationRequestRepository, times(1)).findAllById(anyIterable());
+    }
+}
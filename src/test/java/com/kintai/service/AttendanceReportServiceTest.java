@@ -5,12 +5,14 @@ import com.kintai.entity.AttendanceStatus;
 import com.kintai.entity.Employee;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -87,6 +89,21 @@ class AttendanceReportServiceTest {
         assertTrue(result.length > 0);
     }
     
+    @Test
+    void generateAttendanceReportPdf_変換時間とサイズを記録する() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(attendanceReportService, "meterRegistry", meterRegistry);
+        attendanceReportService.registerMetrics();
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(attendanceRecordRepository.findByEmployeeAndMonth(1L, 2024, 1))
+            .thenReturn(Arrays.asList(testRecord1, testRecord2));
+        
+        byte[] result = attendanceReportService.generateAttendanceReportPdf(1L, "2024-01");
+        
+        assertEquals(1, meterRegistry.get("kintai.pdf.render").timer().count());
+        assertEquals(result.length, meterRegistry.get("kintai.pdf.size").summary().totalAmount());
+    }
+    
     @Test
     void generateAttendanceReportPdf_正常系_データなしの場合() {
         // モックの設定
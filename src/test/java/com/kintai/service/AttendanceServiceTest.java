@@ -23,6 +23,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,9 @@ class AttendanceServiceTest {
     @Mock
     private VacationRequestRepository vacationRequestRepository;
     
+    @Mock
+    private ResourceVersionService resourceVersionService;
+    
     @InjectMocks
     private AttendanceService attendanceService;
     
@@ -114,8 +118,29 @@ class AttendanceServiceTest {
         
         assertEquals(AttendanceException.ALREADY_CLOCKED_IN, exception.getErrorCode());
         assertEquals("既に出勤打刻済みです", exception.getMessage());
+        // 想定内の業務エラーはスタックトレースを生成しない
+        assertEquals(0, exception.getStackTrace().length);
     }
-    
+
+    @Test
+    @DisplayName("想定外のエラーは原因例外とスタックトレースを保持するテスト")
+    void testGetAttendanceHistory_UnexpectedErrorKeepsCause() {
+        // Given
+        when(employeeRepository.findByEmployeeId(1L)).thenReturn(Optional.of(testEmployee));
+        when(attendanceRecordRepository.findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(
+                eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("接続失敗"));
+
+        // When & Then
+        AttendanceException exception = assertThrows(AttendanceException.class, () -> {
+            attendanceService.getAttendanceHistory(1L);
+        });
+
+        assertEquals("INTERNAL_ERROR", exception.getErrorCode());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertTrue(exception.getStackTrace().length > 0);
+    }
+
     @Test
     @DisplayName("退職者打刻エラーテスト")
     void testClockIn_RetiredEmployee() {
@@ -737,4 +762,19 @@ class AttendanceServiceTest {
         assertEquals("NOT_SUBMITTED", exception.getErrorCode());
         assertEquals("申請されていません", exception.getMessage());
     }
+    
+    @Test
+    @DisplayName("勤怠履歴のバージョン - 取得範囲と同じ期間で判定する")
+    void testGetAttendanceHistoryVersion() {
+        ResourceVersionService.Version monthVersion = new ResourceVersionService.Version("\"month\"", 0L);
+        ResourceVersionService.Version recentVersion = new ResourceVersionService.Version("\"recent\"", 0L);
+        when(resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 1))).thenReturn(Optional.of(monthVersion));
+        LocalDate today = LocalDate.now();
+        when(resourceVersionService.attendanceVersion(1L, today.minusDays(30), today)).thenReturn(Optional.of(recentVersion));
+        
+        assertEquals(monthVersion, attendanceService.getAttendanceHistoryVersion(1L, 2025, 1).orElseThrow());
+        assertEquals(recentVersion, attendanceService.getAttendanceHistoryVersion(1L, null, null).orElseThrow());
+        // 年のみの指定は年月指定なしと同じ扱い
+        assertEquals(recentVersion, attendanceService.getAttendanceHistoryVersion(1L, 2025, null).orElseThrow());
+    }
 }
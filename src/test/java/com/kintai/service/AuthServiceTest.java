@@ -0,0 +1,143 @@
+package com.kintai.service;
+
+import com.kintai.config.SecurityConfig;
+import com.kintai.entity.UserAccount;
+import com.kintai.exception.LoginBusyException;
+import com.kintai.repository.UserAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * AuthServiceのテスト
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserAccountRepository userAccountRepository;
+
+    private AuthService authService;
+    private UserAccountCache userAccountCache;
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = new SecurityConfig().passwordEncoder(5);
+        userAccountCache = new UserAccountCache();
+        ReflectionTestUtils.setField(userAccountCache, "userAccountRepository", userAccountRepository);
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userAccountRepository", userAccountRepository);
+        ReflectionTestUtils.setField(authService, "userAccountCache", userAccountCache);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(authService, "loginExecutor", (Executor) Runnable::run);
+    }
+
+    private UserAccount createUser(String encodedPassword) {
+        UserAccount user = new UserAccount();
+        user.setId(1L);
+        user.setUsername("tanaka");
+        user.setPassword(encodedPassword);
+        user.setRole(UserAccount.UserRole.EMPLOYEE);
+        user.setEmployeeId(1L);
+        user.setEnabled(true);
+        return user;
+    }
+
+    @Test
+    @DisplayName("旧形式・低強度のハッシュはログイン成功時に再ハッシュされる")
+    void testAuthenticateUpgradesLegacyHash() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("pass");
+        UserAccount user = createUser(legacyHash);
+        UserAccount stored = createUser(legacyHash);
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.of(user));
+        when(userAccountRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        Optional<UserAccount> result = authService.authenticate("tanaka", "pass").join();
+
+        assertTrue(result.isPresent());
+        // キャッシュの複製ではなくDBから読み直したアカウントを更新し、キャッシュは破棄する
+        ArgumentCaptor<UserAccount> captor = ArgumentCaptor.forClass(UserAccount.class);
+        verify(userAccountRepository).save(captor.capture());
+        assertSame(stored, captor.getValue());
+        assertEquals(0, userAccountCache.size());
+        String upgraded = captor.getValue().getPassword();
+        assertTrue(upgraded.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(passwordEncoder.matches("pass", upgraded));
+        assertFalse(passwordEncoder.upgradeEncoding(upgraded));
+    }
+
+    @Test
+    @DisplayName("現在の設定で生成したハッシュは再ハッシュしない")
+    void testAuthenticateCurrentHash() {
+        UserAccount user = createUser(passwordEncoder.encode("pass"));
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.of(user));
+
+        assertTrue(authService.authenticate("tanaka", "pass").join().isPresent());
+        verify(userAccountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("パスワード不一致の場合は認証失敗し、再ハッシュしない")
+    void testAuthenticateWrongPassword() {
+        UserAccount user = createUser(new BCryptPasswordEncoder(4).encode("pass"));
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.of(user));
+
+        assertTrue(authService.authenticate("tanaka", "wrong").join().isEmpty());
+        verify(userAccountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("照合用プールが満杯の場合はLoginBusyException")
+    void testAuthenticateRejectedWhenBusy() {
+        UserAccount user = createUser(passwordEncoder.encode("pass"));
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.of(user));
+        ReflectionTestUtils.setField(authService, "loginExecutor", (Executor) task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        LoginBusyException e = assertThrows(LoginBusyException.class,
+                () -> authService.authenticate("tanaka", "pass"));
+        assertEquals(LoginBusyException.LOGIN_BUSY, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("照合が時間内に始まらない場合はLoginBusyExceptionで完了し、待ち行列の照合は実行しない")
+    void testAuthenticateTimesOutAndCancelsQueuedCheck() {
+        UserAccount user = createUser(passwordEncoder.encode("pass"));
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.of(user));
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        List<Runnable> queued = new ArrayList<>();
+        ReflectionTestUtils.setField(authService, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(authService, "loginExecutor", (Executor) queued::add);
+        ReflectionTestUtils.setField(authService, "loginTimeoutMs", 50L);
+
+        CompletableFuture<Optional<UserAccount>> result = authService.authenticate("tanaka", "pass");
+
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(LoginBusyException.class, e.getCause());
+        // タイムアウト後にスレッドが空いても取り消し済みの照合は行わない
+        queued.forEach(Runnable::run);
+        verifyNoInteractions(encoder);
+        verify(userAccountRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,167 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.entity.VacationStatus;
+import com.kintai.event.VacationStatusChangedEvent;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.VacationRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * LeaveBalanceLedgerのユニットテスト
+ */
+class LeaveBalanceLedgerTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private VacationRequestRepository vacationRequestRepository;
+
+    @InjectMocks
+    private LeaveBalanceLedger leaveBalanceLedger;
+
+    private LocalDate requestDate;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Employee employee = new Employee("EMP001", "田中", "太郎", "tanaka@example.com", LocalDate.of(2020, 4, 1));
+        employee.setEmployeeId(1L);
+        when(employeeRepository.findByEmployeeId(1L)).thenReturn(Optional.of(employee));
+        when(vacationRequestRepository.sumApprovedDaysInPeriod(eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(2);
+
+        // 当年内の申請日（年末の場合も当年に収まるよう12/31を上限とする）
+        LocalDate today = LocalDate.now();
+        requestDate = today.plusDays(1).getYear() == today.getYear() ? today.plusDays(1) : today;
+    }
+
+    @Test
+    @DisplayName("残日数取得 - 集計は初回のみ行う")
+    void testGetRemainingDays_AggregatesOnce() {
+        assertEquals(8, leaveBalanceLedger.getRemainingDays(1L));
+        assertEquals(8, leaveBalanceLedger.getRemainingDays(1L));
+
+        verify(employeeRepository, times(1)).findByEmployeeId(1L);
+        verify(vacationRequestRepository, times(1)).sumApprovedDaysInPeriod(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("残日数取得 - 承認/取消イベントで台帳を破棄し、次回参照時に再集計する")
+    void testOnVacationStatusChanged_EvictsEntry() {
+        assertEquals(8, leaveBalanceLedger.getRemainingDays(1L));
+
+        when(vacationRequestRepository.sumApprovedDaysInPeriod(eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(5);
+        leaveBalanceLedger.onVacationStatusChanged(new VacationStatusChangedEvent(
+                10L, 1L, requestDate, requestDate, 3, VacationStatus.PENDING, VacationStatus.APPROVED));
+        assertEquals(5, leaveBalanceLedger.getRemainingDays(1L));
+
+        // 却下は承認済み日数に影響しないため台帳を破棄しない
+        leaveBalanceLedger.onVacationStatusChanged(new VacationStatusChangedEvent(
+                11L, 1L, requestDate, requestDate, 1, VacationStatus.PENDING, VacationStatus.REJECTED));
+        assertEquals(5, leaveBalanceLedger.getRemainingDays(1L));
+
+        verify(vacationRequestRepository, times(2)).sumApprovedDaysInPeriod(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("残日数取得 - 集計中に台帳が破棄された場合は集計結果を台帳に載せない")
+    void testGetRemainingDays_EvictedWhileLoading() {
+        when(vacationRequestRepository.sumApprovedDaysInPeriod(eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> {
+                    // 集計中に承認がコミットされ、台帳が破棄された
+                    leaveBalanceLedger.evict(1L);
+                    return 2;
+                })
+                .thenReturn(5);
+
+        assertEquals(8, leaveBalanceLedger.getRemainingDays(1L));
+        assertEquals(5, leaveBalanceLedger.getRemainingDays(1L));
+        assertEquals(5, leaveBalanceLedger.getRemainingDays(1L));
+
+        verify(vacationRequestRepository, times(2)).sumApprovedDaysInPeriod(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("残日数取得 - 集計中も台帳の破棄は待たされず、集計結果は台帳に載せない")
+    void testGetRemainingDays_EvictDoesNotWaitForLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch finishLoad = new CountDownLatch(1);
+        when(vacationRequestRepository.sumApprovedDaysInPeriod(eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    finishLoad.await(5, TimeUnit.SECONDS);
+                    return 2;
+                })
+                .thenReturn(5);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reader = executor.submit(() -> leaveBalanceLedger.getRemainingDays(1L));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture.runAsync(leaveBalanceLedger::evictAll).get(1, TimeUnit.SECONDS);
+
+            finishLoad.countDown();
+            assertEquals(8, reader.get(5, TimeUnit.SECONDS));
+            assertEquals(5, leaveBalanceLedger.getRemainingDays(1L));
+        } finally {
+            finishLoad.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("申請可否判定用の残日数は台帳を使わず集計する")
+    void testCalculateRemainingDays_BypassesLedger() {
+        assertEquals(8, leaveBalanceLedger.getRemainingDays(1L));
+
+        // 他ノードで承認された（このノードの台帳には反映されていない）
+        when(vacationRequestRepository.sumApprovedDaysInPeriod(eq(1L), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(9);
+
+        assertEquals(1, leaveBalanceLedger.calculateRemainingDays(1L));
+        assertEquals(8, leaveBalanceLedger.getRemainingDays(1L));
+    }
+
+    @Test
+    @DisplayName("台帳の有効期間 - 期間を過ぎたエントリは期限切れ（0以下は無期限）")
+    void testLedgerEntry_IsExpired() {
+        LeaveBalanceLedger.LedgerEntry entry = new LeaveBalanceLedger.LedgerEntry(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31), 10, 2, 0L);
+
+        assertFalse(entry.isExpired(299_999_999_999L, 300));
+        assertTrue(entry.isExpired(300_000_000_000L, 300));
+        assertFalse(entry.isExpired(Long.MAX_VALUE, 0));
+    }
+
+    @Test
+    @DisplayName("残日数取得 - 従業員不存在の場合は0")
+    void testGetRemainingDays_EmployeeNotFound() {
+        when(employeeRepository.findByEmployeeId(999L)).thenReturn(Optional.empty());
+
+        assertEquals(0, leaveBalanceLedger.getRemainingDays(999L));
+        verify(vacationRequestRepository, never()).sumApprovedDaysInPeriod(eq(999L), any(), any());
+    }
+}
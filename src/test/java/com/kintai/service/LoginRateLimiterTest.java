@@ -0,0 +1,185 @@
+package com.kintai.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * LoginRateLimiterのテスト
+ */
+class LoginRateLimiterTest {
+
+    private static final Instant START = Instant.parse("2025-10-01T00:00:00Z");
+
+    private LoginRateLimiter loginRateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginRateLimiter = new LoginRateLimiter();
+        ReflectionTestUtils.setField(loginRateLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(loginRateLimiter, "usernameLimit", 3);
+        ReflectionTestUtils.setField(loginRateLimiter, "ipLimit", 5);
+        ReflectionTestUtils.setField(loginRateLimiter, "maxKeys", 4);
+        loginRateLimiter.registerMetrics();
+        setTime(0);
+    }
+
+    private void setTime(long seconds) {
+        loginRateLimiter.setClock(Clock.fixed(START.plusSeconds(seconds), ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("同一ユーザー名の失敗が上限を超えると拒否する")
+    void testUsernameLimit() {
+        assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.1"));
+        assertEquals(0, loginRateLimiter.tryAcquire("TANAKA", "10.0.0.2"));
+        assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.3"));
+
+        setTime(10);
+        long retryAfter = loginRateLimiter.tryAcquire("tanaka", "10.0.0.4");
+        assertEquals(50, retryAfter);
+        assertEquals(0, loginRateLimiter.tryAcquire("sato", "10.0.0.4"));
+        assertEquals(1.0, meterRegistry.get("kintai.login.rate.limited").tag("key", "username").counter().count());
+    }
+
+    @Test
+    @DisplayName("同一IPからの失敗が上限を超えると拒否する")
+    void testIpLimit() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, loginRateLimiter.tryAcquire("user" + i, "10.0.0.1"));
+        }
+        assertTrue(loginRateLimiter.tryAcquire("user9", "10.0.0.1") > 0);
+        assertEquals(1.0, meterRegistry.get("kintai.login.rate.limited").tag("key", "ip").counter().count());
+    }
+
+    @Test
+    @DisplayName("前ウィンドウの試行は経過に応じて重みが減る")
+    void testSlidingWindow() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.tryAcquire("tanaka", "10.0.0.1");
+        }
+        // 次ウィンドウの開始直後は前ウィンドウの3件がほぼそのまま残る
+        setTime(61);
+        assertTrue(loginRateLimiter.tryAcquire("tanaka", "10.0.0.1") > 0);
+        // 前ウィンドウの重みが約1/3まで減ると、その分（2件）だけ許可される
+        setTime(101);
+        assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.1"));
+        assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.1"));
+        assertTrue(loginRateLimiter.tryAcquire("tanaka", "10.0.0.1") > 0);
+        // 2ウィンドウ以上経過すると全件許可
+        setTime(300);
+        assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("ログイン成功でユーザー名の失敗回数をリセットし、IPの確保分を戻す")
+    void testResetOnSuccess() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.tryAcquire("tanaka", "10.0.0.1");
+        }
+        loginRateLimiter.onLoginSuccess("tanaka", "10.0.0.1");
+        assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("成功・中断した試行は数えない")
+    void testOnlyFailuresCount() {
+        // 同一IPから上限（5件）を超えて成功しても拒否しない
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, loginRateLimiter.tryAcquire("user" + i, "10.0.0.1"));
+            loginRateLimiter.onLoginSuccess("user" + i, "10.0.0.1");
+        }
+        // 混雑等で照合しなかった試行も数えない
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, loginRateLimiter.tryAcquire("tanaka", "10.0.0.2"));
+            loginRateLimiter.release("tanaka", "10.0.0.2");
+        }
+        // ユーザー名で拒否した試行はIPの確保分も戻す
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, loginRateLimiter.tryAcquire("sato", "10.0.0.3"));
+        }
+        assertTrue(loginRateLimiter.tryAcquire("sato", "10.0.0.3") > 0);
+        assertTrue(loginRateLimiter.tryAcquire("sato", "10.0.0.3") > 0);
+        assertEquals(0, loginRateLimiter.tryAcquire("suzuki", "10.0.0.3"));
+        assertEquals(0, loginRateLimiter.tryAcquire("takahashi", "10.0.0.3"));
+        assertTrue(loginRateLimiter.tryAcquire("ito", "10.0.0.3") > 0);
+    }
+
+    @Test
+    @DisplayName("同時に届いた試行も上限件数までしか許可しない")
+    void testConcurrentAttemptsDoNotExceedLimit() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                String ip = "10.0.0." + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return loginRateLimiter.tryAcquire("tanaka", ip);
+                }));
+            }
+            start.countDown();
+            int allowed = 0;
+            for (Future<Long> result : results) {
+                if (result.get(5, TimeUnit.SECONDS) == 0) {
+                    allowed++;
+                }
+            }
+            assertEquals(3, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("キー数は上限を超えず、試行のないキーは破棄される")
+    void testBoundedKeys() {
+        for (int i = 0; i < 10; i++) {
+            loginRateLimiter.tryAcquire("user" + i, "10.0.1." + i);
+        }
+        assertEquals(8, loginRateLimiter.trackedKeyCount());
+
+        setTime(200);
+        loginRateLimiter.tryAcquire("new-user", "10.0.2.1");
+        assertEquals(2, loginRateLimiter.trackedKeyCount());
+    }
+
+    @Test
+    @DisplayName("キー数が上限に達しても試行中のキーは破棄せず、新しいキーは共有の上限で数える")
+    void testLiveKeysSurviveWhenFull() {
+        for (int i = 0; i < 3; i++) {
+            loginRateLimiter.tryAcquire("tanaka", "10.0.0.1");
+        }
+        assertTrue(loginRateLimiter.tryAcquire("tanaka", "10.0.0.1") > 0);
+
+        // 上限（4キー）を大きく超える別々のユーザー名・IPから試行しても tanaka の回数は消えない
+        int allowed = 0;
+        for (int i = 0; i < 20; i++) {
+            if (loginRateLimiter.tryAcquire("user" + i, "10.0.1." + i) == 0) {
+                allowed++;
+            }
+        }
+        assertTrue(loginRateLimiter.tryAcquire("tanaka", "10.0.0.1") > 0);
+        assertEquals(8, loginRateLimiter.trackedKeyCount());
+        // 追跡できた3キー分と、共有のユーザー名の上限（3件）のみ許可する
+        assertEquals(6, allowed);
+    }
+}
@@ -0,0 +1,118 @@
+package com.kintai.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PayrollExportServiceのテスト（組み込みH2で実際にSQLを発行する）
+ */
+class PayrollExportServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PayrollExportService payrollExportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE employees (employee_id BIGINT PRIMARY KEY, employee_code VARCHAR(20), "
+                + "last_name VARCHAR(50), first_name VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, attendance_date DATE NOT NULL, clock_in_time TIMESTAMP, "
+                + "clock_out_time TIMESTAMP, late_minutes INT DEFAULT 0, early_leave_minutes INT DEFAULT 0, "
+                + "overtime_minutes INT DEFAULT 0, night_shift_minutes INT DEFAULT 0, "
+                + "attendance_status VARCHAR(20), attendance_fixed_flag BOOLEAN DEFAULT FALSE)");
+        jdbcTemplate.update("INSERT INTO employees VALUES (1, 'EMP001', '田中', '太郎'), (2, 'EMP002', 'O\"Brien', 'Pat, Jr.')");
+        jdbcTemplate.update("INSERT INTO attendance_records (employee_id, attendance_date, clock_in_time, clock_out_time, "
+                + "late_minutes, overtime_minutes, attendance_status, attendance_fixed_flag) VALUES "
+                + "(1, '2025-10-01', '2025-10-01 09:10:00', '2025-10-01 19:00:00', 10, 50, 'LATE', TRUE), "
+                + "(2, '2025-10-02', '2025-10-02 09:00:00', NULL, 0, 0, 'NORMAL', FALSE), "
+                + "(1, '2025-11-01', '2025-11-01 09:00:00', '2025-11-01 18:00:00', 0, 0, 'NORMAL', FALSE)");
+
+        payrollExportService = new PayrollExportService();
+        ReflectionTestUtils.setField(payrollExportService, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("CSV出力 - 対象月のみ社員名付きで出力する")
+    void testExportCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        payrollExportService.export(YearMonth.of(2025, 10), PayrollExportService.Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("\uFEFF社員コード,氏名,日付"));
+        String[] lines = csv.split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("EMP001,田中 太郎,2025-10-01,2025-10-01 09:10:00,2025-10-01 19:00:00,10,0,50,0,遅刻,確定", lines[1]);
+        assertEquals("EMP002,\"O\"\"Brien Pat, Jr.\",2025-10-02,2025-10-02 09:00:00,,0,0,0,0,正常,未確定", lines[2]);
+    }
+
+    @Test
+    @DisplayName("CSV出力 - 数式として解釈されうる文字列は'を付けて引用符で囲む")
+    void testExportCsv_NeutralizesFormulas() throws IOException {
+        jdbcTemplate.update("INSERT INTO employees VALUES (3, '=1+2', '@SUM(A1)', '-x'), (4, '+81', 'a=b', 'c')");
+        jdbcTemplate.update("INSERT INTO attendance_records (employee_id, attendance_date, late_minutes, attendance_status) "
+                + "VALUES (3, '2025-10-03', 0, 'NORMAL'), (4, '2025-10-04', 0, 'NORMAL')");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        payrollExportService.export(YearMonth.of(2025, 10), PayrollExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(5, lines.length);
+        assertEquals("\"'=1+2\",\"'@SUM(A1) -x\",2025-10-03,,,0,0,0,0,正常,未確定", lines[3]);
+        // 先頭以外の記号・数値の列はそのまま出力する
+        assertEquals("\"'+81\",a=b c,2025-10-04,,,0,0,0,0,正常,未確定", lines[4]);
+    }
+
+    @Test
+    @DisplayName("XLSX出力 - 最小構成のブックをストリーミングで出力する")
+    void testExportXlsx() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        payrollExportService.export(YearMonth.of(2025, 10), PayrollExportService.Format.XLSX, out);
+
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertTrue(entries.containsKey("[Content_Types].xml"));
+        assertTrue(entries.containsKey("xl/workbook.xml"));
+        String sheet = entries.get("xl/worksheets/sheet1.xml");
+        assertEquals(3, sheet.split("<row>").length - 1);
+        assertTrue(sheet.contains("<t>田中 太郎</t>"));
+        assertTrue(sheet.contains("<t>O&quot;Brien Pat, Jr.</t>"));
+        assertTrue(sheet.contains("<c><v>50</v></c>"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.kintai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.dto.PunchImportResult;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Enumeration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PunchImportServiceのテスト（組み込みH2で実際にSQLを発行する）
+ */
+class PunchImportServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PunchImportService punchImportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE employees (employee_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_code VARCHAR(20) NOT NULL, is_active BOOLEAN NOT NULL, retirement_date DATE)");
+        jdbcTemplate.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, attendance_date DATE NOT NULL, clock_in_time TIMESTAMP, "
+                + "clock_out_time TIMESTAMP, late_minutes INT NOT NULL DEFAULT 0, early_leave_minutes INT NOT NULL DEFAULT 0, "
+                + "overtime_minutes INT NOT NULL DEFAULT 0, night_shift_minutes INT NOT NULL DEFAULT 0, "
+                + "attendance_status VARCHAR(20) NOT NULL, attendance_fixed_flag BOOLEAN NOT NULL DEFAULT FALSE, "
+                + "submission_status VARCHAR(20), created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.update("INSERT INTO employees (employee_id, employee_code, is_active) VALUES (1, 'EMP001', TRUE)");
+        jdbcTemplate.update("INSERT INTO employees (employee_id, employee_code, is_active) VALUES (2, 'EMP002', FALSE)");
+
+        punchImportService = new PunchImportService();
+        ReflectionTestUtils.setField(punchImportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(punchImportService, "namedParameterJdbcTemplate", new NamedParameterJdbcTemplate(jdbcTemplate));
+        ReflectionTestUtils.setField(punchImportService, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(database)));
+        ReflectionTestUtils.setField(punchImportService, "timeCalculator", new TimeCalculator());
+        ReflectionTestUtils.setField(punchImportService, "objectMapper", new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private InputStream text(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("CSV取込 - 出勤・退勤を集約して勤怠時間を計算する")
+    void testImportCsv_AggregatesPunches() throws IOException {
+        String csv = "employee_code,punch_time,punch_type\n"
+                + "EMP001,2025-10-01 09:10:00,IN\n"
+                + "EMP001,2025-10-01 09:05:00,IN\n"
+                + "EMP001,2025-10-01 19:00:00,OUT\n"
+                + "EMP999,2025-10-01 09:00:00,IN\n"
+                + "EMP002,2025-10-01 09:00:00,IN\n"
+                + "EMP001,2025-10-02 09:00,退勤x\n";
+
+        PunchImportResult result = punchImportService.importPunches(text(csv), PunchImportService.Format.CSV);
+
+        assertEquals(6, result.getTotalRows());
+        assertEquals(3, result.getImportedPunches());
+        assertEquals(1, result.getInsertedRecords());
+        assertEquals(3, result.getErrorCount());
+        assertEquals(5, result.getErrors().get(0).getRow());
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM attendance_records WHERE employee_id = 1");
+        assertEquals(5, ((Number) row.get("LATE_MINUTES")).intValue());
+        assertEquals(55, ((Number) row.get("OVERTIME_MINUTES")).intValue());
+        assertEquals("LATE", row.get("ATTENDANCE_STATUS"));
+    }
+
+    @Test
+    @DisplayName("CSV取込 - 引用符で囲まれた列のカンマ・改行・二重引用符は値として扱う")
+    void testImportCsv_QuotedFields() throws IOException {
+        String csv = "\"社員コード\",\"打刻時刻\",\"打刻種別\",\"備考\"\r\n"
+                + "\"EMP001\",\"2025-10-01 09:00:00\",\"IN\",\"正面ゲート, 1F\"\r\n"
+                + "EMP001,2025-10-01 18:00:00,OUT,\"カード\"\"忘れ\"\", 手入力\n守衛室で確認\"\r\n"
+                + "\"EMP,9\",2025-10-01 09:00:00,IN\r\n";
+
+        PunchImportResult result = punchImportService.importPunches(text(csv), PunchImportService.Format.CSV);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(2, result.getImportedPunches());
+        assertEquals(1, result.getInsertedRecords());
+        assertEquals(1, result.getErrorCount());
+        // 複数行の列を含むレコードの次は5行目から始まる
+        assertEquals(5, result.getErrors().get(0).getRow());
+        assertEquals("EMP,9", result.getErrors().get(0).getEmployeeCode());
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM attendance_records WHERE employee_id = 1");
+        assertNotNull(row.get("CLOCK_IN_TIME"));
+        assertNotNull(row.get("CLOCK_OUT_TIME"));
+    }
+
+    @Test
+    @DisplayName("CSV取込 - 最大文字数を超えるレコードは行エラーとし、次のレコードから取り込みを続ける")
+    void testImportCsv_RecordTooLong() throws IOException {
+        String longField = "x".repeat(PunchImportService.MAX_RECORD_LENGTH);
+        String csv = "EMP001,2025-10-01 09:00:00,IN," + longField + "\n"
+                + "EMP001,2025-10-01 12:00:00,IN,\"" + longField + "\n" + longField + "\"\n"
+                + "EMP001,2025-10-01 18:00:00,OUT\n";
+
+        PunchImportResult result = punchImportService.importPunches(text(csv), PunchImportService.Format.CSV);
+
+        assertEquals(3, result.getTotalRows());
+        assertEquals(1, result.getImportedPunches());
+        assertEquals(2, result.getErrorCount());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        // 引用符内の改行は読み飛ばす間も行数に数える
+        assertEquals(2, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getMessage().contains("長すぎます"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_records", Integer.class));
+    }
+
+    @Test
+    @DisplayName("JSON取込 - 既存記録とマージし、深夜の退勤は前日に計上する")
+    void testImportJson_UpsertsExistingRecord() throws IOException {
+        punchImportService.importPunches(text("EMP001,2025-10-01T21:00:00,IN\n"), PunchImportService.Format.CSV);
+
+        String json = "[{\"employeeCode\":\"EMP001\",\"punchTime\":\"2025-10-02T02:00:00\",\"punchType\":\"OUT\","
+                + "\"device\":{\"id\":\"gate-1\"}}]";
+        PunchImportResult result = punchImportService.importPunches(text(json), PunchImportService.Format.JSON);
+
+        assertEquals(1, result.getUpdatedRecords());
+        assertEquals(0, result.getInsertedRecords());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attendance_records", Integer.class));
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT * FROM attendance_records WHERE employee_id = 1");
+        assertEquals(240, ((Number) row.get("NIGHT_SHIFT_MINUTES")).intValue());
+    }
+
+    @Test
+    @DisplayName("取込 - 確定済みの勤怠は更新しない")
+    void testImport_SkipsFixedRecord() throws IOException {
+        punchImportService.importPunches(text("EMP001,2025-10-01 09:00:00,IN\n"), PunchImportService.Format.CSV);
+        jdbcTemplate.update("UPDATE attendance_records SET attendance_fixed_flag = TRUE");
+
+        PunchImportResult result = punchImportService.importPunches(
+                text("EMP001,2025-10-01 18:00:00,OUT\n"), PunchImportService.Format.CSV);
+
+        assertEquals(1, result.getErrorCount());
+        assertEquals(0, result.getUpdatedRecords());
+        assertNull(jdbcTemplate.queryForMap("SELECT clock_out_time FROM attendance_records").get("CLOCK_OUT_TIME"));
+    }
+
+    @Test
+    @DisplayName("取込 - チャンク単位で登録し、エラー明細は上限件数までに抑える")
+    void testImport_LargeStreamIsChunked() throws IOException {
+        int days = PunchImportService.CHUNK_SIZE * 2 + 10;
+        int badRows = PunchImportResult.MAX_ERROR_DETAILS + 5;
+        // 1行ずつ生成するストリーム（全体をメモリに展開しない）
+        Enumeration<InputStream> lines = new Enumeration<>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return index < days + badRows;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int i = index++;
+                String line = i < days
+                        ? String.format("EMP001,%s 09:00:00,IN\n", LocalDate.of(2020, 1, 1).plusDays(i))
+                        : "EMP404,2025-10-01 09:00:00,IN\n";
+                return text(line);
+            }
+        };
+
+        PunchImportResult result = punchImportService.importPunches(
+                new SequenceInputStream(lines), PunchImportService.Format.CSV);
+
+        assertEquals(days, result.getInsertedRecords());
+        assertEquals(badRows, result.getErrorCount());
+        assertEquals(PunchImportResult.MAX_ERROR_DETAILS, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+    }
+}
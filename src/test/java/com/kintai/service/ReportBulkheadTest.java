@@ -0,0 +1,148 @@
+package com.kintai.service;
+
+import com.kintai.exception.ReportBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ReportBulkheadのテスト
+ */
+class ReportBulkheadTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    private ReportBulkhead bulkhead(int threads, int queueCapacity, int maxConcurrent, long timeoutMillis) {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-test-");
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+
+        ReportBulkhead bulkhead = new ReportBulkhead();
+        ReflectionTestUtils.setField(bulkhead, "reportExecutor", executor);
+        ReflectionTestUtils.setField(bulkhead, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(bulkhead, "maxConcurrent", maxConcurrent);
+        ReflectionTestUtils.setField(bulkhead, "timeoutMillis", timeoutMillis);
+        bulkhead.init();
+        return bulkhead;
+    }
+
+    private String blockingTask() throws InterruptedException {
+        release.await(10, TimeUnit.SECONDS);
+        return "pdf";
+    }
+
+    @Test
+    @DisplayName("同時実行数の上限に達した場合は待たずに429で拒否し、完了後は許可を返却する")
+    void submit_rejectsWhenLimitReached() throws Exception {
+        ReportBulkhead bulkhead = bulkhead(1, 1, 0, 10_000);
+        assertEquals(2, bulkhead.limit());
+
+        CompletableFuture<String> running = bulkhead.submit(this::blockingTask);
+        CompletableFuture<String> queued = bulkhead.submit(this::blockingTask);
+        assertEquals(2, bulkhead.inUse());
+        assertEquals(1.0, meterRegistry.get("kintai.bulkhead.saturation").gauge().value());
+
+        ReportBusyException exception = assertThrows(ReportBusyException.class,
+                () -> bulkhead.submit(() -> "pdf"));
+        assertEquals(ReportBusyException.REPORT_BUSY, exception.getErrorCode());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatus());
+        assertEquals(1.0, meterRegistry.get("kintai.bulkhead.rejected").tag("reason", "limit").counter().count());
+
+        release.countDown();
+        assertEquals("pdf", running.get(5, TimeUnit.SECONDS));
+        assertEquals("pdf", queued.get(5, TimeUnit.SECONDS));
+        awaitIdle(bulkhead);
+        assertEquals("pdf", bulkhead.submit(() -> "pdf").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("スレッドプールが受け付けない場合は503で拒否し、許可を返却する")
+    void submit_rejectsWhenExecutorFull() {
+        ReportBulkhead bulkhead = bulkhead(1, 0, 5, 10_000);
+
+        bulkhead.submit(this::blockingTask);
+        ReportBusyException exception = assertThrows(ReportBusyException.class,
+                () -> bulkhead.submit(() -> "pdf"));
+
+        assertEquals(ReportBusyException.REPORT_UNAVAILABLE, exception.getErrorCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatus());
+        assertEquals(1, bulkhead.inUse());
+        assertEquals(1.0, meterRegistry.get("kintai.bulkhead.rejected").tag("reason", "executor").counter().count());
+    }
+
+    @Test
+    @DisplayName("時間内に完了しない場合は503で完了し、許可は処理の終了まで返却しない")
+    void submit_timesOut() throws Exception {
+        ReportBulkhead bulkhead = bulkhead(1, 1, 0, 50);
+
+        CompletableFuture<String> future = bulkhead.submit(this::blockingTask);
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+
+        ReportBusyException cause = assertInstanceOf(ReportBusyException.class, exception.getCause());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getStatus());
+        assertEquals(1, bulkhead.inUse());
+        assertEquals(1.0, meterRegistry.get("kintai.bulkhead.rejected").tag("reason", "timeout").counter().count());
+
+        release.countDown();
+        awaitIdle(bulkhead);
+    }
+
+    @Test
+    @DisplayName("処理の例外はそのまま伝わる")
+    void submit_propagatesTaskFailure() throws Exception {
+        ReportBulkhead bulkhead = bulkhead(1, 1, 0, 10_000);
+
+        CompletableFuture<String> future = bulkhead.submit(() -> {
+            throw new IllegalArgumentException("従業員が見つかりません: 999");
+        });
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        awaitIdle(bulkhead);
+    }
+
+    @Test
+    @DisplayName("呼び出し元で実行する処理の許可は1回だけ返却される")
+    void acquire_releasesOnce() {
+        ReportBulkhead bulkhead = bulkhead(1, 1, 2, 10_000);
+
+        ReportBulkhead.Permit permit = bulkhead.acquire();
+        bulkhead.acquire();
+        assertThrows(ReportBusyException.class, bulkhead::acquire);
+
+        permit.close();
+        permit.close();
+        assertEquals(1, bulkhead.inUse());
+    }
+
+    private static void awaitIdle(ReportBulkhead bulkhead) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.inUse() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, bulkhead.inUse());
+    }
+}
@@ -0,0 +1,122 @@
+package com.kintai.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ResourceVersionServiceのテスト（組み込みH2で実際にSQLを発行する）
+ */
+class ResourceVersionServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ResourceVersionService resourceVersionService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE employees (employee_id BIGINT PRIMARY KEY, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, attendance_date DATE NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE vacation_requests (vacation_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO employees VALUES (1, '2025-09-01 10:00:00'), (2, '2025-09-01 10:00:00')");
+        jdbcTemplate.update("INSERT INTO attendance_records (employee_id, attendance_date, updated_at) VALUES "
+                + "(1, '2025-10-01', '2025-10-01 18:00:00'), "
+                + "(1, '2025-10-02', '2025-10-02 18:00:00'), "
+                + "(1, '2025-11-01', '2025-11-01 18:00:00')");
+
+        resourceVersionService = new ResourceVersionService();
+        ReflectionTestUtils.setField(resourceVersionService, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("月単位 - 最終更新日時は対象月の最大更新日時")
+    void testAttendanceMonthVersion() {
+        Optional<ResourceVersionService.Version> version =
+                resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10));
+
+        assertTrue(version.isPresent());
+        assertTrue(version.get().etag().startsWith("\"") && version.get().etag().endsWith("\""));
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2025, 10, 2, 18, 0)).getTime(), version.get().lastModified());
+    }
+
+    @Test
+    @DisplayName("月単位 - 対象月の記録が更新されるとETagが変わり、他の月の更新では変わらない")
+    void testAttendanceMonthVersion_ChangesOnUpdate() {
+        String before = resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag();
+
+        jdbcTemplate.update("UPDATE attendance_records SET updated_at = '2025-11-05 09:00:00' WHERE attendance_date = '2025-11-01'");
+        assertEquals(before, resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag());
+
+        jdbcTemplate.update("UPDATE attendance_records SET updated_at = '2025-10-05 09:00:00' WHERE attendance_date = '2025-10-01'");
+        assertNotEquals(before, resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag());
+    }
+
+    @Test
+    @DisplayName("月単位 - 記録の削除でもETagが変わる")
+    void testAttendanceMonthVersion_ChangesOnDelete() {
+        String before = resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag();
+
+        jdbcTemplate.update("DELETE FROM attendance_records WHERE attendance_date = '2025-10-01'");
+
+        assertNotEquals(before, resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag());
+    }
+
+    @Test
+    @DisplayName("月単位 - 従業員情報の更新でもETagが変わる")
+    void testAttendanceMonthVersion_ChangesOnEmployeeUpdate() {
+        String before = resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag();
+
+        jdbcTemplate.update("UPDATE employees SET updated_at = '2025-10-10 10:00:00' WHERE employee_id = 1");
+
+        assertNotEquals(before, resourceVersionService.attendanceMonthVersion(1L, YearMonth.of(2025, 10)).get().etag());
+    }
+
+    @Test
+    @DisplayName("記録がない期間でもバージョンを返し、存在しない従業員は空")
+    void testAttendanceVersion_NoRecordsAndUnknownEmployee() {
+        Optional<ResourceVersionService.Version> empty =
+                resourceVersionService.attendanceMonthVersion(2L, YearMonth.of(2025, 10));
+
+        assertTrue(empty.isPresent());
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2025, 9, 1, 10, 0)).getTime(), empty.get().lastModified());
+        assertTrue(resourceVersionService.attendanceMonthVersion(99L, YearMonth.of(2025, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("有給申請 - 申請の追加でETagが変わる")
+    void testVacationVersion() {
+        ResourceVersionService.Version before = resourceVersionService.vacationVersion(1L).get();
+        assertEquals(-1, before.lastModified());
+
+        jdbcTemplate.update("INSERT INTO vacation_requests (employee_id, updated_at) VALUES (1, '2025-10-03 12:00:00')");
+
+        ResourceVersionService.Version after = resourceVersionService.vacationVersion(1L).get();
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2025, 10, 3, 12, 0)).getTime(), after.lastModified());
+    }
+}
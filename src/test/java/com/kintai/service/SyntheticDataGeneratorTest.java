@@ -0,0 +1,240 @@
+package com.kintai.service;
+
+import com.kintai.dto.SyntheticDataResult;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.VacationRequest;
+import com.kintai.entity.VacationStatus;
+import com.kintai.repository.VacationRequestRepository;
+import com.kintai.util.BusinessDayCalculator;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * SyntheticDataGeneratorのテスト（組み込みH2に実際に登録する）
+ */
+class SyntheticDataGeneratorTest {
+
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+    private static final Clock CLOCK = Clock.fixed(LocalDateTime.of(2025, 10, 15, 12, 0).atZone(TOKYO).toInstant(), TOKYO);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private SyntheticDataGenerator generator;
+    private VacationCalendarIndex vacationCalendarIndex;
+    private LeaveBalanceLedger leaveBalanceLedger;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        createSchema(jdbcTemplate);
+        generator = newGenerator(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("指定人数の従業員と、営業日ごとの勤怠記録・有給申請を重複なく生成する")
+    void testGenerate() {
+        // 行数を端数が出る値にして、複数行INSERTの端数処理も確認する
+        SyntheticDataResult result = generator.generate(new SyntheticDataGenerator.Options(40, 4, 4, 7, 1L));
+
+        assertEquals(40, result.employees());
+        assertEquals(40, count("SELECT COUNT(*) FROM employees WHERE employee_code LIKE 'SYN%'"));
+        assertEquals(result.attendanceRecords(), count("SELECT COUNT(*) FROM attendance_records"));
+        assertEquals(result.vacationRequests(), count("SELECT COUNT(*) FROM vacation_requests"));
+        assertEquals(result.adjustmentRequests(), count("SELECT COUNT(*) FROM adjustment_requests"));
+        assertTrue(result.attendanceRecords() > 40 * 60, "4か月分（当月は前日まで）の勤怠記録があること");
+
+        // 承認済みの有給期間に勤怠記録がないこと
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance_records a JOIN vacation_requests v "
+                + "ON v.employee_id = a.employee_id AND a.attendance_date BETWEEN v.start_date AND v.end_date"));
+        // 土日や当日以降の勤怠記録がないこと
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance_records WHERE ISO_DAY_OF_WEEK(attendance_date) >= 6 "
+                + "OR attendance_date >= DATE '2025-10-15'"));
+        // 承認待ちの有給申請は当日より後
+        assertEquals(0, count("SELECT COUNT(*) FROM vacation_requests WHERE status = 'PENDING' "
+                + "AND start_date <= DATE '2025-10-15'"));
+    }
+
+    @Test
+    @DisplayName("生成した承認済み有給申請は休暇カレンダーに反映され、有給残日数のキャッシュは破棄される")
+    void testGenerate_RefreshesVacationCaches() {
+        // 生成前に構築済み（空）のカレンダーが残っていても、生成後は作り直される
+        vacationCalendarIndex.rebuild();
+
+        generator.generate(new SyntheticDataGenerator.Options(20, 3, 2, 10, 4L));
+
+        Map<String, Object> approved = jdbcTemplate.queryForMap(
+                "SELECT * FROM vacation_requests WHERE status = 'APPROVED' ORDER BY vacation_id LIMIT 1");
+        Long employeeId = ((Number) approved.get("EMPLOYEE_ID")).longValue();
+        LocalDate startDate = ((Date) approved.get("START_DATE")).toLocalDate();
+        LocalDate endDate = ((Date) approved.get("END_DATE")).toLocalDate();
+        Map<LocalDate, List<Long>> calendar = vacationCalendarIndex.getAbsences(startDate, endDate, List.of(employeeId));
+        calendar.values().forEach(ids -> assertEquals(List.of(employeeId), ids));
+
+        verify(leaveBalanceLedger).evictAll();
+    }
+
+    @Test
+    @DisplayName("遅刻・残業・深夜勤務・早退が現実的な割合で含まれ、過去月は確定済み")
+    void testGenerate_Distribution() {
+        SyntheticDataResult result = generator.generate(new SyntheticDataGenerator.Options(50, 6, 2, 100, 2L));
+        double total = result.attendanceRecords();
+
+        double late = count("SELECT COUNT(*) FROM attendance_records WHERE late_minutes > 0") / total;
+        double overtime = count("SELECT COUNT(*) FROM attendance_records WHERE overtime_minutes > 0") / total;
+        double night = count("SELECT COUNT(*) FROM attendance_records WHERE night_shift_minutes > 0") / total;
+        double earlyLeave = count("SELECT COUNT(*) FROM attendance_records WHERE early_leave_minutes > 0") / total;
+        assertTrue(late > 0.01 && late < 0.3, "遅刻率: " + late);
+        assertTrue(overtime > 0.4 && overtime < 0.98, "残業率: " + overtime);
+        assertTrue(night > 0.001 && night < 0.15, "深夜勤務率: " + night);
+        assertTrue(earlyLeave > 0.01 && earlyLeave < 0.06, "早退率: " + earlyLeave);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance_records WHERE attendance_date < DATE '2025-10-01' "
+                + "AND (attendance_fixed_flag = FALSE OR submission_status <> 'APPROVED')"));
+        assertEquals(0, count("SELECT COUNT(*) FROM attendance_records WHERE attendance_date >= DATE '2025-10-01' "
+                + "AND (attendance_fixed_flag = TRUE OR submission_status <> 'NOT_SUBMITTED')"));
+        assertEquals(0, count("SELECT COUNT(*) FROM adjustment_requests WHERE target_date >= DATE '2025-10-01' "
+                + "AND status <> 'PENDING'"));
+    }
+
+    @Test
+    @DisplayName("勤怠ステータスは打刻時刻から算出した指標と一致する")
+    void testGenerate_StatusMatchesMetrics() {
+        generator.generate(new SyntheticDataGenerator.Options(10, 2, 1, 50, 3L));
+        TimeCalculator timeCalculator = new TimeCalculator();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT * FROM attendance_records");
+        assertFalse(rows.isEmpty());
+        for (Map<String, Object> row : rows) {
+            LocalDateTime clockIn = ((Timestamp) row.get("CLOCK_IN_TIME")).toLocalDateTime();
+            LocalDateTime clockOut = ((Timestamp) row.get("CLOCK_OUT_TIME")).toLocalDateTime();
+            int late = timeCalculator.calculateLateMinutes(clockIn);
+            int earlyLeave = timeCalculator.calculateEarlyLeaveMinutes(clockOut);
+            int overtime = timeCalculator.calculateOvertimeMinutes(timeCalculator.calculateWorkingMinutes(clockIn, clockOut));
+            int night = timeCalculator.calculateNightShiftMinutes(clockIn, clockOut);
+            assertEquals(late, row.get("LATE_MINUTES"));
+            assertEquals(overtime, row.get("OVERTIME_MINUTES"));
+            assertEquals(SyntheticDataGenerator.statusOf(late, earlyLeave, overtime, night).name(),
+                    row.get("ATTENDANCE_STATUS"));
+        }
+        assertEquals(AttendanceStatus.LATE_AND_EARLY_LEAVE, SyntheticDataGenerator.statusOf(5, 10, 0, 0));
+        assertEquals(AttendanceStatus.NIGHT_SHIFT, SyntheticDataGenerator.statusOf(0, 0, 240, 30));
+    }
+
+    @Test
+    @DisplayName("同じ条件なら並列数等によらず同じデータになり、追加生成では社員コードが続き番号になる")
+    void testGenerate_DeterministicAndAppends() {
+        SyntheticDataResult first = generator.generate(new SyntheticDataGenerator.Options(20, 3, 3, 10, 4L));
+
+        EmbeddedDatabase other = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            JdbcTemplate otherTemplate = new JdbcTemplate(other);
+            createSchema(otherTemplate);
+            SyntheticDataResult replay = newGenerator(other).generate(new SyntheticDataGenerator.Options(20, 3, 1, 3, 4L));
+
+            assertEquals(first.attendanceRecords(), replay.attendanceRecords());
+            assertEquals(first.vacationRequests(), replay.vacationRequests());
+            assertEquals(first.adjustmentRequests(), replay.adjustmentRequests());
+            String digest = "SELECT SUM(late_minutes), SUM(overtime_minutes), SUM(night_shift_minutes) FROM attendance_records";
+            assertEquals(jdbcTemplate.queryForMap(digest), otherTemplate.queryForMap(digest));
+        } finally {
+            other.shutdown();
+        }
+
+        SyntheticDataResult second = generator.generate(new SyntheticDataGenerator.Options(20, 3, 3, 10, 4L));
+        assertEquals(40, count("SELECT COUNT(*) FROM employees"));
+        assertEquals(1, count("SELECT COUNT(*) FROM employees WHERE employee_code = 'SYN0000040'"));
+        assertEquals(first.attendanceRecords() + second.attendanceRecords(),
+                count("SELECT COUNT(*) FROM attendance_records"));
+    }
+
+    private static void createSchema(JdbcTemplate template) {
+        template.execute("CREATE TABLE employees (employee_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_code VARCHAR(20) NOT NULL UNIQUE, last_name VARCHAR(50) NOT NULL, "
+                + "first_name VARCHAR(50) NOT NULL, email VARCHAR(100) NOT NULL UNIQUE, hire_date DATE NOT NULL, "
+                + "is_active BOOLEAN NOT NULL, created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        template.execute("CREATE TABLE attendance_records (attendance_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, attendance_date DATE NOT NULL, clock_in_time TIMESTAMP, "
+                + "clock_out_time TIMESTAMP, late_minutes INT, early_leave_minutes INT, overtime_minutes INT, "
+                + "night_shift_minutes INT, attendance_status VARCHAR(30), attendance_fixed_flag BOOLEAN, "
+                + "submission_status VARCHAR(20), created_at TIMESTAMP, updated_at TIMESTAMP, "
+                + "UNIQUE (employee_id, attendance_date))");
+        template.execute("CREATE TABLE vacation_requests (vacation_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, start_date DATE NOT NULL, end_date DATE NOT NULL, days INT NOT NULL, "
+                + "reason VARCHAR(255), status VARCHAR(20) NOT NULL, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        template.execute("CREATE TABLE adjustment_requests (adjustment_request_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "employee_id BIGINT NOT NULL, target_date DATE NOT NULL, new_clock_in TIMESTAMP, "
+                + "new_clock_out TIMESTAMP, reason VARCHAR(500) NOT NULL, status VARCHAR(20) NOT NULL, "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP, approved_at TIMESTAMP, rejected_at TIMESTAMP, "
+                + "rejection_comment VARCHAR(500))");
+    }
+
+    private SyntheticDataGenerator newGenerator(EmbeddedDatabase dataSource) {
+        // 休暇カレンダーは組み込みH2の有給申請を読み込む
+        VacationRequestRepository vacationRequestRepository = mock(VacationRequestRepository.class);
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenAnswer(invocation ->
+                selectVacations("SELECT * FROM vacation_requests WHERE status = 'APPROVED' "
+                        + "AND start_date <= ? AND end_date >= ?", invocation.getArgument(1), invocation.getArgument(0)));
+        vacationCalendarIndex = new VacationCalendarIndex();
+        ReflectionTestUtils.setField(vacationCalendarIndex, "vacationRequestRepository", vacationRequestRepository);
+        vacationCalendarIndex.setClock(CLOCK);
+        leaveBalanceLedger = mock(LeaveBalanceLedger.class);
+
+        SyntheticDataGenerator target = new SyntheticDataGenerator();
+        ReflectionTestUtils.setField(target, "dataSource", dataSource);
+        ReflectionTestUtils.setField(target, "jdbcTemplate", new JdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(target, "timeCalculator", new TimeCalculator());
+        ReflectionTestUtils.setField(target, "businessDayCalculator", new BusinessDayCalculator());
+        ReflectionTestUtils.setField(target, "vacationCalendarIndex", vacationCalendarIndex);
+        ReflectionTestUtils.setField(target, "leaveBalanceLedger", leaveBalanceLedger);
+        target.setClock(CLOCK);
+        return target;
+    }
+
+    private List<VacationRequest> selectVacations(String sql, Object... args) {
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            VacationRequest request = new VacationRequest(rs.getLong("employee_id"),
+                    rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate(), rs.getString("reason"));
+            request.setVacationId(rs.getLong("vacation_id"));
+            request.setStatus(VacationStatus.valueOf(rs.getString("status")));
+            return request;
+        }, args);
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+}
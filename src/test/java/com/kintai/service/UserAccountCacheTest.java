@@ -0,0 +1,130 @@
+package com.kintai.service;
+
+import com.kintai.entity.UserAccount;
+import com.kintai.repository.UserAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * UserAccountCacheのテスト
+ */
+@ExtendWith(MockitoExtension.class)
+class UserAccountCacheTest {
+
+    @Mock
+    private UserAccountRepository userAccountRepository;
+
+    private UserAccountCache userAccountCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userAccountCache = new UserAccountCache();
+        ReflectionTestUtils.setField(userAccountCache, "userAccountRepository", userAccountRepository);
+        ReflectionTestUtils.setField(userAccountCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(userAccountCache, "maxSize", 2);
+        userAccountCache.registerMetrics();
+    }
+
+    private UserAccount createUser(long id, String username) {
+        UserAccount user = new UserAccount(username, "hash", UserAccount.UserRole.EMPLOYEE, id);
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    @DisplayName("2回目以降の参照はDBを検索しない")
+    void testCacheHit() {
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true))
+                .thenReturn(Optional.of(createUser(1L, "tanaka")));
+
+        assertTrue(userAccountCache.findEnabledByUsername("tanaka").isPresent());
+        assertTrue(userAccountCache.findEnabledByUsername("tanaka").isPresent());
+        assertTrue(userAccountCache.findEnabledByUsername("tanaka").isPresent());
+
+        verify(userAccountRepository, times(1)).findByUsernameAndEnabled("tanaka", true);
+        assertEquals(2.0 / 3.0, userAccountCache.getHitRatio(), 0.0001);
+        assertEquals(2.0, meterRegistry.get("kintai.user.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("kintai.user.cache.requests").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("存在しない・無効なアカウントはキャッシュしない")
+    void testMissNotCached() {
+        when(userAccountRepository.findByUsernameAndEnabled("unknown", true)).thenReturn(Optional.empty());
+
+        assertTrue(userAccountCache.findEnabledByUsername("unknown").isEmpty());
+        assertTrue(userAccountCache.findEnabledByUsername("unknown").isEmpty());
+
+        verify(userAccountRepository, times(2)).findByUsernameAndEnabled("unknown", true);
+        assertEquals(0, userAccountCache.size());
+    }
+
+    @Test
+    @DisplayName("上限を超えると最も使われていないエントリを破棄する")
+    void testBoundedSize() {
+        when(userAccountRepository.findByUsernameAndEnabled("a", true)).thenReturn(Optional.of(createUser(1L, "a")));
+        when(userAccountRepository.findByUsernameAndEnabled("b", true)).thenReturn(Optional.of(createUser(2L, "b")));
+        when(userAccountRepository.findByUsernameAndEnabled("c", true)).thenReturn(Optional.of(createUser(3L, "c")));
+
+        userAccountCache.findEnabledByUsername("a");
+        userAccountCache.findEnabledByUsername("b");
+        userAccountCache.findEnabledByUsername("a");
+        userAccountCache.findEnabledByUsername("c");
+
+        assertEquals(2, userAccountCache.size());
+        userAccountCache.findEnabledByUsername("a");
+        userAccountCache.findEnabledByUsername("b");
+        verify(userAccountRepository, times(1)).findByUsernameAndEnabled("a", true);
+        verify(userAccountRepository, times(2)).findByUsernameAndEnabled("b", true);
+    }
+
+    @Test
+    @DisplayName("参照ごとに独立した複製を返し、呼び出し元の変更はキャッシュに影響しない")
+    void testReturnsIndependentCopies() {
+        UserAccount loaded = createUser(1L, "tanaka");
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.of(loaded));
+
+        UserAccount first = userAccountCache.findEnabledByUsername("tanaka").orElseThrow();
+        first.setPassword("changed");
+        first.setRole(UserAccount.UserRole.ADMIN);
+        UserAccount second = userAccountCache.findEnabledByUsername("tanaka").orElseThrow();
+
+        assertNotSame(loaded, first);
+        assertNotSame(first, second);
+        assertEquals("hash", second.getPassword());
+        assertEquals(UserAccount.UserRole.EMPLOYEE, second.getRole());
+        assertEquals(1L, second.getId());
+        assertEquals(1L, second.getEmployeeId());
+        assertTrue(second.isEnabled());
+        // DBから読み込んだエンティティの変更もキャッシュには反映されない
+        loaded.setPassword("changed-in-db-entity");
+        assertEquals("hash", userAccountCache.findEnabledByUsername("tanaka").orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("アカウント変更時はIDで破棄され、次回はDBから再取得する")
+    void testEvictById() {
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true))
+                .thenReturn(Optional.of(createUser(1L, "tanaka")));
+        userAccountCache.findEnabledByUsername("tanaka");
+
+        userAccountCache.evictById(1L);
+
+        assertEquals(0, userAccountCache.size());
+        when(userAccountRepository.findByUsernameAndEnabled("tanaka", true)).thenReturn(Optional.empty());
+        assertTrue(userAccountCache.findEnabledByUsername("tanaka").isEmpty());
+    }
+}
@@ -0,0 +1,213 @@
+package com.kintai.service;
+
+import com.kintai.entity.VacationRequest;
+import com.kintai.entity.VacationStatus;
+import com.kintai.event.VacationStatusChangedEvent;
+import com.kintai.repository.VacationRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * VacationCalendarIndexのユニットテスト
+ */
+class VacationCalendarIndexTest {
+
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+    @Mock
+    private VacationRequestRepository vacationRequestRepository;
+
+    @InjectMocks
+    private VacationCalendarIndex vacationCalendarIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        vacationCalendarIndex.setClock(Clock.fixed(
+                LocalDateTime.of(2025, 10, 15, 12, 0).atZone(TOKYO).toInstant(), TOKYO));
+    }
+
+    private VacationRequest approved(Long vacationId, Long employeeId, LocalDate startDate, LocalDate endDate) {
+        VacationRequest request = new VacationRequest(employeeId, startDate, endDate, "私用のため");
+        request.setVacationId(vacationId);
+        request.setStatus(VacationStatus.APPROVED);
+        return request;
+    }
+
+    @Test
+    @DisplayName("日別休暇者取得 - 期間内の全日付を返す")
+    void testGetAbsences_PerDay() {
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenReturn(Arrays.asList(
+                approved(10L, 1L, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 2)),
+                approved(20L, 2L, LocalDate.of(2025, 10, 2), LocalDate.of(2025, 10, 2))));
+
+        Map<LocalDate, List<Long>> calendar = vacationCalendarIndex.getAbsences(
+                LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 3), null);
+
+        assertEquals(3, calendar.size());
+        assertEquals(Collections.singletonList(1L), calendar.get(LocalDate.of(2025, 10, 1)));
+        assertEquals(Arrays.asList(1L, 2L), calendar.get(LocalDate.of(2025, 10, 2)));
+        assertTrue(calendar.get(LocalDate.of(2025, 10, 3)).isEmpty());
+
+        // 対象従業員で絞り込み
+        Map<LocalDate, List<Long>> filtered = vacationCalendarIndex.getAbsences(
+                LocalDate.of(2025, 10, 2), LocalDate.of(2025, 10, 2), Collections.singletonList(2L));
+        assertEquals(Collections.singletonList(2L), filtered.get(LocalDate.of(2025, 10, 2)));
+
+        // 初回参照時のみ読み込む
+        verify(vacationRequestRepository, times(1)).findApprovedInPeriod(any(), any());
+    }
+
+    @Test
+    @DisplayName("承認取消イベント - 同一従業員の他の承認済み申請は残す")
+    void testOnVacationStatusChanged_RevokeKeepsOtherRequests() {
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenReturn(Arrays.asList(
+                approved(10L, 1L, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 3)),
+                approved(11L, 1L, LocalDate.of(2025, 10, 3), LocalDate.of(2025, 10, 3))));
+        vacationCalendarIndex.rebuild();
+
+        vacationCalendarIndex.onVacationStatusChanged(new VacationStatusChangedEvent(
+                10L, 1L, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 3), 3,
+                VacationStatus.APPROVED, VacationStatus.CANCELLED));
+        vacationCalendarIndex.onVacationStatusChanged(new VacationStatusChangedEvent(
+                30L, 2L, LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 1), 1,
+                VacationStatus.PENDING, VacationStatus.APPROVED));
+
+        Map<LocalDate, List<Long>> calendar = vacationCalendarIndex.getAbsences(
+                LocalDate.of(2025, 10, 1), LocalDate.of(2025, 10, 3), null);
+        assertEquals(Collections.singletonList(2L), calendar.get(LocalDate.of(2025, 10, 1)));
+        assertTrue(calendar.get(LocalDate.of(2025, 10, 2)).isEmpty());
+        assertEquals(Collections.singletonList(1L), calendar.get(LocalDate.of(2025, 10, 3)));
+    }
+
+    @Test
+    @DisplayName("日別休暇者取得 - 1万人×1年分を扱える")
+    void testGetAbsences_LargeCalendar() {
+        List<VacationRequest> requests = new ArrayList<>();
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        for (long employeeId = 1; employeeId <= 10_000; employeeId++) {
+            // 従業員ごとに1週間ずつずらした5日間の休暇を2回
+            LocalDate start = base.plusDays(employeeId % 300);
+            requests.add(approved(employeeId * 2, employeeId, start, start.plusDays(4)));
+            requests.add(approved(employeeId * 2 + 1, employeeId, start.plusDays(30), start.plusDays(34)));
+        }
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenReturn(requests);
+        vacationCalendarIndex.rebuild();
+
+        Map<LocalDate, List<Long>> calendar = vacationCalendarIndex.getAbsences(base, base.plusDays(364), null);
+
+        assertEquals(365, calendar.size());
+        int total = calendar.values().stream().mapToInt(List::size).sum();
+        assertEquals(10_000 * 10, total);
+    }
+
+    @Test
+    @DisplayName("再構築間隔を過ぎた場合 - 他ノードでの承認を読み込み直す")
+    void testGetAbsences_RefreshesWhenStale() {
+        LocalDate date = LocalDate.of(2025, 10, 1);
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenReturn(Collections.emptyList());
+        assertEquals(Collections.emptyList(), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+
+        // 他ノードで承認された（このノードにはイベントが届かない）
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any()))
+                .thenReturn(Collections.singletonList(approved(10L, 1L, date, date)));
+        assertEquals(Collections.emptyList(), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+
+        ReflectionTestUtils.setField(vacationCalendarIndex, "builtAt", System.nanoTime() - 61_000_000_000L);
+        assertEquals(Collections.singletonList(1L), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+        verify(vacationRequestRepository, times(2)).findApprovedInPeriod(any(), any());
+    }
+
+    @Test
+    @DisplayName("再構築 - 保持期間の承認済み申請のみ読み込み、期間外の参照はDBから読み込む")
+    void testRebuild_LoadsWindowOnly() {
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenReturn(Collections.emptyList());
+        vacationCalendarIndex.rebuild();
+        verify(vacationRequestRepository).findApprovedInPeriod(LocalDate.of(2024, 10, 14), LocalDate.of(2026, 10, 16));
+
+        LocalDate old = LocalDate.of(2023, 4, 3);
+        when(vacationRequestRepository.findApprovedInPeriod(old, old))
+                .thenReturn(Collections.singletonList(approved(10L, 1L, old.minusDays(1), old)));
+        assertEquals(Collections.singletonList(1L), vacationCalendarIndex.getAbsences(old, old, null).get(old));
+    }
+
+    @Test
+    @DisplayName("再構築に失敗した場合 - 前回の内容で応答し、初回構築の失敗は例外とする")
+    void testRebuild_FailureKeepsPreviousCalendar() {
+        LocalDate date = LocalDate.of(2025, 10, 1);
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any()))
+                .thenThrow(new IllegalStateException("接続失敗"));
+        assertThrows(IllegalStateException.class, () -> vacationCalendarIndex.getAbsences(date, date, null));
+
+        doReturn(Collections.singletonList(approved(10L, 1L, date, date)))
+                .when(vacationRequestRepository).findApprovedInPeriod(any(), any());
+        assertEquals(Collections.singletonList(1L), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+
+        doThrow(new IllegalStateException("接続失敗")).when(vacationRequestRepository).findApprovedInPeriod(any(), any());
+        ReflectionTestUtils.setField(vacationCalendarIndex, "builtAt", System.nanoTime() - 61_000_000_000L);
+        assertEquals(Collections.singletonList(1L), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+        assertThrows(IllegalStateException.class, () -> vacationCalendarIndex.rebuild());
+        assertEquals(Collections.singletonList(1L), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+    }
+
+    @Test
+    @DisplayName("再構築中 - 参照は待たずに前回の内容で応答し、再構築中のイベントは入れ替え後も残る")
+    void testRebuild_DoesNotBlockReaders() throws Exception {
+        LocalDate date = LocalDate.of(2025, 10, 1);
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any()))
+                .thenReturn(Collections.singletonList(approved(10L, 1L, date, date)));
+        vacationCalendarIndex.rebuild();
+
+        // 再構築の読み込みを完了させずに待機させる（読み込み結果には承認イベントの申請を含まない）
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(vacationRequestRepository.findApprovedInPeriod(any(), any())).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Collections.singletonList(approved(10L, 1L, date, date));
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuild = executor.submit(() -> vacationCalendarIndex.rebuild());
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Map<LocalDate, List<Long>> calendar = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> vacationCalendarIndex.getAbsences(date, date, null));
+            assertEquals(Collections.singletonList(1L), calendar.get(date));
+            vacationCalendarIndex.onVacationStatusChanged(new VacationStatusChangedEvent(
+                    20L, 2L, date, date, 1, VacationStatus.PENDING, VacationStatus.APPROVED));
+
+            release.countDown();
+            rebuild.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertEquals(Arrays.asList(1L, 2L), vacationCalendarIndex.getAbsences(date, date, null).get(date));
+    }
+}
@@ -7,12 +7,14 @@ import com.kintai.entity.VacationStatus;
 import com.kintai.exception.VacationException;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.VacationRequestRepository;
+import com.kintai.util.BusinessDayCalculator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -34,6 +36,15 @@ class VacationServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
     
+    @Mock
+    private LeaveBalanceLedger leaveBalanceLedger;
+    
+    @Mock
+    private BusinessDayCalculator businessDayCalculator;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     @InjectMocks
     private VacationService vacationService;
     
@@ -43,6 +54,8 @@ class VacationServiceTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(leaveBalanceLedger.getRemainingDays(anyLong())).thenReturn(10);
+        when(leaveBalanceLedger.calculateRemainingDays(anyLong())).thenReturn(10);
         
         // テスト用の従業員データ
         testEmployee = new Employee("EMP001", "田中", "太郎", "tanaka@example.com", LocalDate.of(2020, 4, 1));
@@ -192,6 +205,25 @@ class VacationServiceTest {
         assertEquals("既に申請済みの日付を含んでいます", exception.getMessage());
     }
     
+    @Test
+    @DisplayName("重複申請チェックはインデックスを使わずDBで判定する")
+    void testCreateVacationRequest_DuplicateCheckedInDatabase() {
+        // Given
+        Long employeeId = 1L;
+        LocalDate startDate = LocalDate.now().plusDays(7);
+        when(employeeRepository.findByEmployeeId(employeeId)).thenReturn(Optional.of(testEmployee));
+        when(businessDayCalculator.countBusinessDaysInclusive(startDate, startDate)).thenReturn(1);
+        when(vacationRequestRepository.existsOverlappingRequest(employeeId, startDate, startDate)).thenReturn(true);
+        
+        // When & Then
+        VacationException exception = assertThrows(VacationException.class,
+                () -> vacationService.createVacationRequest(employeeId, startDate, startDate, "私用のため"));
+        
+        assertEquals(VacationException.DUPLICATE_REQUEST, exception.getErrorCode());
+        verify(vacationRequestRepository).existsOverlappingRequest(employeeId, startDate, startDate);
+        verify(vacationRequestRepository, never()).save(any(VacationRequest.class));
+    }
+    
     @Test
     @DisplayName("ステータス更新成功テスト - 承認")
     void testUpdateVacationStatus_Success_Approved() {
@@ -0,0 +1,185 @@
+package com.kintai.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SingleFlightのユニットテスト
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("実行中の同じキーの呼び出しは処理を実行せず結果を共有する")
+    void execute_sharesInFlightResult() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> render = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("1:2024-01", () -> {
+            calls.incrementAndGet();
+            return render;
+        });
+        CompletableFuture<String> second = singleFlight.execute("1:2024-01", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertEquals(1, singleFlight.inFlight());
+
+        render.complete("pdf");
+        assertEquals("pdf", first.get(1, TimeUnit.SECONDS));
+        assertEquals("pdf", second.get(1, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("完了後の呼び出し・別のキーの呼び出しは新たに実行する")
+    void execute_runsAgainAfterCompletionAndForOtherKeys() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("1:2024-01", () -> CompletableFuture.completedFuture("pdf-" + calls.incrementAndGet())).get();
+        String again = singleFlight.execute("1:2024-01",
+                () -> CompletableFuture.completedFuture("pdf-" + calls.incrementAndGet())).get();
+        String other = singleFlight.execute("2:2024-01",
+                () -> CompletableFuture.completedFuture("pdf-" + calls.incrementAndGet())).get();
+
+        assertEquals("pdf-2", again);
+        assertEquals("pdf-3", other);
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("処理の例外は同じキーの呼び出し元すべてに伝わり、キーは外れる")
+    void execute_sharesFailure() {
+        CompletableFuture<String> render = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("1:2024-01", () -> render);
+        CompletableFuture<String> second = singleFlight.execute("1:2024-01", () -> render);
+
+        render.completeExceptionally(new IllegalArgumentException("従業員が見つかりません"));
+
+        ExecutionException e1 = assertThrows(ExecutionException.class, first::get);
+        ExecutionException e2 = assertThrows(ExecutionException.class, second::get);
+        assertInstanceOf(IllegalArgumentException.class, e1.getCause());
+        assertSame(e1.getCause(), e2.getCause());
+        assertEquals(0, singleFlight.inFlight());
+
+        // 処理の開始で例外が発生した場合も同様
+        CompletableFuture<String> failed = singleFlight.execute("1:2024-01", () -> {
+            throw new IllegalStateException("開始失敗");
+        });
+        assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, failed::get).getCause());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    @DisplayName("呼び出し元の結果の取り消しは他の呼び出し元に影響しない")
+    void execute_cancelDoesNotAffectOthers() throws Exception {
+        CompletableFuture<String> render = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("1:2024-01", () -> render);
+        CompletableFuture<String> second = singleFlight.execute("1:2024-01", () -> render);
+
+        first.cancel(true);
+        render.complete("pdf");
+
+        assertTrue(first.isCancelled());
+        assertEquals("pdf", second.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("同期呼び出しは同時に呼ばれた場合も処理を1回だけ実行し、例外はそのまま投げる")
+    void call_runsOnceForConcurrentCallers() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.call("1:2024-01", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "pdf";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<String>> followers = new ArrayList<>();
+        List<Thread> followerThreads = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(executor.submit(() -> {
+                followerThreads.add(Thread.currentThread());
+                return singleFlight.call("1:2024-01", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                });
+            }));
+        }
+        // 全員が実行中の処理の完了待ちに入ってから完了させる
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (followerThreads.size() < 3
+                || followerThreads.stream().anyMatch(t -> t.getState() != Thread.State.WAITING)) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("pdf", leader.get(5, TimeUnit.SECONDS));
+        for (Future<String> follower : followers) {
+            assertEquals("pdf", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+
+        Exception e = assertThrows(Exception.class, () -> singleFlight.call("1:2024-01", () -> {
+            throw new IOException("通信エラー");
+        }));
+        assertInstanceOf(IOException.class, e);
+    }
+
+    @Test
+    @DisplayName("待ち時間を指定した同期呼び出しは、実行中の処理が時間内に終わらなければTimeoutExceptionを投げる")
+    void call_timesOutWhileWaiting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.call("1:2024-01", () -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "pdf";
+        }, 5, TimeUnit.SECONDS));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TimeoutException.class,
+                () -> singleFlight.call("1:2024-01", () -> "other", 50, TimeUnit.MILLISECONDS));
+        assertEquals(1, singleFlight.inFlight());
+
+        release.countDown();
+        assertEquals("pdf", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.inFlight());
+
+        Exception e = assertThrows(Exception.class, () -> singleFlight.call("1:2024-01", () -> {
+            throw new IOException("通信エラー");
+        }, 1, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e);
+    }
+}